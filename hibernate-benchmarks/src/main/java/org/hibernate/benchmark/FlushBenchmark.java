@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a {@code DefaultFlushEventListener} flush of {@link #dirtyCount} dirty entities out of
+ * {@link #managedCount} managed ones: dirty checking, action queue processing and JDBC batching.
+ * <p/>
+ * Each flush runs in its own transaction which is rolled back afterwards, so the database content
+ * is the same for every invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlushBenchmark {
+	@Param("1000")
+	public int managedCount;
+
+	@Param({ "0", "10", "1000" })
+	public int dirtyCount;
+
+	private Session session;
+
+	@Setup(Level.Invocation)
+	public void prepareDirtySession(SessionFactoryState state) {
+		session = state.getSessionFactory().openSession();
+		session.beginTransaction();
+
+		@SuppressWarnings("unchecked")
+		final List<Customer> customers = session.createQuery( "from Customer c order by c.id" )
+				.setMaxResults( managedCount )
+				.list();
+		for ( int i = 0; i < dirtyCount && i < customers.size(); i++ ) {
+			final Customer customer = customers.get( i );
+			customer.setLoyaltyPoints( customer.getLoyaltyPoints() + 1 );
+		}
+	}
+
+	@Benchmark
+	public void flush() {
+		session.flush();
+	}
+
+	@TearDown(Level.Invocation)
+	public void rollback() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+}
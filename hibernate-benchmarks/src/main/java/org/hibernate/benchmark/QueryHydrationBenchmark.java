@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code Loader.doQuery} row processing: reading the result set and hydrating {@link #rowCount}
+ * entities into a fresh persistence context, as well as the scalar (non-entity) projection path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryHydrationBenchmark {
+	@Param({ "10", "1000" })
+	public int rowCount;
+
+	@Benchmark
+	public List entities(SessionFactoryState state) {
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			return session.createQuery( "from Customer c order by c.id" )
+					.setMaxResults( rowCount )
+					.list();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public List readOnlyEntities(SessionFactoryState state) {
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			return session.createQuery( "from Customer c order by c.id" )
+					.setReadOnly( true )
+					.setMaxResults( rowCount )
+					.list();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public List scalars(SessionFactoryState state) {
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			return session.createQuery( "select c.id, c.name, c.balance from Customer c order by c.id" )
+					.setMaxResults( rowCount )
+					.list();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
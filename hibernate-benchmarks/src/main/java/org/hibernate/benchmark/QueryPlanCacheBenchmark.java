@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.Filter;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link QueryPlanCache#getHQLQueryPlan} for cache hits (single threaded and contended) and for
+ * misses, which include the HQL translation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryPlanCacheBenchmark {
+	private static final String HQL = "select c from Customer c where c.name = :name and c.active = true";
+	private static final Map<String, Filter> NO_FILTERS = Collections.emptyMap();
+
+	private final AtomicLong missCounter = new AtomicLong();
+
+	@Benchmark
+	public HQLQueryPlan hit(SessionFactoryState state) {
+		return state.getSessionFactoryImplementor().getQueryPlanCache().getHQLQueryPlan( HQL, false, NO_FILTERS );
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public HQLQueryPlan hitContended(SessionFactoryState state) {
+		return state.getSessionFactoryImplementor().getQueryPlanCache().getHQLQueryPlan( HQL, false, NO_FILTERS );
+	}
+
+	@Benchmark
+	public HQLQueryPlan miss(SessionFactoryState state) {
+		// a distinct query string each time forces a translation (and eventually eviction)
+		final String hql = "select c from Customer c where c.loyaltyPoints > " + missCounter.incrementAndGet();
+		return state.getSessionFactoryImplementor().getQueryPlanCache().getHQLQueryPlan( hql, false, NO_FILTERS );
+	}
+}
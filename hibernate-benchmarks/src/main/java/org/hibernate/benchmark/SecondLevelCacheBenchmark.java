@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures second-level cache put and get of entity data through a region built by the configured
+ * {@link RegionFactory}, for each of the {@link #accessType access types} supported by the factory.
+ * <p/>
+ * Keys and (structured) cache entries are computed up-front from the {@link Customer} rows so that only
+ * the region access itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+	@Param({ "read-only", "nonstrict-read-write", "read-write" })
+	public String accessType;
+
+	@Param("1000")
+	public int entryCount;
+
+	private RegionFactory regionFactory;
+	private EntityRegion region;
+	private EntityRegionAccessStrategy accessStrategy;
+	private CacheKey[] keys;
+	private Object[] entries;
+
+	@Setup(Level.Trial)
+	public void setUp(SessionFactoryState state) {
+		final SessionFactoryImplementor sessionFactory = state.getSessionFactoryImplementor();
+		final EntityPersister persister = sessionFactory.getEntityPersister( Customer.class.getName() );
+
+		regionFactory = sessionFactory.getServiceRegistry().getService( RegionFactory.class );
+		region = regionFactory.buildEntityRegion(
+				"benchmark." + accessType,
+				new Properties(),
+				new CacheDataDescriptionImpl( true, false, null )
+		);
+		accessStrategy = region.buildAccessStrategy( AccessType.fromExternalName( accessType ) );
+
+		keys = new CacheKey[entryCount];
+		entries = new Object[entryCount];
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			@SuppressWarnings("unchecked")
+			final List<Customer> customers = session.createQuery( "from Customer c order by c.id" )
+					.setMaxResults( entryCount )
+					.list();
+			for ( int i = 0; i < customers.size(); i++ ) {
+				final Customer customer = customers.get( i );
+				keys[i] = ( (SessionImplementor) session ).generateCacheKey(
+						customer.getId(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+				entries[i] = persister.getCacheEntryStructure().structure(
+						persister.buildCacheEntry(
+								customer,
+								persister.getPropertyValues( customer ),
+								null,
+								(SessionImplementor) session
+						)
+				);
+			}
+		}
+		finally {
+			session.close();
+		}
+
+		for ( int i = 0; i < entryCount; i++ ) {
+			accessStrategy.putFromLoad( keys[i], entries[i], regionFactory.nextTimestamp(), null );
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		region.destroy();
+	}
+
+	@Benchmark
+	public Object get() {
+		final int index = ThreadLocalRandom.current().nextInt( entryCount );
+		return accessStrategy.get( keys[index], regionFactory.nextTimestamp() );
+	}
+
+	@Benchmark
+	public boolean put() {
+		final int index = ThreadLocalRandom.current().nextInt( entryCount );
+		// minimal puts disabled, so the entry is (re)written every time
+		return accessStrategy.putFromLoad( keys[index], entries[index], regionFactory.nextTimestamp(), null, false );
+	}
+
+	@Benchmark
+	public Serializable generateKey(SessionFactoryState state) {
+		final Long id = (long) ThreadLocalRandom.current().nextInt( entryCount ) + 1;
+		return new CacheKey(
+				id,
+				state.getSessionFactoryImplementor().getIdentifierType( Customer.class.getName() ),
+				Customer.class.getName(),
+				null,
+				state.getSessionFactoryImplementor()
+		);
+	}
+}
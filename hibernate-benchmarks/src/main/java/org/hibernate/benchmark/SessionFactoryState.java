@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.testing.cache.CachingRegionFactory;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared benchmark state: a SessionFactory running against a private in-memory H2 database
+ * pre-populated with {@link #customerCount} {@link Customer} rows (ids {@code 1..customerCount}).
+ * <p/>
+ * The settings are fixed so that numbers are comparable between runs and between versions.
+ */
+@State(Scope.Benchmark)
+public class SessionFactoryState {
+	private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+	@Param("10000")
+	public int customerCount;
+
+	private StandardServiceRegistry serviceRegistry;
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.DIALECT, H2Dialect.class.getName() )
+				.applySetting( AvailableSettings.DRIVER, "org.h2.Driver" )
+				.applySetting(
+						AvailableSettings.URL,
+						"jdbc:h2:mem:benchmark" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1"
+				)
+				.applySetting( AvailableSettings.USER, "sa" )
+				.applySetting( AvailableSettings.POOL_SIZE, "5" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.STATEMENT_BATCH_SIZE, "50" )
+				.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" )
+				.applySetting( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() )
+				.applySetting( AvailableSettings.SHOW_SQL, "false" )
+				.build();
+		sessionFactory = (SessionFactoryImplementor) new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( Customer.class )
+				.buildMetadata()
+				.buildSessionFactory();
+
+		populate();
+	}
+
+	private void populate() {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( long id = 1; id <= customerCount; id++ ) {
+			session.persist( new Customer( id ) );
+			if ( id % 50 == 0 ) {
+				session.flush();
+				session.clear();
+			}
+		}
+		session.getTransaction().commit();
+		session.close();
+
+		// benchmarks which want a warm second-level cache populate it themselves
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+		if ( serviceRegistry != null ) {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
+	public SessionFactory getSessionFactory() {
+		return sessionFactory;
+	}
+
+	public SessionFactoryImplementor getSessionFactoryImplementor() {
+		return sessionFactory;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code SessionImpl.get} when the entity has to be read from the database, when it is served from
+ * the second-level cache and when it is already associated with the persistence context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionGetBenchmark {
+	private Session openSession;
+
+	@Setup(Level.Iteration)
+	public void openSession(SessionFactoryState state) {
+		openSession = state.getSessionFactory().openSession();
+		// load everything once so that subsequent gets are persistence context hits
+		openSession.createQuery( "from Customer" ).list();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeSession() {
+		openSession.close();
+	}
+
+	@Benchmark
+	public Object getFromDatabase(SessionFactoryState state) {
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			session.setCacheMode( CacheMode.IGNORE );
+			return session.get( Customer.class, randomId( state ) );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object getFromSecondLevelCache(SessionFactoryState state) {
+		final Session session = state.getSessionFactory().openSession();
+		try {
+			// CacheMode.NORMAL: the first access of each id populates the region, later ones are hits
+			return session.get( Customer.class, randomId( state ) );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object getFromPersistenceContext(SessionFactoryState state) {
+		return openSession.get( Customer.class, randomId( state ) );
+	}
+
+	private static Long randomId(SessionFactoryState state) {
+		return (long) ThreadLocalRandom.current().nextInt( state.customerCount ) + 1;
+	}
+}
@@ -0,0 +1,16 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * JMH micro-benchmarks for the Hibernate hot paths: session {@code get}, flush, query row hydration,
+ * the HQL query plan cache and second-level cache region access.
+ * <p/>
+ * All benchmarks run against a private in-memory H2 database (see {@link org.hibernate.benchmark.SessionFactoryState}).
+ * Run them with {@code gradle :hibernate-benchmarks:jmh}, optionally restricting the benchmarks to run using
+ * {@code -Pjmh.include=<regexp>}; the JSON results are written to {@code target/reports/jmh}.
+ */
+package org.hibernate.benchmark;
@@ -554,6 +554,26 @@ public interface Criteria extends CriteriaSpecification {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException;
 
+	/**
+	 * Get the results as {@link ScrollableResults}, for reading results too large to be held in memory row after
+	 * row.  Rows are fetched from the database as the results are scrolled through, in batches of the fetch size
+	 * of the criteria or, if none is set, of <tt>hibernate.jdbc.fetch_size</tt>, or else of 1000 rows.  The
+	 * entities of each row can be evicted from the session as soon as the next row is read.
+	 *
+	 * @param scrollMode Indicates the type of underlying database cursor to
+	 * request, usually {@link ScrollMode#FORWARD_ONLY}.
+	 * @param detachRows Whether the entities of each row are evicted once the next row is read
+	 *
+	 * @return The {@link ScrollableResults} representing the matched
+	 * query results.
+	 *
+	 * @throws HibernateException Indicates a problem either translating the criteria to SQL,
+	 * exeucting the SQL or processing the SQL results.
+	 *
+	 * @see Query#scroll(ScrollMode, boolean)
+	 */
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) throws HibernateException;
+
 	/**
 	 * Convenience method to return a single instance that matches
 	 * the query, or null if the query returns no results.
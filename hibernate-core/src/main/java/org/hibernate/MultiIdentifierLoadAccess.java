@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Loads multiple entities at once by their primary identifiers.
+ * <p/>
+ * Entities already associated with the session are returned as they are, then entities cached in the second-level
+ * cache are assembled, unless {@link CacheMode#isGetEnabled() disabled by the cache mode}, and only the remaining
+ * entities are loaded from the database, in batches of identifiers restricted with <tt>IN</tt>.
+ */
+public interface MultiIdentifierLoadAccess<T> {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entities.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> with(LockOptions lockOptions);
+
+	/**
+	 * Specify the {@link CacheMode} to use when retrieving the entities.
+	 *
+	 * @param cacheMode The CacheMode to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> with(CacheMode cacheMode);
+
+	/**
+	 * Specify the number of identifiers loaded from the database by each SQL query.  By default, as many
+	 * identifiers are loaded at once as the {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit() limit
+	 * of the database} allows, up to 1000.
+	 *
+	 * @param batchSize The number of identifiers loaded at once
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> withBatchSize(int batchSize);
+
+	/**
+	 * Specify whether entities already associated with the session are returned, without reading their state
+	 * again.  Enabled by default.
+	 *
+	 * @param enabled {@code true} to look for the entities in the session first
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> enableSessionCheck(boolean enabled);
+
+	/**
+	 * Specify whether entities deleted in the session, but not yet from the database, are returned.  Disabled by
+	 * default: {@code null} is returned in their place, if results are {@link #enableOrderedReturn ordered}.
+	 *
+	 * @param enabled {@code true} to return deleted entities
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> enableReturnOfDeletedEntities(boolean enabled);
+
+	/**
+	 * Specify whether the entities are returned in the order of their identifiers, with {@code null} in place of
+	 * the entities which do not exist, or whether only the entities found are returned, in no particular order.
+	 * Enabled by default.
+	 *
+	 * @param enabled {@code true} to return the entities in the order of their identifiers
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess<T> enableOrderedReturn(boolean enabled);
+
+	/**
+	 * Return the persistent instances with the given identifiers.  No uninitialized instance is ever returned.
+	 *
+	 * @param ids The identifiers
+	 * @param <K> The type of the identifiers
+	 *
+	 * @return The persistent instances
+	 */
+	public <K extends Serializable> List<T> multiLoad(K... ids);
+
+	/**
+	 * Return the persistent instances with the given identifiers.  No uninitialized instance is ever returned.
+	 *
+	 * @param ids The identifiers
+	 * @param <K> The type of the identifiers
+	 *
+	 * @return The persistent instances
+	 */
+	public <K extends Serializable> List<T> multiLoad(List<K> ids);
+}
@@ -255,6 +255,24 @@ public interface Query extends BasicQueryContract {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode);
 
+	/**
+	 * Return the query results as <tt>ScrollableResults</tt>, for reading results too large to be held in memory
+	 * row after row.  Rows are fetched from the database as the results are scrolled through, in batches of the
+	 * fetch size of the query or, if none is set, of <tt>hibernate.jdbc.fetch_size</tt>, or else of 1000 rows.
+	 * The entities of each row can be evicted from the session as soon as the next row is read, so that the
+	 * persistence context does not grow with the number of rows read; the entities associated with those of a
+	 * row are only evicted if the association cascades evictions.  The results must be closed once read.
+	 *
+	 * @param scrollMode The scroll mode, usually {@link ScrollMode#FORWARD_ONLY}
+	 * @param detachRows Whether the entities of each row are evicted once the next row is read
+	 *
+	 * @return the result iterator
+	 *
+	 * @see ScrollMode
+	 * @see Session#evict(Object)
+	 */
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows);
+
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results per row, the results are returned in an instance
@@ -794,6 +794,30 @@ public interface Session extends SharedSessionContract, java.io.Closeable {
 	 */
 	<T> IdentifierLoadAccess<T> byId(Class<T> entityClass);
 
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities at once
+	 * by their primary key.
+	 *
+	 * @param entityName The entity name of the entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary key
+	 *
+	 * @throws HibernateException If the specified entity name cannot be resolved as an entity name
+	 */
+	MultiIdentifierLoadAccess byMultipleIds(String entityName);
+
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities at once
+	 * by their primary key.
+	 *
+	 * @param entityClass The entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary key
+	 *
+	 * @throws HibernateException If the specified Class cannot be resolved as a mapped entity
+	 */
+	<T> MultiIdentifierLoadAccess<T> byMultipleIds(Class<T> entityClass);
+
 	/**
 	 * Create an {@link NaturalIdLoadAccess} instance to retrieve the specified entity by
 	 * its natural id.
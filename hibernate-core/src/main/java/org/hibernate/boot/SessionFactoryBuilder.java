@@ -229,6 +229,76 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyLazyInitializationOutsideTransaction(boolean enabled);
 
+	/**
+	 * Should the persistence context use compact, open-addressing maps to track its entities and collections?
+	 * Reduces the memory overhead of Sessions holding many entities.
+	 *
+	 * @param enabled {@code true} indicates that compact maps should be used.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#COMPACT_PERSISTENCE_CONTEXT
+	 */
+	public SessionFactoryBuilder applyCompactPersistenceContext(boolean enabled);
+
+	/**
+	 * Should list parameters bound to an {@code IN} predicate be padded (by repeating the last value) to the next
+	 * power of two, so that lists of varying size share query plans and prepared statements?
+	 *
+	 * @param enabled {@code true} indicates that IN clause parameters should be padded.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PADDING
+	 */
+	public SessionFactoryBuilder applyInClauseParameterPadding(boolean enabled);
+
+	/**
+	 * Should a dirty checker class be generated for each entity when the SessionFactory is built?  The generated
+	 * checkers compare the state of the entities during flush without going through the Type of each property.
+	 *
+	 * @param enabled {@code true} indicates that dirty checkers should be generated.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#GENERATED_DIRTY_CHECKING
+	 */
+	public SessionFactoryBuilder applyGeneratedDirtyChecking(boolean enabled);
+
+	/**
+	 * Should second-level cache entries and cached query results be stored in a compact binary form?
+	 *
+	 * @param enabled {@code true} indicates that binary entries should be used.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+	 */
+	public SessionFactoryBuilder applyBinaryCacheEntries(boolean enabled);
+
+	/**
+	 * Should entity updates invalidate only the cached query results containing the updated entities, rather than
+	 * all cached query results using the updated tables?
+	 *
+	 * @param enabled {@code true} indicates that entity level invalidation should be used.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_ENTITY_QUERY_CACHE_INVALIDATION
+	 */
+	public SessionFactoryBuilder applyEntityQueryCacheInvalidation(boolean enabled);
+
+	/**
+	 * Should cached query results also keep the state of the second-level cacheable entities they return?
+	 *
+	 * @param enabled {@code true} indicates that entity states should be kept.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ENTITY_STATES
+	 */
+	public SessionFactoryBuilder applyQueryCacheEntityStates(boolean enabled);
+
 	/**
 	 * Specify the EntityTuplizerFactory to use.
 	 *
@@ -427,6 +497,29 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyNamedQueryCheckingOnStartup(boolean enabled);
 
+	/**
+	 * Specifies the number of threads used to check named queries during startup.
+	 *
+	 * @param threadCount The number of threads; {@code 1} (the default) checks the queries sequentially.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECK_PARALLELISM
+	 */
+	public SessionFactoryBuilder applyNamedQueryCheckingParallelism(int threadCount);
+
+	/**
+	 * Names a file in which to remember the named HQL queries found valid by the startup check, along with a hash
+	 * of the mapping.  On subsequent startups with an unchanged mapping those queries are not translated again.
+	 *
+	 * @param fileName The name of the file; {@code null} disables the cache.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECK_CACHE_FILE
+	 */
+	public SessionFactoryBuilder applyNamedQueryCheckingCacheFile(String fileName);
+
 	/**
 	 * Should second level caching support be enabled?
 	 *
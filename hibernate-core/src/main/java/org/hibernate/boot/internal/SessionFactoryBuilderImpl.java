@@ -63,14 +63,17 @@ import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
 import static org.hibernate.cfg.AvailableSettings.CHECK_NULLABILITY;
+import static org.hibernate.cfg.AvailableSettings.COMPACT_PERSISTENCE_CONTEXT;
 import static org.hibernate.cfg.AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_BATCH_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_ENTITY_MODE;
 import static org.hibernate.cfg.AvailableSettings.ENABLE_LAZY_LOAD_NO_TRANS;
 import static org.hibernate.cfg.AvailableSettings.FLUSH_BEFORE_COMPLETION;
+import static org.hibernate.cfg.AvailableSettings.GENERATED_DIRTY_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.HQL_BULK_ID_STRATEGY;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PADDING;
 import static org.hibernate.cfg.AvailableSettings.JPAQL_STRICT_COMPLIANCE;
 import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
 import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
@@ -80,6 +83,8 @@ import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECK_CACHE_FILE;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECK_PARALLELISM;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
 import static org.hibernate.cfg.AvailableSettings.RELEASE_CONNECTIONS;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
@@ -87,11 +92,14 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME_IS_JNDI;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
+import static org.hibernate.cfg.AvailableSettings.USE_BINARY_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
+import static org.hibernate.cfg.AvailableSettings.USE_ENTITY_QUERY_CACHE_INVALIDATION;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
 import static org.hibernate.cfg.AvailableSettings.USE_MINIMAL_PUTS;
 import static org.hibernate.cfg.AvailableSettings.USE_QUERY_CACHE;
+import static org.hibernate.cfg.AvailableSettings.USE_QUERY_CACHE_ENTITY_STATES;
 import static org.hibernate.cfg.AvailableSettings.USE_SCROLLABLE_RESULTSET;
 import static org.hibernate.cfg.AvailableSettings.USE_SECOND_LEVEL_CACHE;
 import static org.hibernate.cfg.AvailableSettings.USE_SQL_COMMENTS;
@@ -235,6 +243,42 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyCompactPersistenceContext(boolean enabled) {
+		this.options.compactPersistenceContextEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyInClauseParameterPadding(boolean enabled) {
+		this.options.inClauseParameterPaddingEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyGeneratedDirtyChecking(boolean enabled) {
+		this.options.generatedDirtyCheckingEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyBinaryCacheEntries(boolean enabled) {
+		this.options.binaryCacheEntriesEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyEntityQueryCacheInvalidation(boolean enabled) {
+		this.options.entityQueryCacheInvalidationEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyQueryCacheEntityStates(boolean enabled) {
+		this.options.queryCacheEntityStatesEnabled = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyEntityTuplizerFactory(EntityTuplizerFactory entityTuplizerFactory) {
 		this.options.entityTuplizerFactory = entityTuplizerFactory;
@@ -328,6 +372,18 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyNamedQueryCheckingParallelism(int threadCount) {
+		this.options.namedQueryStartupCheckParallelism = threadCount;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyNamedQueryCheckingCacheFile(String fileName) {
+		this.options.namedQueryStartupCheckCacheFile = fileName;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applySecondLevelCacheSupport(boolean enabled) {
 		this.options.secondLevelCacheEnabled = enabled;
@@ -489,6 +545,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		private EntityTuplizerFactory entityTuplizerFactory = new EntityTuplizerFactory();
 		private boolean checkNullability;
 		private boolean initializeLazyStateOutsideTransactions;
+		private boolean compactPersistenceContextEnabled;
+		private boolean inClauseParameterPaddingEnabled;
+		private boolean generatedDirtyCheckingEnabled;
+		private boolean binaryCacheEntriesEnabled;
+		private boolean entityQueryCacheInvalidationEnabled;
+		private boolean queryCacheEntityStatesEnabled;
 		private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 		private TempTableDdlTransactionHandling tempTableDdlTransactionHandling;
 		private BatchFetchStyle batchFetchStyle;
@@ -506,6 +568,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		private Map querySubstitutions;
 		private boolean strictJpaQueryLanguageCompliance;
 		private boolean namedQueryStartupCheckingEnabled;
+		private int namedQueryStartupCheckParallelism;
+		private String namedQueryStartupCheckCacheFile;
 
 		// Caching
 		private boolean secondLevelCacheEnabled;
@@ -593,6 +657,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			this.defaultEntityMode = EntityMode.parse( (String) configurationSettings.get( DEFAULT_ENTITY_MODE ) );
 			this.checkNullability = cfgService.getSetting( CHECK_NULLABILITY, BOOLEAN, true );
 			this.initializeLazyStateOutsideTransactions = cfgService.getSetting( ENABLE_LAZY_LOAD_NO_TRANS, BOOLEAN, false );
+			this.compactPersistenceContextEnabled = cfgService.getSetting( COMPACT_PERSISTENCE_CONTEXT, BOOLEAN, false );
+			this.inClauseParameterPaddingEnabled = cfgService.getSetting( IN_CLAUSE_PARAMETER_PADDING, BOOLEAN, false );
+			this.generatedDirtyCheckingEnabled = cfgService.getSetting( GENERATED_DIRTY_CHECKING, BOOLEAN, false );
+			this.binaryCacheEntriesEnabled = cfgService.getSetting( USE_BINARY_CACHE_ENTRIES, BOOLEAN, false );
+			this.entityQueryCacheInvalidationEnabled = cfgService.getSetting(
+					USE_ENTITY_QUERY_CACHE_INVALIDATION,
+					BOOLEAN,
+					false
+			);
+			this.queryCacheEntityStatesEnabled = cfgService.getSetting( USE_QUERY_CACHE_ENTITY_STATES, BOOLEAN, false );
 
 			this.multiTenancyStrategy = MultiTenancyStrategy.determineMultiTenancyStrategy( configurationSettings );
 			this.currentTenantIdentifierResolver = strategySelector.resolveStrategy(
@@ -621,6 +695,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			this.querySubstitutions = ConfigurationHelper.toMap( QUERY_SUBSTITUTIONS, " ,=;:\n\t\r\f", configurationSettings );
 			this.strictJpaQueryLanguageCompliance = cfgService.getSetting( JPAQL_STRICT_COMPLIANCE, BOOLEAN, false );
 			this.namedQueryStartupCheckingEnabled = cfgService.getSetting( QUERY_STARTUP_CHECKING, BOOLEAN, true );
+			this.namedQueryStartupCheckParallelism = ConfigurationHelper.getInt( QUERY_STARTUP_CHECK_PARALLELISM, configurationSettings, 1 );
+			this.namedQueryStartupCheckCacheFile = ConfigurationHelper.getString( QUERY_STARTUP_CHECK_CACHE_FILE, configurationSettings );
 
 			this.secondLevelCacheEnabled = cfgService.getSetting( USE_SECOND_LEVEL_CACHE, BOOLEAN, true );
 			this.queryCacheEnabled = cfgService.getSetting( USE_QUERY_CACHE, BOOLEAN, false );
@@ -784,6 +860,36 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return initializeLazyStateOutsideTransactions;
 		}
 
+		@Override
+		public boolean isCompactPersistenceContextEnabled() {
+			return compactPersistenceContextEnabled;
+		}
+
+		@Override
+		public boolean isInClauseParameterPaddingEnabled() {
+			return inClauseParameterPaddingEnabled;
+		}
+
+		@Override
+		public boolean isGeneratedDirtyCheckingEnabled() {
+			return generatedDirtyCheckingEnabled;
+		}
+
+		@Override
+		public boolean isBinaryCacheEntriesEnabled() {
+			return binaryCacheEntriesEnabled;
+		}
+
+		@Override
+		public boolean isEntityQueryCacheInvalidationEnabled() {
+			return entityQueryCacheInvalidationEnabled;
+		}
+
+		@Override
+		public boolean isQueryCacheEntityStatesEnabled() {
+			return queryCacheEntityStatesEnabled;
+		}
+
 		@Override
 		public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 			return multiTableBulkIdStrategy;
@@ -854,6 +960,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 			return namedQueryStartupCheckingEnabled;
 		}
 
+		@Override
+		public int getNamedQueryStartupCheckParallelism() {
+			return namedQueryStartupCheckParallelism;
+		}
+
+		@Override
+		public String getNamedQueryStartupCheckCacheFile() {
+			return namedQueryStartupCheckCacheFile;
+		}
+
 		@Override
 		public boolean isSecondLevelCacheEnabled() {
 			return secondLevelCacheEnabled;
@@ -1050,6 +1166,36 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.isInitializeLazyStateOutsideTransactionsEnabled();
 	}
 
+	@Override
+	public boolean isCompactPersistenceContextEnabled() {
+		return options.isCompactPersistenceContextEnabled();
+	}
+
+	@Override
+	public boolean isInClauseParameterPaddingEnabled() {
+		return options.isInClauseParameterPaddingEnabled();
+	}
+
+	@Override
+	public boolean isGeneratedDirtyCheckingEnabled() {
+		return options.isGeneratedDirtyCheckingEnabled();
+	}
+
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return options.isBinaryCacheEntriesEnabled();
+	}
+
+	@Override
+	public boolean isEntityQueryCacheInvalidationEnabled() {
+		return options.isEntityQueryCacheInvalidationEnabled();
+	}
+
+	@Override
+	public boolean isQueryCacheEntityStatesEnabled() {
+		return options.isQueryCacheEntityStatesEnabled();
+	}
+
 	@Override
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 		return options.getMultiTableBulkIdStrategy();
@@ -1120,6 +1266,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilderImplement
 		return options.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckParallelism() {
+		return options.getNamedQueryStartupCheckParallelism();
+	}
+
+	@Override
+	public String getNamedQueryStartupCheckCacheFile() {
+		return options.getNamedQueryStartupCheckCacheFile();
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return options.isSecondLevelCacheEnabled();
@@ -70,6 +70,12 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 	private final EntityTuplizerFactory entityTuplizerFactory;
 	private boolean checkNullability;
 	private final boolean initializeLazyStateOutsideTransactions;
+	private final boolean compactPersistenceContextEnabled;
+	private final boolean inClauseParameterPaddingEnabled;
+	private final boolean generatedDirtyCheckingEnabled;
+	private final boolean binaryCacheEntriesEnabled;
+	private final boolean entityQueryCacheInvalidationEnabled;
+	private final boolean queryCacheEntityStatesEnabled;
 	private final MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private final TempTableDdlTransactionHandling tempTableDdlTransactionHandling;
 	private final BatchFetchStyle batchFetchStyle;
@@ -87,6 +93,8 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 	private final Map querySubstitutions;
 	private final boolean strictJpaQueryLanguageCompliance;
 	private final boolean namedQueryStartupCheckingEnabled;
+	private final int namedQueryStartupCheckParallelism;
+	private final String namedQueryStartupCheckCacheFile;
 
 	// Caching
 	private final boolean secondLevelCacheEnabled;
@@ -142,6 +150,12 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		this.entityTuplizerFactory = state.getEntityTuplizerFactory();
 		this.checkNullability = state.isCheckNullability();
 		this.initializeLazyStateOutsideTransactions = state.isInitializeLazyStateOutsideTransactionsEnabled();
+		this.compactPersistenceContextEnabled = state.isCompactPersistenceContextEnabled();
+		this.inClauseParameterPaddingEnabled = state.isInClauseParameterPaddingEnabled();
+		this.generatedDirtyCheckingEnabled = state.isGeneratedDirtyCheckingEnabled();
+		this.binaryCacheEntriesEnabled = state.isBinaryCacheEntriesEnabled();
+		this.entityQueryCacheInvalidationEnabled = state.isEntityQueryCacheInvalidationEnabled();
+		this.queryCacheEntityStatesEnabled = state.isQueryCacheEntityStatesEnabled();
 		this.multiTableBulkIdStrategy = state.getMultiTableBulkIdStrategy();
 		this.tempTableDdlTransactionHandling = state.getTempTableDdlTransactionHandling();
 		this.batchFetchStyle = state.getBatchFetchStyle();
@@ -157,6 +171,8 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		this.querySubstitutions = state.getQuerySubstitutions();
 		this.strictJpaQueryLanguageCompliance = state.isStrictJpaQueryLanguageCompliance();
 		this.namedQueryStartupCheckingEnabled = state.isNamedQueryStartupCheckingEnabled();
+		this.namedQueryStartupCheckParallelism = state.getNamedQueryStartupCheckParallelism();
+		this.namedQueryStartupCheckCacheFile = state.getNamedQueryStartupCheckCacheFile();
 
 		this.secondLevelCacheEnabled = state.isSecondLevelCacheEnabled();
 		this.queryCacheEnabled = state.isQueryCacheEnabled();
@@ -265,6 +281,36 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return initializeLazyStateOutsideTransactions;
 	}
 
+	@Override
+	public boolean isCompactPersistenceContextEnabled() {
+		return compactPersistenceContextEnabled;
+	}
+
+	@Override
+	public boolean isInClauseParameterPaddingEnabled() {
+		return inClauseParameterPaddingEnabled;
+	}
+
+	@Override
+	public boolean isGeneratedDirtyCheckingEnabled() {
+		return generatedDirtyCheckingEnabled;
+	}
+
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
+	@Override
+	public boolean isEntityQueryCacheInvalidationEnabled() {
+		return entityQueryCacheInvalidationEnabled;
+	}
+
+	@Override
+	public boolean isQueryCacheEntityStatesEnabled() {
+		return queryCacheEntityStatesEnabled;
+	}
+
 	@Override
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 		return multiTableBulkIdStrategy;
@@ -335,6 +381,16 @@ public class SessionFactoryOptionsImpl implements SessionFactoryOptions {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckParallelism() {
+		return namedQueryStartupCheckParallelism;
+	}
+
+	@Override
+	public String getNamedQueryStartupCheckCacheFile() {
+		return namedQueryStartupCheckCacheFile;
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return secondLevelCacheEnabled;
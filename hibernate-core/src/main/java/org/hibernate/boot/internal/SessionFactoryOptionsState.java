@@ -69,6 +69,18 @@ public interface SessionFactoryOptionsState {
 
 	public boolean isInitializeLazyStateOutsideTransactionsEnabled();
 
+	public boolean isCompactPersistenceContextEnabled();
+
+	public boolean isInClauseParameterPaddingEnabled();
+
+	public boolean isGeneratedDirtyCheckingEnabled();
+
+	public boolean isBinaryCacheEntriesEnabled();
+
+	public boolean isEntityQueryCacheInvalidationEnabled();
+
+	public boolean isQueryCacheEntityStatesEnabled();
+
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy();
 
 	public TempTableDdlTransactionHandling getTempTableDdlTransactionHandling();
@@ -97,6 +109,10 @@ public interface SessionFactoryOptionsState {
 
 	public boolean isNamedQueryStartupCheckingEnabled();
 
+	public int getNamedQueryStartupCheckParallelism();
+
+	public String getNamedQueryStartupCheckCacheFile();
+
 	public boolean isSecondLevelCacheEnabled();
 
 	public boolean isQueryCacheEnabled();
@@ -15,6 +15,8 @@ import org.hibernate.boot.registry.selector.StrategyRegistration;
 import org.hibernate.boot.registry.selector.StrategyRegistrationProvider;
 import org.hibernate.boot.registry.selector.spi.StrategySelectionException;
 import org.hibernate.boot.registry.selector.spi.StrategySelector;
+import org.hibernate.cache.internal.local.LocalRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.dialect.CUBRIDDialect;
 import org.hibernate.dialect.Cache71Dialect;
 import org.hibernate.dialect.DB2390Dialect;
@@ -150,6 +152,7 @@ public class StrategySelectorBuilder {
 		addTransactionCoordinatorBuilders( strategySelector );
 		addMultiTableBulkIdStrategies( strategySelector );
 		addEntityCopyObserverStrategies( strategySelector );
+		addRegionFactories( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -385,4 +388,12 @@ public class StrategySelectorBuilder {
 				EntityCopyAllowedLoggedObserver.class
 		);
 	}
+
+	private void addRegionFactories(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				RegionFactory.class,
+				LocalRegionFactory.SHORT_NAME,
+				LocalRegionFactory.class
+		);
+	}
 }
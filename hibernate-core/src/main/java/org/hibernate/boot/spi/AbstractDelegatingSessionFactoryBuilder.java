@@ -153,6 +153,42 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyCompactPersistenceContext(boolean enabled) {
+		delegate.applyCompactPersistenceContext( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyInClauseParameterPadding(boolean enabled) {
+		delegate.applyInClauseParameterPadding( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyGeneratedDirtyChecking(boolean enabled) {
+		delegate.applyGeneratedDirtyChecking( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyBinaryCacheEntries(boolean enabled) {
+		delegate.applyBinaryCacheEntries( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyEntityQueryCacheInvalidation(boolean enabled) {
+		delegate.applyEntityQueryCacheInvalidation( enabled );
+		return getThis();
+	}
+
+	@Override
+	public T applyQueryCacheEntityStates(boolean enabled) {
+		delegate.applyQueryCacheEntityStates( enabled );
+		return getThis();
+	}
+
 	@Override
 	public T applyEntityTuplizerFactory(EntityTuplizerFactory entityTuplizerFactory) {
 		delegate.applyEntityTuplizerFactory( entityTuplizerFactory );
@@ -258,6 +294,18 @@ public abstract class AbstractDelegatingSessionFactoryBuilder<T extends Abstract
 		return getThis();
 	}
 
+	@Override
+	public T applyNamedQueryCheckingParallelism(int threadCount) {
+		delegate.applyNamedQueryCheckingParallelism( threadCount );
+		return getThis();
+	}
+
+	@Override
+	public T applyNamedQueryCheckingCacheFile(String fileName) {
+		delegate.applyNamedQueryCheckingCacheFile( fileName );
+		return getThis();
+	}
+
 	@Override
 	public T applySecondLevelCacheSupport(boolean enabled) {
 		delegate.applySecondLevelCacheSupport( enabled );
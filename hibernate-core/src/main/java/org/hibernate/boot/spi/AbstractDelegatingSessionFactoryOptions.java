@@ -126,6 +126,36 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.isInitializeLazyStateOutsideTransactionsEnabled();
 	}
 
+	@Override
+	public boolean isCompactPersistenceContextEnabled() {
+		return delegate.isCompactPersistenceContextEnabled();
+	}
+
+	@Override
+	public boolean isInClauseParameterPaddingEnabled() {
+		return delegate.isInClauseParameterPaddingEnabled();
+	}
+
+	@Override
+	public boolean isGeneratedDirtyCheckingEnabled() {
+		return delegate.isGeneratedDirtyCheckingEnabled();
+	}
+
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return delegate.isBinaryCacheEntriesEnabled();
+	}
+
+	@Override
+	public boolean isEntityQueryCacheInvalidationEnabled() {
+		return delegate.isEntityQueryCacheInvalidationEnabled();
+	}
+
+	@Override
+	public boolean isQueryCacheEntityStatesEnabled() {
+		return delegate.isQueryCacheEntityStatesEnabled();
+	}
+
 	@Override
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
 		return delegate.getMultiTableBulkIdStrategy();
@@ -196,6 +226,16 @@ public abstract class AbstractDelegatingSessionFactoryOptions implements Session
 		return delegate.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckParallelism() {
+		return delegate.getNamedQueryStartupCheckParallelism();
+	}
+
+	@Override
+	public String getNamedQueryStartupCheckCacheFile() {
+		return delegate.getNamedQueryStartupCheckCacheFile();
+	}
+
 	@Override
 	public boolean isSecondLevelCacheEnabled() {
 		return delegate.isSecondLevelCacheEnabled();
@@ -93,6 +93,18 @@ public interface SessionFactoryOptions {
 
 	public boolean isInitializeLazyStateOutsideTransactionsEnabled();
 
+	public boolean isCompactPersistenceContextEnabled();
+
+	public boolean isInClauseParameterPaddingEnabled();
+
+	public boolean isGeneratedDirtyCheckingEnabled();
+
+	public boolean isBinaryCacheEntriesEnabled();
+
+	public boolean isEntityQueryCacheInvalidationEnabled();
+
+	public boolean isQueryCacheEntityStatesEnabled();
+
 	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy();
 
 	public TempTableDdlTransactionHandling getTempTableDdlTransactionHandling();
@@ -121,6 +133,10 @@ public interface SessionFactoryOptions {
 
 	public boolean isNamedQueryStartupCheckingEnabled();
 
+	public int getNamedQueryStartupCheckParallelism();
+
+	public String getNamedQueryStartupCheckCacheFile();
+
 	public boolean isSecondLevelCacheEnabled();
 
 	public boolean isQueryCacheEnabled();
@@ -0,0 +1,34 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Determines the dirty properties of the entities of a given entity type; implementations are generated by
+ * {@link DirtyCheckerFactory}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#GENERATED_DIRTY_CHECKING
+ */
+public interface DirtyChecker {
+	/**
+	 * Locate the property-indices of all properties considered to be dirty, as
+	 * {@link org.hibernate.type.TypeHelper#findDirty} does.
+	 *
+	 * @param currentState The current state of the entity
+	 * @param previousState The baseline state of the entity
+	 * @param anyUninitializedProperties Does the entity currently hold any uninitialized property values?
+	 * @param session The session from which the dirty check request originated.
+	 *
+	 * @return Array containing indices of the dirty properties, or null if no properties considered dirty.
+	 */
+	int[] findDirty(
+			Object[] currentState,
+			Object[] previousState,
+			boolean anyUninitializedProperties,
+			SessionImplementor session);
+}
@@ -0,0 +1,214 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.tuple.NonIdentifierAttribute;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+import org.hibernate.type.descriptor.java.BooleanTypeDescriptor;
+import org.hibernate.type.descriptor.java.ByteTypeDescriptor;
+import org.hibernate.type.descriptor.java.CharacterTypeDescriptor;
+import org.hibernate.type.descriptor.java.IntegerTypeDescriptor;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.hibernate.type.descriptor.java.LongTypeDescriptor;
+import org.hibernate.type.descriptor.java.ShortTypeDescriptor;
+import org.hibernate.type.descriptor.java.StringTypeDescriptor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Generates the {@link DirtyChecker} of an entity type.
+ * <p/>
+ * The generated {@code findDirty} method is unrolled over the properties of the entity.  Properties which can never
+ * be dirty (those not updatable) are left out; properties of basic types whose values are compared through
+ * {@code equals} (numbers, booleans, characters and strings) are compared inline, unboxing wrappers to their
+ * primitive values; all other properties are compared by their {@link Type}, each from its own call site.
+ *
+ * @see org.hibernate.type.TypeHelper#findDirty
+ */
+public final class DirtyCheckerFactory {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			DirtyCheckerFactory.class.getName()
+	);
+
+	/**
+	 * Unrolling more properties than this could exceed the maximum size of a method.
+	 */
+	private static final int MAXIMUM_PROPERTIES = 400;
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private DirtyCheckerFactory() {
+	}
+
+	/**
+	 * Generates the dirty checker of an entity type.
+	 *
+	 * @param entityName The entity name
+	 * @param properties The properties of the entity
+	 * @param includeColumns The columns to be included in the dirty checking, per property
+	 *
+	 * @return The dirty checker, or {@code null} if none could be generated
+	 */
+	public static DirtyChecker buildDirtyChecker(
+			String entityName,
+			NonIdentifierAttribute[] properties,
+			boolean[][] includeColumns) {
+		if ( properties.length > MAXIMUM_PROPERTIES ) {
+			LOG.debugf( "Not generating a dirty checker for entity [%s] : too many properties", entityName );
+			return null;
+		}
+
+		final Type[] types = new Type[properties.length];
+		for ( int i = 0; i < properties.length; i++ ) {
+			types[i] = properties[i].getType();
+		}
+
+		final String className = DirtyChecker.class.getName() + "$" + simpleName( entityName )
+				+ "$" + COUNTER.incrementAndGet();
+		final ClassLoader parentClassLoader = DirtyChecker.class.getClassLoader();
+		try {
+			final ClassPool classPool = new ClassPool( false );
+			classPool.appendClassPath( new LoaderClassPath( parentClassLoader ) );
+			final CtClass ctClass = classPool.makeClass( className );
+			ctClass.addInterface( classPool.get( DirtyChecker.class.getName() ) );
+			ctClass.addField( CtField.make( "private " + Type.class.getName() + "[] types;", ctClass ) );
+			ctClass.addField( CtField.make( "private boolean[][] includeColumns;", ctClass ) );
+			ctClass.addConstructor(
+					CtNewConstructor.make(
+							"public " + ctClass.getSimpleName() + "(" + Type.class.getName() + "[] types, "
+									+ "boolean[][] includeColumns) {"
+									+ " this.types = types; this.includeColumns = includeColumns; }",
+							ctClass
+					)
+			);
+			ctClass.addMethod( CtNewMethod.make( findDirtySource( properties, includeColumns ), ctClass ) );
+
+			final Class checkerClass = new GeneratedClassLoader( parentClassLoader )
+					.define( className, ctClass.toBytecode() );
+			ctClass.detach();
+			return (DirtyChecker) checkerClass.getConstructor( Type[].class, boolean[][].class )
+					.newInstance( types, includeColumns );
+		}
+		catch (Exception e) {
+			LOG.warnf( "Unable to generate a dirty checker for entity [%s] : %s", entityName, e );
+			return null;
+		}
+	}
+
+	private static String simpleName(String entityName) {
+		final StringBuilder name = new StringBuilder();
+		for ( char c : entityName.substring( entityName.lastIndexOf( '.' ) + 1 ).toCharArray() ) {
+			name.append( Character.isJavaIdentifierPart( c ) ? c : '_' );
+		}
+		return name.toString();
+	}
+
+	private static String findDirtySource(NonIdentifierAttribute[] properties, boolean[][] includeColumns) {
+		final StringBuilder source = new StringBuilder()
+				.append( "public int[] findDirty(Object[] current, Object[] previous, " )
+				.append( "boolean anyUninitializedProperties, " )
+				.append( SessionImplementor.class.getName() ).append( " session) {\n" )
+				.append( "int[] results = null;\n" )
+				.append( "int count = 0;\n" )
+				.append( "Object c;\n" )
+				.append( "Object p;\n" );
+
+		for ( int i = 0; i < properties.length; i++ ) {
+			final NonIdentifierAttribute property = properties[i];
+			if ( !property.isDirtyCheckable() ) {
+				continue;
+			}
+			final String comparison = comparisonSource( i, property.getType(), includeColumns[i] );
+			if ( comparison == null ) {
+				continue;
+			}
+
+			source.append( "c = current[" ).append( i ).append( "];\n" )
+					.append( "p = previous[" ).append( i ).append( "];\n" )
+					.append( "if ( c != " ).append( LazyPropertyInitializer.class.getName() ).append( ".UNFETCHED_PROPERTY" );
+			if ( property.isLazy() ) {
+				source.append( " && !anyUninitializedProperties" );
+			}
+			source.append( " && " ).append( comparison ).append( " ) {\n" )
+					.append( "if ( results == null ) { results = new int[" ).append( properties.length ).append( "]; }\n" )
+					.append( "results[count++] = " ).append( i ).append( ";\n" )
+					.append( "}\n" );
+		}
+
+		return source.append( "if ( count == 0 ) { return null; }\n" )
+				.append( "int[] trimmed = new int[count];\n" )
+				.append( "System.arraycopy( results, 0, trimmed, 0, count );\n" )
+				.append( "return trimmed;\n" )
+				.append( "}" )
+				.toString();
+	}
+
+	/**
+	 * The expression determining whether the property is dirty, in terms of its current value {@code c} and its
+	 * previous value {@code p}; {@code null} if the property can never be dirty.
+	 */
+	private static String comparisonSource(int index, Type type, boolean[] includeColumns) {
+		if ( type instanceof AbstractStandardBasicType && includeColumns.length == 1 ) {
+			if ( !includeColumns[0] ) {
+				return null;
+			}
+			final JavaTypeDescriptor descriptor = ( (AbstractStandardBasicType) type ).getJavaTypeDescriptor();
+			if ( descriptor == IntegerTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Integer.class, "intValue" );
+			}
+			else if ( descriptor == LongTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Long.class, "longValue" );
+			}
+			else if ( descriptor == ShortTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Short.class, "shortValue" );
+			}
+			else if ( descriptor == ByteTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Byte.class, "byteValue" );
+			}
+			else if ( descriptor == BooleanTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Boolean.class, "booleanValue" );
+			}
+			else if ( descriptor == CharacterTypeDescriptor.INSTANCE ) {
+				return primitiveComparisonSource( Character.class, "charValue" );
+			}
+			else if ( descriptor == StringTypeDescriptor.INSTANCE ) {
+				return "( c != p && ( c == null || !c.equals( p ) ) )";
+			}
+		}
+		return "types[" + index + "].isDirty( p, c, includeColumns[" + index + "], session )";
+	}
+
+	private static String primitiveComparisonSource(Class wrapperClass, String unwrapMethod) {
+		final String c = "((" + wrapperClass.getName() + ") c)." + unwrapMethod + "()";
+		final String p = "((" + wrapperClass.getName() + ") p)." + unwrapMethod + "()";
+		return "( c != p && ( c == null || p == null || " + c + " != " + p + " ) )";
+	}
+
+	private static class GeneratedClassLoader extends ClassLoader {
+		private GeneratedClassLoader(ClassLoader parent) {
+			super( parent );
+		}
+
+		private Class define(String name, byte[] bytecode) {
+			return defineClass( name, bytecode, 0, bytecode.length, DirtyCheckerFactory.class.getProtectionDomain() );
+		}
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Warms up second-level cache regions when the session factory starts, as configured through
+ * {@link AvailableSettings#CACHE_WARMUP}.
+ * <p/>
+ * For each configured entity or collection role, the identifiers of the entities, or of the collection owners, are
+ * streamed through a {@link ScrollableResults} and handed out in batches to a pool of
+ * {@link AvailableSettings#CACHE_WARMUP_PARALLELISM} threads.  Each batch is loaded by a session in
+ * {@link CacheMode#PUT} mode, so that the regions are populated through the regular
+ * {@link org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad putFromLoad} path, honouring
+ * minimal puts and the concurrency strategy of the region.
+ * <p/>
+ * A failure to warm up a region is logged and doesn't prevent the session factory from starting.
+ */
+public class CacheWarmer {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			CacheWarmer.class.getName()
+	);
+
+	/**
+	 * The value of {@link AvailableSettings#CACHE_WARMUP} warming up all the entities, or collections, of a role.
+	 */
+	public static final String ALL = "all";
+
+	private static final int DEFAULT_BATCH_SIZE = 100;
+
+	private final SessionFactoryImplementor factory;
+	private final Properties properties;
+	private final int parallelism;
+	private final int batchSize;
+
+	/**
+	 * Constructs a cache warmer.
+	 *
+	 * @param factory The session factory whose regions are to be warmed up
+	 * @param properties The configuration properties
+	 */
+	public CacheWarmer(SessionFactoryImplementor factory, Properties properties) {
+		this.factory = factory;
+		this.properties = properties;
+		this.parallelism = Math.max( ConfigurationHelper.getInt( AvailableSettings.CACHE_WARMUP_PARALLELISM, properties, 1 ), 1 );
+		this.batchSize = Math.max(
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_WARMUP_BATCH_SIZE, properties, DEFAULT_BATCH_SIZE ),
+				1
+		);
+	}
+
+	/**
+	 * Warms up the configured regions, returning once all of them are done.
+	 */
+	public void warmUp() {
+		final List<Target> targets = resolveTargets();
+		if ( targets.isEmpty() ) {
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				parallelism,
+				new ThreadFactory() {
+					private final AtomicInteger threadCount = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread( runnable, "hibernate-cache-warmup-" + threadCount.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		try {
+			for ( Target target : targets ) {
+				try {
+					target.warmUp( executor );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					LOG.warnf( "Interrupted while warming up the second-level cache" );
+					return;
+				}
+				catch (RuntimeException e) {
+					LOG.warnf( e, "Unable to warm up the second-level cache for [%s]", target.name );
+				}
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<Target> resolveTargets() {
+		final String prefix = AvailableSettings.CACHE_WARMUP + '.';
+		final List<Target> targets = new ArrayList<Target>();
+		for ( Map.Entry<Object, Object> entry : properties.entrySet() ) {
+			final String key = entry.getKey().toString();
+			if ( !key.startsWith( prefix ) || entry.getValue() == null ) {
+				continue;
+			}
+			final String name = key.substring( prefix.length() );
+			final String value = entry.getValue().toString().trim();
+			final Target target = resolveTarget( name, value );
+			if ( target != null ) {
+				targets.add( target );
+			}
+		}
+		return targets;
+	}
+
+	private Target resolveTarget(String name, String value) {
+		final boolean all = ALL.equals( value.toLowerCase( Locale.ROOT ) );
+		final String entityName = factory.getImportedClassName( name );
+		if ( entityName != null && factory.getAllClassMetadata().containsKey( entityName ) ) {
+			final EntityPersister persister = factory.getEntityPersister( entityName );
+			if ( !persister.hasCache() ) {
+				LOG.warnf( "Not warming up entity [%s], which is not cached", entityName );
+				return null;
+			}
+			return new EntityTarget( persister, all ? identifierQuery( persister ) : value );
+		}
+		if ( factory.getAllCollectionMetadata().containsKey( name ) ) {
+			final CollectionPersister persister = factory.getCollectionPersister( name );
+			if ( !persister.hasCache() ) {
+				LOG.warnf( "Not warming up collection [%s], which is not cached", name );
+				return null;
+			}
+			if ( persister.getOwnerEntityPersister().getIdentifierType().isComponentType() ) {
+				LOG.warnf( "Not warming up collection [%s], whose owner has a composite identifier", name );
+				return null;
+			}
+			return new CollectionTarget( persister, all ? identifierQuery( persister.getOwnerEntityPersister() ) : value );
+		}
+		LOG.warnf( "Not warming up [%s], which is neither an entity nor a collection role", name );
+		return null;
+	}
+
+	private static String identifierQuery(EntityPersister persister) {
+		return "select e." + identifierPath( persister ) + " from " + persister.getEntityName() + " e";
+	}
+
+	private static String identifierPath(EntityPersister persister) {
+		// "id" designates the identifier in HQL when it is not a named property
+		return persister.getIdentifierPropertyName() == null ? "id" : persister.getIdentifierPropertyName();
+	}
+
+	/**
+	 * An entity or collection role to warm up.
+	 */
+	private abstract class Target {
+		private final String name;
+		private final String regionName;
+		private final String identifierQuery;
+		private final AtomicLong warmedUp = new AtomicLong();
+
+		private Target(String name, String regionName, String identifierQuery) {
+			this.name = name;
+			this.regionName = regionName;
+			this.identifierQuery = identifierQuery;
+		}
+
+		/**
+		 * Streams the identifiers, and loads them in batches using the given executor; returns once all the batches
+		 * are loaded.  At most two batches per thread are pending at any time.
+		 */
+		void warmUp(ExecutorService executor) throws InterruptedException {
+			LOG.debugf( "Warming up the second-level cache for [%s]", name );
+			final long start = System.currentTimeMillis();
+			final Semaphore pending = new Semaphore( parallelism * 2 );
+			final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+			final StatelessSession session = factory.openStatelessSession();
+			try {
+				final ScrollableResults results = session.createQuery( identifierQuery )
+						.setFetchSize( batchSize )
+						.setReadOnly( true )
+						.scroll( ScrollMode.FORWARD_ONLY );
+				try {
+					List<Serializable> batch = new ArrayList<Serializable>( batchSize );
+					while ( failure.get() == null && results.next() ) {
+						batch.add( (Serializable) results.get( 0 ) );
+						if ( batch.size() == batchSize ) {
+							submit( executor, pending, batch, failure );
+							batch = new ArrayList<Serializable>( batchSize );
+						}
+					}
+					if ( !batch.isEmpty() && failure.get() == null ) {
+						submit( executor, pending, batch, failure );
+					}
+				}
+				finally {
+					results.close();
+				}
+			}
+			finally {
+				session.close();
+				// wait for the pending batches
+				pending.acquire( parallelism * 2 );
+			}
+			if ( failure.get() != null ) {
+				throw failure.get();
+			}
+			LOG.debugf(
+					"Warmed up the second-level cache for [%s] with %s entries in %s ms",
+					name,
+					warmedUp.get(),
+					System.currentTimeMillis() - start
+			);
+		}
+
+		private void submit(
+				ExecutorService executor,
+				final Semaphore pending,
+				final List<Serializable> ids,
+				final AtomicReference<RuntimeException> failure) throws InterruptedException {
+			pending.acquire();
+			executor.execute(
+					new Runnable() {
+						@Override
+						public void run() {
+							try {
+								loadBatch( ids );
+								warmedUp.addAndGet( ids.size() );
+								if ( factory.getStatistics().isStatisticsEnabled() ) {
+									factory.getStatisticsImplementor().secondLevelCacheWarmUp( regionName, ids.size() );
+								}
+							}
+							catch (RuntimeException e) {
+								failure.compareAndSet( null, e );
+							}
+							finally {
+								pending.release();
+							}
+						}
+					}
+			);
+		}
+
+		private void loadBatch(List<Serializable> ids) {
+			final Session session = factory.openSession();
+			try {
+				session.setCacheMode( CacheMode.PUT );
+				session.setDefaultReadOnly( true );
+				final Transaction transaction = session.beginTransaction();
+				try {
+					load( session, ids );
+					transaction.commit();
+				}
+				catch (RuntimeException e) {
+					transaction.rollback();
+					throw e;
+				}
+			}
+			finally {
+				session.close();
+			}
+		}
+
+		abstract void load(Session session, List<Serializable> ids);
+	}
+
+	private class EntityTarget extends Target {
+		private final EntityPersister persister;
+
+		private EntityTarget(EntityPersister persister, String identifierQuery) {
+			super( persister.getEntityName(), persister.getCacheAccessStrategy().getRegion().getName(), identifierQuery );
+			this.persister = persister;
+		}
+
+		@Override
+		void load(Session session, List<Serializable> ids) {
+			if ( persister.getIdentifierType().isComponentType() ) {
+				// restrictions on a list of composite identifiers are not supported by all databases
+				for ( Serializable id : ids ) {
+					session.get( persister.getEntityName(), id );
+				}
+			}
+			else {
+				session.createQuery(
+						"from " + persister.getEntityName() + " e where e." + identifierPath( persister ) + " in (:ids)"
+				)
+						.setParameterList( "ids", ids )
+						.list();
+			}
+		}
+	}
+
+	private class CollectionTarget extends Target {
+		private final String query;
+
+		private CollectionTarget(CollectionPersister persister, String identifierQuery) {
+			super( persister.getRole(), persister.getCacheAccessStrategy().getRegion().getName(), identifierQuery );
+			final EntityPersister owner = persister.getOwnerEntityPersister();
+			// the role is the owning entity name followed by the path of the collection property
+			final String path = persister.getRole().substring( owner.getEntityName().length() + 1 );
+			this.query = "select o from " + owner.getEntityName() + " o left join fetch o." + path
+					+ " where o." + identifierPath( owner ) + " in (:ids)";
+		}
+
+		@Override
+		void load(Session session, List<Serializable> ids) {
+			session.createQuery( query ).setParameterList( "ids", ids ).list();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Inspects how the SQL of a cached query references a query space, to tell whether only updates of the rows of the
+ * result may change the result.  That is the case when the table is referenced once, outside of any subquery, and
+ * its alias is only referenced by the selected columns, by the ordering of results which are not paginated, and by
+ * identifier columns, which updates do not change.  Otherwise an update of a row not in the result may change it,
+ * through a restriction, a join condition, a self-join, a subquery or the ordering of a page.
+ * <p/>
+ * Only the aliases generated by Hibernate are recognized, as native SQL may reference columns without qualifying
+ * them: the tables of native queries are never considered.
+ */
+final class QuerySpaceReferences {
+	private static final Pattern GENERATED_ALIAS = Pattern.compile( "[a-z_$][a-z0-9_$]*[0-9]_" );
+
+	private QuerySpaceReferences() {
+	}
+
+	/**
+	 * Is the given table only referenced through the selected columns of its rows, so that the result of the query
+	 * only depends on updates of the rows it contains?
+	 *
+	 * @param sql The SQL of the query
+	 * @param table The table, as a query space
+	 * @param identifierColumns The identifier columns of the table
+	 * @param paginated Whether the results are a page of the rows selected by the query
+	 *
+	 * @return {@code true} if the rows of the table returned by the query may be tracked individually
+	 */
+	static boolean isOnlyReferencedBySelection(
+			String sql,
+			String table,
+			String[] identifierColumns,
+			boolean paginated) {
+		final String query = sql.toLowerCase( Locale.ROOT );
+		final String space = table.toLowerCase( Locale.ROOT );
+		final int[] depths = depths( query );
+
+		final int tableStart = indexOfToken( query, space, 0, depths );
+		if ( tableStart < 0
+				|| depths[tableStart] != 0
+				|| indexOfToken( query, space, tableStart + space.length(), depths ) >= 0 ) {
+			return false;
+		}
+		final int from = indexOfTopLevelToken( query, "from", 0, depths );
+		if ( from < 0 || from > tableStart ) {
+			return false;
+		}
+		final String alias = readAlias( query, tableStart + space.length() );
+		if ( alias == null || !GENERATED_ALIAS.matcher( alias ).matches() ) {
+			return false;
+		}
+
+		int orderBy = query.length();
+		if ( !paginated ) {
+			for ( int i = indexOfTopLevelToken( query, "order by", from, depths ); i >= 0;
+					i = indexOfTopLevelToken( query, "order by", i + 1, depths ) ) {
+				orderBy = i;
+			}
+		}
+
+		final String qualifier = alias + '.';
+		for ( int i = indexOfToken( query, qualifier, from, depths ); i >= 0 && i < orderBy;
+				i = indexOfToken( query, qualifier, i + 1, depths ) ) {
+			if ( !isIdentifierColumn( readIdentifier( query, i + qualifier.length() ), identifierColumns ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The nesting depth in parentheses of each character of the query, or -1 within string literals.
+	 */
+	private static int[] depths(String query) {
+		final int[] depths = new int[query.length()];
+		int depth = 0;
+		boolean quoted = false;
+		for ( int i = 0; i < query.length(); i++ ) {
+			final char c = query.charAt( i );
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			}
+			if ( quoted || c == '\'' ) {
+				depths[i] = -1;
+				continue;
+			}
+			if ( c == ')' ) {
+				depth--;
+			}
+			depths[i] = depth;
+			if ( c == '(' ) {
+				depth++;
+			}
+		}
+		return depths;
+	}
+
+	private static int indexOfTopLevelToken(String query, String token, int fromIndex, int[] depths) {
+		int i = indexOfToken( query, token, fromIndex, depths );
+		while ( i >= 0 && depths[i] != 0 ) {
+			i = indexOfToken( query, token, i + 1, depths );
+		}
+		return i;
+	}
+
+	private static int indexOfToken(String query, String token, int fromIndex, int[] depths) {
+		final boolean checkEnd = isIdentifierPart( token.charAt( token.length() - 1 ) );
+		for ( int i = query.indexOf( token, fromIndex ); i >= 0; i = query.indexOf( token, i + 1 ) ) {
+			final int end = i + token.length();
+			if ( depths[i] >= 0
+					&& ( i == 0 || !isQualifiedNamePart( query.charAt( i - 1 ) ) )
+					&& ( !checkEnd || end == query.length() || !isIdentifierPart( query.charAt( end ) ) ) ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String readAlias(String query, int start) {
+		final int aliasStart = skipWhitespace( query, start );
+		String alias = readIdentifier( query, aliasStart );
+		if ( "as".equals( alias ) ) {
+			alias = readIdentifier( query, skipWhitespace( query, aliasStart + 2 ) );
+		}
+		return alias.length() == 0 ? null : alias;
+	}
+
+	private static int skipWhitespace(String query, int start) {
+		int i = start;
+		while ( i < query.length() && Character.isWhitespace( query.charAt( i ) ) ) {
+			i++;
+		}
+		return i;
+	}
+
+	private static String readIdentifier(String query, int start) {
+		int end = start;
+		while ( end < query.length() && isIdentifierPart( query.charAt( end ) ) ) {
+			end++;
+		}
+		return query.substring( start, end );
+	}
+
+	private static boolean isIdentifierColumn(String column, String[] identifierColumns) {
+		for ( String identifierColumn : identifierColumns ) {
+			if ( identifierColumn.equalsIgnoreCase( column ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isIdentifierPart(char c) {
+		return Character.isLetterOrDigit( c ) || c == '_' || c == '$';
+	}
+
+	private static boolean isQualifiedNamePart(char c) {
+		return isIdentifierPart( c ) || c == '.';
+	}
+}
@@ -8,22 +8,47 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.persistence.EntityNotFoundException;
 
 import org.hibernate.HibernateException;
 import org.hibernate.UnresolvableObjectException;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.QuerySpaceKey;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryCodec;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.TwoPhaseLoad;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -47,8 +72,19 @@ public class StandardQueryCache implements QueryCache {
 	private static final boolean DEBUGGING = LOG.isDebugEnabled();
 	private static final boolean TRACING = LOG.isTraceEnabled();
 
+	/**
+	 * The number of queries whose executions are counted, when results are only cached after a number of executions.
+	 */
+	private static final int ADMISSION_TRACKED_QUERIES = 10000;
+
 	private QueryResultsRegion cacheRegion;
 	private UpdateTimestampsCache updateTimestampsCache;
+	private final boolean binaryEntries;
+	private final boolean entityStates;
+	private final int maxRows;
+	private final long maxSize;
+	private final int admissionThreshold;
+	private final ConcurrentMap<QueryKey, AtomicInteger> executionCounts;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -78,6 +114,44 @@ public class StandardQueryCache implements QueryCache {
 				props
 		);
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.binaryEntries = settings.isBinaryCacheEntriesEnabled();
+		this.entityStates = settings.isQueryCacheEntityStatesEnabled();
+		this.maxRows = getInt( AvailableSettings.QUERY_CACHE_MAX_ROWS, regionNameToUse, props, 0 );
+		this.maxSize = getLong( AvailableSettings.QUERY_CACHE_MAX_SIZE, regionNameToUse, props );
+		this.admissionThreshold = getInt(
+				AvailableSettings.QUERY_CACHE_ADMISSION_THRESHOLD,
+				regionNameToUse,
+				props,
+				1
+		);
+		this.executionCounts = admissionThreshold > 1
+				? new BoundedConcurrentHashMap<QueryKey, AtomicInteger>( ADMISSION_TRACKED_QUERIES )
+				: null;
+	}
+
+	/**
+	 * Reads a setting of the region, where the setting suffixed with the name of the region takes precedence over
+	 * the general one.
+	 */
+	private static int getInt(String setting, String regionName, Properties props, int defaultValue) {
+		if ( props == null ) {
+			return defaultValue;
+		}
+		return ConfigurationHelper.getInt(
+				setting + '.' + regionName,
+				props,
+				ConfigurationHelper.getInt( setting, props, defaultValue )
+		);
+	}
+
+	private static long getLong(String setting, String regionName, Properties props) {
+		if ( props == null ) {
+			return 0;
+		}
+		final String regionSetting = setting + '.' + regionName;
+		return props.containsKey( regionSetting )
+				? ConfigurationHelper.getLong( regionSetting, props, 0 )
+				: ConfigurationHelper.getLong( setting, props, 0 );
 	}
 
 	@Override
@@ -111,6 +185,18 @@ public class StandardQueryCache implements QueryCache {
 		if ( isNaturalKeyLookup && result.isEmpty() ) {
 			return false;
 		}
+		if ( maxRows > 0 && result.size() > maxRows ) {
+			if ( DEBUGGING ) {
+				LOG.debugf( "Not caching query results of %s rows, more than %s", result.size(), maxRows );
+			}
+			return false;
+		}
+		if ( !isAdmitted( key ) ) {
+			if ( DEBUGGING ) {
+				LOG.debugf( "Not caching query results before %s executions", admissionThreshold );
+			}
+			return false;
+		}
 		final long ts = cacheRegion.nextTimestamp();
 
 		if ( DEBUGGING ) {
@@ -129,10 +215,27 @@ public class StandardQueryCache implements QueryCache {
 			cacheable.add( cacheItem );
 			logCachedResultRowDetails( returnTypes, aResult );
 		}
+		if ( entityStates ) {
+			final EntityStates states = EntityStates.build( returnTypes, result, session );
+			if ( states != null ) {
+				cacheable.add( states );
+			}
+		}
+
+		final Object cached = binaryEntries ? CacheEntryCodec.encode( cacheable ) : cacheable;
+		if ( maxSize > 0 ) {
+			final long size = estimateSize( cached );
+			if ( size > maxSize ) {
+				if ( DEBUGGING ) {
+					LOG.debugf( "Not caching query results of about %s bytes, more than %s", size, maxSize );
+				}
+				return false;
+			}
+		}
 
 		try {
 			session.getEventListenerManager().cachePutStart();
-			cacheRegion.put( key, cacheable );
+			cacheRegion.put( key, cached );
 		}
 		finally {
 			session.getEventListenerManager().cachePutEnd();
@@ -141,6 +244,75 @@ public class StandardQueryCache implements QueryCache {
 		return true;
 	}
 
+	/**
+	 * Counts an execution of the query, and tells whether its results may be cached.
+	 */
+	private boolean isAdmitted(QueryKey key) {
+		if ( executionCounts == null ) {
+			return true;
+		}
+		AtomicInteger count = executionCounts.get( key );
+		if ( count == null ) {
+			final AtomicInteger newCount = new AtomicInteger();
+			count = executionCounts.putIfAbsent( key, newCount );
+			if ( count == null ) {
+				count = newCount;
+			}
+		}
+		return count.incrementAndGet() >= admissionThreshold;
+	}
+
+	/**
+	 * Estimates the memory used by a cached query result: the length of the result when encoded, or the sum of the
+	 * sizes of the objects it is made of otherwise, assuming compressed references and counting objects of types
+	 * not known here as 16 bytes.
+	 */
+	static long estimateSize(Object value) {
+		if ( value == null ) {
+			return 0;
+		}
+		if ( value instanceof byte[] ) {
+			return 16 + ( (byte[]) value ).length;
+		}
+		if ( value instanceof String ) {
+			return 40 + 2 * ( (String) value ).length();
+		}
+		if ( value instanceof Object[] ) {
+			final Object[] array = (Object[]) value;
+			long size = 16 + 4L * array.length;
+			for ( Object element : array ) {
+				size += estimateSize( element );
+			}
+			return size;
+		}
+		if ( value instanceof Collection ) {
+			final Collection collection = (Collection) value;
+			long size = 24 + 8L * collection.size();
+			for ( Object element : collection ) {
+				size += estimateSize( element );
+			}
+			return size;
+		}
+		if ( value instanceof Map ) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			long size = 48 + 32L * map.size();
+			for ( Map.Entry<?, ?> entry : map.entrySet() ) {
+				size += estimateSize( entry.getKey() ) + estimateSize( entry.getValue() );
+			}
+			return size;
+		}
+		if ( value instanceof CacheEntry ) {
+			return 32 + estimateSize( ( (CacheEntry) value ).getDisassembledState() );
+		}
+		if ( value instanceof EntityStates ) {
+			return 16 + estimateSize( ( (EntityStates) value ).entries );
+		}
+		if ( value instanceof Long || value instanceof Double || value instanceof java.util.Date ) {
+			return 24;
+		}
+		return 16;
+	}
+
 	@Override
 	@SuppressWarnings({ "unchecked" })
 	public List get(
@@ -163,8 +335,14 @@ public class StandardQueryCache implements QueryCache {
 			return null;
 		}
 
+		// the entity states, if any, follow the rows
+		final EntityStates states = cacheable.get( cacheable.size() - 1 ) instanceof EntityStates
+				? (EntityStates) cacheable.get( cacheable.size() - 1 )
+				: null;
+		final int end = states == null ? cacheable.size() : cacheable.size() - 1;
+
 		final Long timestamp = (Long) cacheable.get( 0 );
-		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp, session ) ) {
+		if ( !isNaturalKeyLookup && !isUpToDate( key, spaces, returnTypes, cacheable, end, timestamp, session ) ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
 			}
@@ -174,8 +352,14 @@ public class StandardQueryCache implements QueryCache {
 		if ( DEBUGGING ) {
 			LOG.debug( "Returning cached query results" );
 		}
+		if ( session instanceof EventSource ) {
+			if ( states != null ) {
+				states.initializeEntities( returnTypes, cacheable, (EventSource) session );
+			}
+			initializeEntitiesFromSharedCache( returnTypes, cacheable, end, (EventSource) session );
+		}
 		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		for ( int i = 1; i < end; i++ ) {
 			if ( singleResult ) {
 				returnTypes[0].beforeAssemble( (Serializable) cacheable.get( i ), session );
 			}
@@ -184,8 +368,8 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 
-		final List result = new ArrayList( cacheable.size() - 1 );
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		final List result = new ArrayList( end - 1 );
+		for ( int i = 1; i < end; i++ ) {
 			try {
 				if ( singleResult ) {
 					result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
@@ -221,7 +405,8 @@ public class StandardQueryCache implements QueryCache {
 		List cacheable = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			cacheable = (List) cacheRegion.get( key );
+			final Object cached = cacheRegion.get( key );
+			cacheable = cached instanceof byte[] ? CacheEntryCodec.decodeResults( (byte[]) cached ) : (List) cached;
 		}
 		finally {
 			session.getEventListenerManager().cacheGetEnd( cacheable != null );
@@ -230,6 +415,159 @@ public class StandardQueryCache implements QueryCache {
 	}
 
 
+	private boolean isUpToDate(
+			QueryKey key,
+			Set<Serializable> spaces,
+			Type[] returnTypes,
+			List cacheable,
+			int end,
+			Long timestamp,
+			SessionImplementor session) {
+		if ( !updateTimestampsCache.isEntityInvalidationEnabled() ) {
+			return isUpToDate( spaces, timestamp, session );
+		}
+
+		// the spaces of the entities returned by the query only need checking for updates of the returned rows, unless
+		// the query references them otherwise
+		final Set<Serializable> trackedSpaces = new HashSet<Serializable>();
+		final Set<QuerySpaceKey> rows = new HashSet<QuerySpaceKey>();
+		final boolean singleResult = returnTypes.length == 1;
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			final EntityPersister persister = resolveTrackablePersister( returnTypes[i], session );
+			if ( persister == null ) {
+				continue;
+			}
+			final List<Serializable> entitySpaces = new ArrayList<Serializable>();
+			final String[] identifierColumns = ( (Loadable) persister ).getIdentifierColumnNames();
+			for ( Serializable space : persister.getQuerySpaces() ) {
+				if ( spaces.contains( space ) && QuerySpaceReferences.isOnlyReferencedBySelection(
+						key.getSqlQueryString(),
+						space.toString(),
+						identifierColumns,
+						key.isPaginated()
+				) ) {
+					entitySpaces.add( space );
+				}
+			}
+			if ( entitySpaces.isEmpty() ) {
+				continue;
+			}
+			trackedSpaces.addAll( entitySpaces );
+			for ( int j = 1; j < end; j++ ) {
+				final Serializable disassembled = singleResult
+						? (Serializable) cacheable.get( j )
+						: ( (Serializable[]) cacheable.get( j ) )[i];
+				if ( disassembled == null ) {
+					continue;
+				}
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble( disassembled, session, null );
+				for ( Serializable space : entitySpaces ) {
+					rows.add( QuerySpaceKey.row( space, id ) );
+				}
+			}
+		}
+
+		if ( DEBUGGING ) {
+			LOG.debugf( "Checking query spaces are up-to-date: %s, tracking rows of: %s", spaces, trackedSpaces );
+		}
+		return updateTimestampsCache.isUpToDate( spaces, trackedSpaces, rows, timestamp, session );
+	}
+
+	/**
+	 * Initializes the returned entities not yet in the persistence context from their second-level cache region
+	 * when it supports bulk access, so that it is accessed once instead of once per entity.
+	 */
+	private static void initializeEntitiesFromSharedCache(
+			Type[] returnTypes,
+			List cacheable,
+			int end,
+			EventSource session) {
+		if ( !session.getCacheMode().isGetEnabled() ) {
+			return;
+		}
+		final boolean singleResult = returnTypes.length == 1;
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			final EntityPersister persister = resolveEntityPersister( returnTypes[i], session );
+			if ( persister == null
+					|| !persister.hasCache()
+					|| !( persister.getCacheAccessStrategy() instanceof BulkRegionAccessStrategy ) ) {
+				continue;
+			}
+			final Map<CacheKey, Serializable> ids = new LinkedHashMap<CacheKey, Serializable>();
+			for ( int j = 1; j < end; j++ ) {
+				final Serializable disassembled = singleResult
+						? (Serializable) cacheable.get( j )
+						: ( (Serializable[]) cacheable.get( j ) )[i];
+				if ( disassembled == null ) {
+					continue;
+				}
+				final Serializable id = (Serializable) persister.getIdentifierType().assemble( disassembled, session, null );
+				if ( !persistenceContext.containsEntity( session.generateEntityKey( id, persister ) ) ) {
+					ids.put(
+							session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() ),
+							id
+					);
+				}
+			}
+
+			final Map<CacheKey, Serializable> entries = CacheHelper.fromSharedCache(
+					session,
+					ids.keySet(),
+					persister.getCacheAccessStrategy()
+			);
+			for ( Map.Entry<CacheKey, Serializable> entry : entries.entrySet() ) {
+				final Serializable id = ids.get( entry.getKey() );
+				// initializing an entity may have initialized others through eager associations
+				if ( persistenceContext.containsEntity( session.generateEntityKey( id, persister ) ) ) {
+					continue;
+				}
+				if ( session.getFactory().getStatistics().isStatisticsEnabled() ) {
+					session.getFactory().getStatisticsImplementor().secondLevelCacheHit(
+							persister.getCacheAccessStrategy().getRegion().getName()
+					);
+				}
+				initializeEntity( entry.getValue(), id, persister, session );
+			}
+		}
+	}
+
+	private static void initializeEntity(
+			Serializable structured,
+			Serializable id,
+			EntityPersister persister,
+			EventSource session) {
+		final CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure(
+				structured,
+				session.getFactory()
+		);
+		final Object entity = TwoPhaseLoad.initializeEntityFromCache( entry, id, persister, null, session );
+		if ( persister.hasNaturalIdentifier() ) {
+			final PersistenceContext persistenceContext = session.getPersistenceContext();
+			persistenceContext.getNaturalIdHelper().cacheNaturalIdCrossReferenceFromLoad(
+					persister,
+					id,
+					persistenceContext.getNaturalIdHelper().extractNaturalIdValues( entity, persister )
+			);
+		}
+	}
+
+	private static EntityPersister resolveEntityPersister(Type returnType, SessionImplementor session) {
+		if ( !returnType.isEntityType() || !( (EntityType) returnType ).isReferenceToPrimaryKey() ) {
+			return null;
+		}
+		return session.getFactory().getEntityPersister( ( (EntityType) returnType ).getAssociatedEntityName() );
+	}
+
+	private static EntityPersister resolveTrackablePersister(Type returnType, SessionImplementor session) {
+		final EntityPersister persister = resolveEntityPersister( returnType, session );
+		if ( persister == null ) {
+			return null;
+		}
+		// the same restriction applies when collecting the updated rows, see ActionQueue
+		return persister.getIdentifierType().isComponentType() || !( persister instanceof Loadable ) ? null : persister;
+	}
+
 	protected boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) {
 		if ( DEBUGGING ) {
 			LOG.debugf( "Checking query spaces are up-to-date: %s", spaces );
@@ -327,4 +665,97 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 	}
+
+	/**
+	 * The second-level cache entries of the entities returned by a cached query, indexed by row and then by
+	 * return type; kept as the last element of the cached results.
+	 */
+	private static final class EntityStates implements Serializable {
+		private final Serializable[][] entries;
+
+		private EntityStates(Serializable[][] entries) {
+			this.entries = entries;
+		}
+
+		static EntityStates build(Type[] returnTypes, List result, SessionImplementor session) {
+			final boolean singleResult = returnTypes.length == 1;
+			Serializable[][] entries = null;
+			for ( int i = 0; i < returnTypes.length; i++ ) {
+				final EntityPersister persister = resolveEntityPersister( returnTypes[i], session );
+				if ( persister == null || !persister.hasCache() ) {
+					continue;
+				}
+				for ( int j = 0; j < result.size(); j++ ) {
+					final Object value = singleResult ? result.get( j ) : ( (Object[]) result.get( j ) )[i];
+					final Serializable entry = buildEntry( value, session );
+					if ( entry != null ) {
+						if ( entries == null ) {
+							entries = new Serializable[result.size()][returnTypes.length];
+						}
+						entries[j][i] = entry;
+					}
+				}
+			}
+			return entries == null ? null : new EntityStates( entries );
+		}
+
+		private static Serializable buildEntry(Object value, SessionImplementor session) {
+			if ( value == null ) {
+				return null;
+			}
+			Object entity = value;
+			if ( value instanceof HibernateProxy ) {
+				final LazyInitializer initializer = ( (HibernateProxy) value ).getHibernateLazyInitializer();
+				if ( initializer.isUninitialized() ) {
+					return null;
+				}
+				entity = initializer.getImplementation();
+			}
+			final EntityEntry entry = session.getPersistenceContext().getEntry( entity );
+			if ( entry == null
+					|| entry.getLoadedState() == null
+					|| ( entry.getStatus() != Status.MANAGED && entry.getStatus() != Status.READ_ONLY ) ) {
+				return null;
+			}
+			final EntityPersister persister = entry.getPersister();
+			final CacheEntry cacheEntry = persister.buildCacheEntry(
+					entity,
+					entry.getLoadedState(),
+					entry.getVersion(),
+					session
+			);
+			return (Serializable) persister.getCacheEntryStructure().structure( cacheEntry );
+		}
+
+		void initializeEntities(Type[] returnTypes, List cacheable, EventSource session) {
+			final boolean singleResult = returnTypes.length == 1;
+			final PersistenceContext persistenceContext = session.getPersistenceContext();
+			for ( int i = 0; i < returnTypes.length; i++ ) {
+				final EntityPersister persister = resolveEntityPersister( returnTypes[i], session );
+				if ( persister == null ) {
+					continue;
+				}
+				for ( int j = 0; j < entries.length; j++ ) {
+					final Serializable structured = entries[j][i];
+					if ( structured == null ) {
+						continue;
+					}
+					final Serializable disassembled = singleResult
+							? (Serializable) cacheable.get( j + 1 )
+							: ( (Serializable[]) cacheable.get( j + 1 ) )[i];
+					final Serializable id = (Serializable) persister.getIdentifierType().assemble( disassembled, session, null );
+					if ( persistenceContext.containsEntity( session.generateEntityKey( id, persister ) ) ) {
+						continue;
+					}
+					// counted as a hit of the entity region, which the state stands in for
+					if ( session.getFactory().getStatistics().isStatisticsEnabled() ) {
+						session.getFactory().getStatisticsImplementor().secondLevelCacheHit(
+								persister.getCacheAccessStrategy().getRegion().getName()
+						);
+					}
+					initializeEntity( structured, id, persister, session );
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.EvictingRegion;
+
+/**
+ * Base of the regions of the {@link LocalRegionFactory}, storing their data in a {@link RegionStore}: a
+ * {@link BoundedLocalCache}, or an {@link OffHeapStore} for entity and natural id regions configured so.
+ *
+ * @author Strong Liu
+ */
+class BaseRegion implements EvictingRegion {
+	/**
+	 * The time after which soft locks time out.
+	 */
+	static final long LOCK_TIMEOUT_MILLIS = 60000;
+
+	protected final RegionStore<Object, Object> cache;
+	private final String name;
+	private final boolean offHeap;
+
+	BaseRegion(String name, RegionSettings regionSettings) {
+		this.name = name;
+		this.cache = regionSettings.createStore();
+		this.offHeap = regionSettings.isOffHeap();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null ? cache.containsKey( toStoreKey( key ) ) : false;
+	}
+
+	/**
+	 * Gets the key under which the data for a key is stored; the key itself, unless the region has a more compact
+	 * form for it.
+	 *
+	 * @param key The key
+	 *
+	 * @return The key to store the data under
+	 */
+	Object toStoreKey(Object key) {
+		return key;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		cache.clear();
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return cache.getSizeInBytes();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return cache.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return Collections.unmodifiableMap( cache.toMap() );
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return (int) ( Timestamper.ONE_MS * LOCK_TIMEOUT_MILLIS );
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return cache.getEvictionCount();
+	}
+
+	/**
+	 * Whether the data of this region is kept off-heap.
+	 *
+	 * @return {@code true} if the data is kept off-heap
+	 */
+	boolean isOffHeap() {
+		return offHeap;
+	}
+}
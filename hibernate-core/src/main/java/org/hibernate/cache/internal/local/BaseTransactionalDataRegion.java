@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
+
+/**
+ * @author Strong Liu
+ */
+class BaseTransactionalDataRegion extends BaseGeneralDataRegion implements TransactionalDataRegion {
+	private static final AtomicReferenceFieldUpdater<BaseTransactionalDataRegion, String> OWNER_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater( BaseTransactionalDataRegion.class, String.class, "owner" );
+
+	private final CacheDataDescription metadata;
+
+	/**
+	 * The first entity or collection role whose keys this region was accessed with.
+	 */
+	private volatile String owner;
+
+	BaseTransactionalDataRegion(String name, RegionSettings regionSettings, CacheDataDescription metadata) {
+		super( name, regionSettings );
+		this.metadata = metadata;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Keys of the entity or collection role owning the region, which is the first one to access it, are
+	 * stored as the bare identifier if it is {@link CacheKey#isBasicIdentifier() basic} and there is no tenant:
+	 * these can't be equal to the keys of any other entity, collection role or tenant, stored as {@link CacheKey}.
+	 * Regions are usually owned by a single entity or collection role, which gets its keys stored that way.
+	 */
+	@Override
+	Object toStoreKey(Object key) {
+		if ( key instanceof CacheKey ) {
+			final CacheKey cacheKey = (CacheKey) key;
+			if ( cacheKey.isBasicIdentifier() && cacheKey.getTenantId() == null && isOwner( cacheKey ) ) {
+				return cacheKey.getKey();
+			}
+		}
+		return key;
+	}
+
+	private boolean isOwner(CacheKey cacheKey) {
+		String current = owner;
+		if ( current == null ) {
+			OWNER_UPDATER.compareAndSet( this, null, cacheKey.getEntityOrRoleName() );
+			current = owner;
+		}
+		return current.equals( cacheKey.getEntityOrRoleName() );
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	/**
+	 * Rejects the {@link AccessType#TRANSACTIONAL transactional} access type: the local cache does not take part in
+	 * transactions, so that data changed by transactions rolled back afterwards would remain cached.
+	 *
+	 * @param accessType The requested access type
+	 */
+	void checkAccessType(AccessType accessType) {
+		if ( accessType == AccessType.TRANSACTIONAL ) {
+			throw new CacheException(
+					"Region [" + getName() + "] does not support transactional access: the local cache does not take"
+							+ " part in transactions, use read-write access instead"
+			);
+		}
+	}
+
+}
@@ -0,0 +1,582 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The concurrent map backing the regions of the {@link LocalRegionFactory}, bounded in its number of entries and
+ * optionally expiring entries a given time after they were written.
+ * <p/>
+ * Lookups are served lock-free by a {@link ConcurrentHashMap}; the eviction order is maintained by lock-striped
+ * segments along the lines of W-TinyLFU: new entries enter a small LRU window, and an entry leaving the window is
+ * only admitted to the main (segmented LRU) space if it was accessed more often than the entry it would displace.
+ * Access frequencies are estimated by a count-min sketch of 4-bit counters which is periodically halved, so that
+ * entries which were popular long ago do not stay forever.  Reads record their access only if the lock of their
+ * segment is free; under contention some accesses are not recorded, which merely makes the eviction order a little
+ * less accurate.
+ * <p/>
+ * Entries can be {@link #putPinned pinned}, in which case they are never evicted to make room for other entries and
+ * are only removed when replaced, removed or once their own time to live has elapsed.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class BoundedLocalCache<K, V> implements RegionStore<K, V> {
+	private static final int MINIMUM_SEGMENT_CAPACITY = 32;
+	private static final int WINDOW_PERCENTAGE = 1;
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+	private final ConcurrentHashMap<Object, Node<K, V>> data;
+	private final Segment<K, V>[] segments;
+	private final int segmentMask;
+	private final long timeToLiveNanos;
+
+	/**
+	 * Constructs a BoundedLocalCache
+	 *
+	 * @param maximumSize The maximum number of entries, not counting pinned entries; {@code 0} or less for no bound
+	 * @param timeToLiveMillis The time after which entries expire; {@code 0} or less for no expiration
+	 * @param concurrencyLevel The estimated number of concurrently updating threads
+	 */
+	@SuppressWarnings("unchecked")
+	public BoundedLocalCache(int maximumSize, long timeToLiveMillis, int concurrencyLevel) {
+		int segmentCount = 1;
+		while ( segmentCount < concurrencyLevel
+				&& ( maximumSize <= 0 || (long) segmentCount * 2 * MINIMUM_SEGMENT_CAPACITY <= maximumSize ) ) {
+			segmentCount <<= 1;
+		}
+		this.segments = new Segment[segmentCount];
+		this.segmentMask = segmentCount - 1;
+		for ( int i = 0; i < segmentCount; i++ ) {
+			this.segments[i] = new Segment<K, V>(
+					maximumSize <= 0 ? 0 : ( maximumSize + segmentCount - 1 ) / segmentCount
+			);
+		}
+		this.data = new ConcurrentHashMap<Object, Node<K, V>>( 16, 0.75f, segmentCount );
+		this.timeToLiveNanos = timeToLiveMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos( timeToLiveMillis );
+	}
+
+	private static int spread(int hashCode) {
+		int hash = ( ( hashCode >>> 16 ) ^ hashCode ) * 0x45d9f3b;
+		return ( hash >>> 16 ) ^ hash;
+	}
+
+	private Segment<K, V> segmentFor(int hash) {
+		return segments[hash & segmentMask];
+	}
+
+	/**
+	 * Returns the value of the given key, unless missing or expired.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, or {@code null}
+	 */
+	public V get(Object key) {
+		final int hash = spread( key.hashCode() );
+		final Node<K, V> node = data.get( key );
+		final Segment<K, V> segment = segmentFor( hash );
+		if ( node == null ) {
+			segment.recordMiss( hash );
+			return null;
+		}
+		if ( node.isExpired( System.nanoTime() ) ) {
+			segment.remove( data, node );
+			return null;
+		}
+		segment.recordHit( node );
+		return node.value;
+	}
+
+	/**
+	 * Does the cache hold an unexpired value for the given key?  Unlike {@link #get} this does not count as an access
+	 * of the entry.
+	 *
+	 * @param key The key
+	 *
+	 * @return {@code true} if the key is mapped
+	 */
+	public boolean containsKey(Object key) {
+		final Node<K, V> node = data.get( key );
+		return node != null && !node.isExpired( System.nanoTime() );
+	}
+
+	/**
+	 * Maps the given key to the given value, possibly evicting other entries.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 */
+	public void put(K key, V value) {
+		put( key, value, false, timeToLiveNanos );
+	}
+
+	/**
+	 * Maps the given key to the given value as a pinned entry, which is not evicted to make room for other entries.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 * @param timeToLiveMillis The time after which the entry expires
+	 */
+	public void putPinned(K key, V value, long timeToLiveMillis) {
+		put( key, value, true, TimeUnit.MILLISECONDS.toNanos( Math.max( 1L, timeToLiveMillis ) ) );
+	}
+
+	private void put(K key, V value, boolean pinned, long timeToLiveNanos) {
+		final int hash = spread( key.hashCode() );
+		final Segment<K, V> segment = segmentFor( hash );
+		final long expirationTime = timeToLiveNanos > 0 ? System.nanoTime() + timeToLiveNanos : 0;
+		segment.lock();
+		try {
+			final Node<K, V> node = data.get( key );
+			if ( node != null ) {
+				node.expirationTime = expirationTime;
+				node.expiring = timeToLiveNanos > 0;
+				node.pinned = pinned;
+				node.value = value;
+				segment.onAccess( node );
+			}
+			else {
+				final Node<K, V> newNode = new Node<K, V>( key, hash, value );
+				newNode.expirationTime = expirationTime;
+				newNode.expiring = timeToLiveNanos > 0;
+				newNode.pinned = pinned;
+				data.put( key, newNode );
+				segment.onInsert( data, newNode );
+			}
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Removes the mapping of the given key.
+	 *
+	 * @param key The key
+	 */
+	public void remove(Object key) {
+		final Segment<K, V> segment = segmentFor( spread( key.hashCode() ) );
+		segment.lock();
+		try {
+			final Node<K, V> node = data.remove( key );
+			if ( node != null ) {
+				segment.unlink( node );
+			}
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Removes all mappings.  The access frequencies are kept.
+	 */
+	public void clear() {
+		for ( Segment<K, V> segment : segments ) {
+			segment.clear( data );
+		}
+	}
+
+	/**
+	 * The number of entries, including expired entries which were not removed yet.
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		return data.size();
+	}
+
+	/**
+	 * The number of entries which were evicted to make room for others, or because they expired, since the cache was
+	 * created.
+	 *
+	 * @return The number of evictions
+	 */
+	public long getEvictionCount() {
+		long count = 0;
+		for ( Segment<K, V> segment : segments ) {
+			count += segment.evictionCount;
+		}
+		return count;
+	}
+
+	/**
+	 * The size of the entries is not tracked, as they are ordinary objects of the heap.
+	 *
+	 * @return {@code -1}
+	 */
+	public long getSizeInBytes() {
+		return -1;
+	}
+
+	/**
+	 * A snapshot of the unexpired mappings.
+	 *
+	 * @return The mappings
+	 */
+	public Map<K, V> toMap() {
+		final long now = System.nanoTime();
+		final Map<K, V> map = new HashMap<K, V>();
+		for ( Node<K, V> node : data.values() ) {
+			if ( !node.isExpired( now ) ) {
+				map.put( node.key, node.value );
+			}
+		}
+		return map;
+	}
+
+	private static final class Node<K, V> {
+		private static final int WINDOW = 0;
+		private static final int PROBATION = 1;
+		private static final int PROTECTED = 2;
+		private static final int REMOVED = 3;
+
+		private final K key;
+		private final int hash;
+		private volatile V value;
+		private volatile long expirationTime;
+		private volatile boolean expiring;
+
+		// guarded by the segment lock
+		private boolean pinned;
+		private int queue = WINDOW;
+		private Node<K, V> previous;
+		private Node<K, V> next;
+
+		private Node(K key, int hash, V value) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+		}
+
+		private boolean isExpired(long now) {
+			return expiring && now - expirationTime >= 0;
+		}
+	}
+
+	/**
+	 * A doubly-linked list of nodes in access order, most recently used first.
+	 */
+	private static final class AccessOrderQueue<K, V> {
+		private final Node<K, V> header = new Node<K, V>( null, 0, null );
+		private int size;
+
+		private AccessOrderQueue() {
+			header.previous = header;
+			header.next = header;
+		}
+
+		private void addFirst(Node<K, V> node) {
+			node.next = header.next;
+			node.previous = header;
+			header.next.previous = node;
+			header.next = node;
+			size++;
+		}
+
+		private void remove(Node<K, V> node) {
+			node.previous.next = node.next;
+			node.next.previous = node.previous;
+			node.previous = null;
+			node.next = null;
+			size--;
+		}
+
+		private void moveToFirst(Node<K, V> node) {
+			remove( node );
+			addFirst( node );
+		}
+
+		private Node<K, V> last() {
+			return header.previous == header ? null : header.previous;
+		}
+
+		private void clear() {
+			header.previous = header;
+			header.next = header;
+			size = 0;
+		}
+	}
+
+	private static final class Segment<K, V> extends ReentrantLock {
+		private final boolean bounded;
+		private final int windowCapacity;
+		private final int mainCapacity;
+		private final int protectedCapacity;
+		private final FrequencySketch sketch;
+
+		private final AccessOrderQueue<K, V> window = new AccessOrderQueue<K, V>();
+		private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<K, V>();
+		private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<K, V>();
+
+		private volatile long evictionCount;
+
+		private Segment(int capacity) {
+			this.bounded = capacity > 0;
+			this.windowCapacity = Math.max( 1, capacity * WINDOW_PERCENTAGE / 100 );
+			this.mainCapacity = Math.max( 0, capacity - windowCapacity );
+			this.protectedCapacity = (int) ( (long) mainCapacity * PROTECTED_PERCENTAGE / 100 );
+			this.sketch = bounded ? new FrequencySketch( capacity ) : null;
+		}
+
+		private void recordMiss(int hash) {
+			if ( bounded && tryLock() ) {
+				try {
+					sketch.increment( hash );
+				}
+				finally {
+					unlock();
+				}
+			}
+		}
+
+		private void recordHit(Node<K, V> node) {
+			if ( bounded && tryLock() ) {
+				try {
+					onAccess( node );
+				}
+				finally {
+					unlock();
+				}
+			}
+		}
+
+		private void onAccess(Node<K, V> node) {
+			if ( !bounded ) {
+				return;
+			}
+			sketch.increment( node.hash );
+			switch ( node.queue ) {
+				case Node.WINDOW:
+					window.moveToFirst( node );
+					break;
+				case Node.PROBATION:
+					// a second access promotes the entry to the protected space, demoting the least recently used
+					// protected entries
+					probation.remove( node );
+					node.queue = Node.PROTECTED;
+					protectedQueue.addFirst( node );
+					while ( protectedQueue.size > protectedCapacity ) {
+						final Node<K, V> demoted = protectedQueue.last();
+						protectedQueue.remove( demoted );
+						demoted.queue = Node.PROBATION;
+						probation.addFirst( demoted );
+					}
+					break;
+				case Node.PROTECTED:
+					protectedQueue.moveToFirst( node );
+					break;
+				default:
+					// removed concurrently
+			}
+		}
+
+		private void onInsert(ConcurrentHashMap<Object, Node<K, V>> data, Node<K, V> node) {
+			node.queue = Node.WINDOW;
+			window.addFirst( node );
+			if ( bounded ) {
+				sketch.increment( node.hash );
+				evict( data );
+			}
+		}
+
+		private void evict(ConcurrentHashMap<Object, Node<K, V>> data) {
+			final long now = System.nanoTime();
+			while ( window.size > windowCapacity ) {
+				final Node<K, V> candidate = window.last();
+				window.remove( candidate );
+				candidate.queue = Node.REMOVED;
+				if ( probation.size + protectedQueue.size < mainCapacity ) {
+					admit( candidate );
+					continue;
+				}
+
+				final Node<K, V> victim = findVictim( now );
+				if ( victim == null ) {
+					// the main space holds pinned entries only
+					if ( candidate.pinned && !candidate.isExpired( now ) ) {
+						admit( candidate );
+					}
+					else {
+						evict( data, candidate );
+					}
+				}
+				else if ( ( candidate.pinned && !candidate.isExpired( now ) )
+						|| victim.isExpired( now )
+						|| ( !candidate.isExpired( now ) && sketch.frequency( candidate.hash ) > sketch.frequency( victim.hash ) ) ) {
+					evict( data, victim );
+					admit( candidate );
+				}
+				else {
+					evict( data, candidate );
+				}
+			}
+		}
+
+		private void admit(Node<K, V> node) {
+			node.queue = Node.PROBATION;
+			probation.addFirst( node );
+		}
+
+		/**
+		 * Finds the least recently used evictable entry of the main space, moving the pinned entries passed over to
+		 * the front of their queue so that they are not examined again by the next eviction.
+		 */
+		private Node<K, V> findVictim(long now) {
+			final Node<K, V> victim = findVictim( probation, now );
+			return victim != null ? victim : findVictim( protectedQueue, now );
+		}
+
+		private Node<K, V> findVictim(AccessOrderQueue<K, V> queue, long now) {
+			for ( int remaining = queue.size; remaining > 0; remaining-- ) {
+				final Node<K, V> node = queue.last();
+				if ( !node.pinned || node.isExpired( now ) ) {
+					return node;
+				}
+				queue.moveToFirst( node );
+			}
+			return null;
+		}
+
+		private void evict(ConcurrentHashMap<Object, Node<K, V>> data, Node<K, V> node) {
+			if ( node.queue != Node.REMOVED ) {
+				unlink( node );
+			}
+			data.remove( node.key, node );
+			evictionCount++;
+		}
+
+		private void remove(ConcurrentHashMap<Object, Node<K, V>> data, Node<K, V> node) {
+			lock();
+			try {
+				if ( node.queue != Node.REMOVED && data.remove( node.key, node ) ) {
+					unlink( node );
+					evictionCount++;
+				}
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void unlink(Node<K, V> node) {
+			switch ( node.queue ) {
+				case Node.WINDOW:
+					window.remove( node );
+					break;
+				case Node.PROBATION:
+					probation.remove( node );
+					break;
+				case Node.PROTECTED:
+					protectedQueue.remove( node );
+					break;
+				default:
+					return;
+			}
+			node.queue = Node.REMOVED;
+		}
+
+		private void clear(ConcurrentHashMap<Object, Node<K, V>> data) {
+			lock();
+			try {
+				clear( data, window );
+				clear( data, probation );
+				clear( data, protectedQueue );
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void clear(ConcurrentHashMap<Object, Node<K, V>> data, AccessOrderQueue<K, V> queue) {
+			for ( Node<K, V> node = queue.last(); node != null; node = queue.last() ) {
+				queue.remove( node );
+				node.queue = Node.REMOVED;
+				data.remove( node.key, node );
+			}
+			queue.clear();
+		}
+	}
+
+	/**
+	 * Estimates the access frequency of keys by a count-min sketch of four 4-bit counters per key, sixteen of which
+	 * are packed in a long.  All counters are halved once the number of increments reaches ten times the table size.
+	 */
+	static final class FrequencySketch {
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+		private static final int MAXIMUM_TABLE_SIZE = 1 << 16;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int size;
+
+		FrequencySketch(int capacity) {
+			int tableSize = 8;
+			while ( tableSize < capacity && tableSize < MAXIMUM_TABLE_SIZE ) {
+				tableSize <<= 1;
+			}
+			this.table = new long[tableSize];
+			this.tableMask = tableSize - 1;
+			this.sampleSize = 10 * tableSize;
+		}
+
+		int frequency(int hash) {
+			final int start = ( hash & 3 ) << 2;
+			int frequency = Integer.MAX_VALUE;
+			for ( int i = 0; i < 4; i++ ) {
+				final int index = indexOf( hash, i );
+				final int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+				frequency = Math.min( frequency, count );
+			}
+			return frequency;
+		}
+
+		void increment(int hash) {
+			final int start = ( hash & 3 ) << 2;
+			boolean added = false;
+			for ( int i = 0; i < 4; i++ ) {
+				added |= incrementAt( indexOf( hash, i ), start + i );
+			}
+			if ( added && ++size >= sampleSize ) {
+				reset();
+			}
+		}
+
+		private boolean incrementAt(int index, int counter) {
+			final int offset = counter << 2;
+			final long mask = 0xfL << offset;
+			if ( ( table[index] & mask ) != mask ) {
+				table[index] += 1L << offset;
+				return true;
+			}
+			return false;
+		}
+
+		private int indexOf(int hash, int i) {
+			long h = ( hash + SEEDS[i] ) * SEEDS[i];
+			h += h >>> 32;
+			return ( (int) h ) & tableMask;
+		}
+
+		private void reset() {
+			for ( int i = 0; i < table.length; i++ ) {
+				table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+			}
+			size >>>= 1;
+		}
+	}
+}
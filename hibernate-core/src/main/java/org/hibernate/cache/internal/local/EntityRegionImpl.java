@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+
+import org.jboss.logging.Logger;
+
+/**
+ * @author Strong Liu
+ */
+class EntityRegionImpl extends BaseTransactionalDataRegion implements EntityRegion {
+	private static final Logger LOG = Logger.getLogger( EntityRegionImpl.class );
+
+
+	private final SessionFactoryOptions settings;
+
+	EntityRegionImpl(
+			String name,
+			RegionSettings regionSettings,
+			CacheDataDescription metadata,
+			SessionFactoryOptions settings) {
+		super( name, regionSettings, metadata );
+		this.settings = settings;
+
+	}
+
+	public SessionFactoryOptions getSettings() {
+		return settings;
+	}
+
+	@Override
+	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		checkAccessType( accessType );
+		if ( isOffHeap() && accessType == AccessType.READ_WRITE ) {
+			throw new CacheException(
+					"Off-heap region [" + getName() + "] does not support " + accessType.getExternalName() + " access"
+			);
+		}
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( getCacheDataDescription().isMutable() ) {
+					LOG.warnf( "read-only cache configured for mutable entity [ %s ]", getName() );
+				}
+				return new ReadOnlyEntityRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteEntityRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonstrictReadWriteEntityRegionAccessStrategy( this );
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Properties;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+
+/**
+ * A {@link RegionFactory} keeping the cached data in the heap of the local JVM, for applications running on a single
+ * node which want a second-level cache without depending on a caching provider.
+ * <p/>
+ * Each region is a {@link BoundedLocalCache}, bounded by {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_MAX_ENTRIES}
+ * and optionally expiring entries after {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_TIME_TO_LIVE}; both
+ * settings can be overridden per region.  The {@link AccessType#TRANSACTIONAL transactional} access type is not
+ * supported, as the cache does not take part in transactions.
+ * <p/>
+ * The entity and natural id regions can instead keep their entries off the Java heap, see
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_OFF_HEAP}; such regions only support the
+ * {@link AccessType#READ_ONLY read-only} and {@link AccessType#NONSTRICT_READ_WRITE nonstrict-read-write} access types.
+ * As natural id regions are built with the read-write default access type, they can only be kept off-heap for
+ * immutable entities.
+ * <p/>
+ * Selected by setting {@link org.hibernate.cfg.AvailableSettings#CACHE_REGION_FACTORY} to {@value #SHORT_NAME}.
+ */
+public class LocalRegionFactory implements RegionFactory {
+	/**
+	 * The short name of this RegionFactory.
+	 */
+	public static final String SHORT_NAME = "local";
+
+	private SessionFactoryOptions settings;
+	private Properties properties;
+
+	/**
+	 * Constructs a LocalRegionFactory
+	 */
+	public LocalRegionFactory() {
+	}
+
+	/**
+	 * Constructs a LocalRegionFactory
+	 *
+	 * @param properties The configuration properties
+	 */
+	public LocalRegionFactory(Properties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void start(SessionFactoryOptions settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		this.properties = properties;
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		return false;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new EntityRegionImpl( regionName, resolveSettings( regionName, properties ), metadata, settings );
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new NaturalIdRegionImpl( regionName, resolveSettings( regionName, properties ), metadata, settings );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(
+			String regionName,
+			Properties properties,
+			CacheDataDescription metadata)
+			throws CacheException {
+		return new CollectionRegionImpl(
+				regionName,
+				resolveSettings( regionName, properties ).onHeap(),
+				metadata,
+				settings
+		);
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new QueryResultsRegionImpl( regionName, resolveSettings( regionName, properties ).onHeap() );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		// evicting the timestamp of a table would make the query results cached before its last update valid again
+		return new TimestampsRegionImpl( regionName, RegionSettings.UNBOUNDED );
+	}
+
+	private RegionSettings resolveSettings(String regionName, Properties properties) {
+		return RegionSettings.resolve( regionName, properties != null ? properties : this.properties );
+	}
+
+	private static class QueryResultsRegionImpl extends BaseGeneralDataRegion implements QueryResultsRegion {
+		QueryResultsRegionImpl(String name, RegionSettings regionSettings) {
+			super( name, regionSettings );
+		}
+	}
+
+	private static class TimestampsRegionImpl extends BaseGeneralDataRegion implements TimestampsRegion {
+		TimestampsRegionImpl(String name, RegionSettings regionSettings) {
+			super( name, regionSettings );
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+
+import org.jboss.logging.Logger;
+
+/**
+ * @author Eric Dalquist
+ */
+class NaturalIdRegionImpl extends BaseTransactionalDataRegion implements NaturalIdRegion {
+	private static final Logger LOG = Logger.getLogger( NaturalIdRegionImpl.class.getName() );
+
+	private final SessionFactoryOptions settings;
+
+	NaturalIdRegionImpl(
+			String name,
+			RegionSettings regionSettings,
+			CacheDataDescription metadata,
+			SessionFactoryOptions settings) {
+		super( name, regionSettings, metadata );
+		this.settings = settings;
+	}
+
+	public SessionFactoryOptions getSettings() {
+		return settings;
+	}
+
+	@Override
+	public NaturalIdRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		checkAccessType( accessType );
+		if ( isOffHeap() && accessType == AccessType.READ_WRITE ) {
+			// natural id regions are always built with the default access type of the factory, which is read-write:
+			// nonstrict-read-write access is as consistent for immutable entities, which are never updated
+			if ( getCacheDataDescription().isMutable() ) {
+				throw new CacheException(
+						"Off-heap natural id region [" + getName() + "] does not support read-write access, which is"
+								+ " required for mutable entities: keep the region on the heap"
+				);
+			}
+			LOG.debugf( "Using nonstrict-read-write access for off-heap region [%s] of immutable entities", getName() );
+			accessType = AccessType.NONSTRICT_READ_WRITE;
+		}
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( getCacheDataDescription().isMutable() ) {
+					LOG.warnf( "read-only cache configured for mutable collection [ %s ]", getName() );
+				}
+				return new ReadOnlyNaturalIdRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteNaturalIdRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonstrictReadWriteNaturalIdRegionAccessStrategy( this );
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+
+
+}
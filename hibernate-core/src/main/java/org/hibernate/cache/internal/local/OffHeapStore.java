@@ -0,0 +1,349 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryCodec;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link RegionStore} keeping the values off the Java heap, in slabs of direct memory, encoded by the
+ * {@link CacheEntryCodec}; only the keys and a small descriptor of each entry stay on the heap.
+ * <p/>
+ * The slabs are filled one after the other, like a log: an updated value is appended and its former bytes become
+ * garbage.  Once all the slabs are allocated and full, the oldest one is reclaimed: its entries are dropped, except
+ * the ones read since they were written, which are written again at its start as long as they fit in half of it.
+ * Hence there is neither fragmentation nor allocation per entry, at the price of an eviction order which is only
+ * roughly the least recently used one.
+ * <p/>
+ * Writes are serialized; reads only take the read lock of the slab they copy from, so that it cannot be reclaimed
+ * meanwhile.  Pinned entries are not supported, which rules out the read-write access strategies.
+ */
+class OffHeapStore implements RegionStore<Object, Object> {
+	private static final Logger LOG = Logger.getLogger( OffHeapStore.class );
+
+	private static final int MIN_SLAB_SIZE = 64 * 1024;
+	private static final int MAX_SLAB_SIZE = 8 * 1024 * 1024;
+	private static final int TARGET_SLAB_COUNT = 16;
+
+	private static final byte RAW = 0;
+	private static final byte ENTITY_ENTRY = 1;
+	private static final byte VALUE = 2;
+
+	private final ConcurrentHashMap<Object, Entry> index = new ConcurrentHashMap<Object, Entry>();
+	private final Slab[] slabs;
+	private final int slabSize;
+	private final long timeToLiveNanos;
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	// guarded by this
+	private int slabCount;
+	private int current;
+
+	/**
+	 * Constructs an OffHeapStore
+	 *
+	 * @param maximumBytes The maximum amount of direct memory to use
+	 * @param timeToLiveMillis The time after which entries expire; {@code 0} or less for no expiration
+	 */
+	OffHeapStore(long maximumBytes, long timeToLiveMillis) {
+		this.slabSize = (int) Math.max(
+				Math.min( maximumBytes, MIN_SLAB_SIZE ),
+				Math.min( maximumBytes / TARGET_SLAB_COUNT, MAX_SLAB_SIZE )
+		);
+		this.slabs = new Slab[(int) Math.max( 1, maximumBytes / slabSize )];
+		this.timeToLiveNanos = timeToLiveMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos( timeToLiveMillis );
+	}
+
+	@Override
+	public Object get(Object key) {
+		// a second attempt covers an entry moved while its slab was reclaimed
+		for ( int attempt = 0; attempt < 2; attempt++ ) {
+			final Entry entry = index.get( key );
+			if ( entry == null ) {
+				return null;
+			}
+			if ( entry.isExpired( System.nanoTime() ) ) {
+				expire( entry );
+				return null;
+			}
+			final byte[] bytes = entry.slab.read( entry );
+			if ( bytes != null ) {
+				entry.accessed = true;
+				return decode( entry.type, bytes );
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		final Entry entry = index.get( key );
+		return entry != null && !entry.isExpired( System.nanoTime() );
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		final byte type;
+		final byte[] bytes;
+		if ( value instanceof byte[] ) {
+			type = RAW;
+			bytes = (byte[]) value;
+		}
+		else if ( value instanceof CacheEntry ) {
+			if ( ( (CacheEntry) value ).isReferenceEntry() ) {
+				LOG.debugf( "Not caching reference entry [%s] off-heap", key );
+				index.remove( key );
+				return;
+			}
+			type = ENTITY_ENTRY;
+			bytes = CacheEntryCodec.encode( (CacheEntry) value );
+		}
+		else {
+			type = VALUE;
+			bytes = CacheEntryCodec.encodeValue( value );
+		}
+
+		if ( bytes.length > slabSize ) {
+			LOG.debugf( "Not caching entry [%s] of %s bytes, larger than the slabs", key, bytes.length );
+			index.remove( key );
+			return;
+		}
+
+		final long expirationTime = timeToLiveNanos == 0 ? 0 : System.nanoTime() + timeToLiveNanos;
+		synchronized ( this ) {
+			index.put( key, append( key, type, bytes, expirationTime ) );
+		}
+	}
+
+	@Override
+	public void putPinned(Object key, Object value, long timeToLiveMillis) {
+		throw new UnsupportedOperationException( "Soft locks cannot be kept off-heap" );
+	}
+
+	@Override
+	public void remove(Object key) {
+		index.remove( key );
+	}
+
+	@Override
+	public synchronized void clear() {
+		index.clear();
+		for ( int i = 0; i < slabCount; i++ ) {
+			slabs[i].invalidate();
+			// let the direct memory be reclaimed
+			slabs[i] = null;
+		}
+		slabCount = 0;
+		current = 0;
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/**
+	 * The amount of direct memory allocated so far.
+	 *
+	 * @return The number of bytes
+	 */
+	@Override
+	public synchronized long getSizeInBytes() {
+		return (long) slabCount * slabSize;
+	}
+
+	@Override
+	public Map<Object, Object> toMap() {
+		final long now = System.nanoTime();
+		final Map<Object, Object> map = new HashMap<Object, Object>();
+		for ( Entry entry : index.values() ) {
+			if ( !entry.isExpired( now ) ) {
+				final byte[] bytes = entry.slab.read( entry );
+				if ( bytes != null ) {
+					map.put( entry.key, decode( entry.type, bytes ) );
+				}
+			}
+		}
+		return map;
+	}
+
+	private void expire(Entry entry) {
+		if ( index.remove( entry.key, entry ) ) {
+			evictionCount.incrementAndGet();
+		}
+	}
+
+	private static Object decode(byte type, byte[] bytes) {
+		switch ( type ) {
+			case RAW:
+				return bytes;
+			case ENTITY_ENTRY:
+				return CacheEntryCodec.decodeEntityEntry( bytes );
+			default:
+				return CacheEntryCodec.decodeValue( bytes );
+		}
+	}
+
+	// guarded by this
+	private Entry append(Object key, byte type, byte[] bytes, long expirationTime) {
+		Slab slab = slabCount == 0 ? nextSlab() : slabs[current];
+		while ( slab.position + bytes.length > slabSize ) {
+			slab = nextSlab();
+		}
+		return slab.append( key, type, bytes, expirationTime );
+	}
+
+	// guarded by this
+	private Slab nextSlab() {
+		if ( slabCount < slabs.length ) {
+			current = slabCount;
+			slabs[slabCount++] = new Slab( ByteBuffer.allocateDirect( slabSize ) );
+			return slabs[current];
+		}
+		current = ( current + 1 ) % slabs.length;
+		reclaim( slabs[current] );
+		return slabs[current];
+	}
+
+	// guarded by this
+	private void reclaim(Slab slab) {
+		final long now = System.nanoTime();
+		final List<Entry> survivors = new ArrayList<Entry>();
+		final List<byte[]> survivorBytes = new ArrayList<byte[]>();
+		int keptBytes = 0;
+		for ( Entry entry : slab.entries ) {
+			if ( index.get( entry.key ) != entry ) {
+				// replaced or removed since
+				continue;
+			}
+			if ( entry.accessed && !entry.isExpired( now ) && keptBytes + entry.length <= slabSize / 2 ) {
+				survivors.add( entry );
+				survivorBytes.add( slab.copy( entry ) );
+				keptBytes += entry.length;
+			}
+			else if ( index.remove( entry.key, entry ) ) {
+				evictionCount.incrementAndGet();
+			}
+		}
+
+		slab.invalidate();
+
+		for ( int i = 0; i < survivors.size(); i++ ) {
+			final Entry survivor = survivors.get( i );
+			index.replace(
+					survivor.key,
+					survivor,
+					slab.append( survivor.key, survivor.type, survivorBytes.get( i ), survivor.expirationTime )
+			);
+		}
+	}
+
+	private static final class Slab {
+		private final ByteBuffer buffer;
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		// guarded by the store
+		private final List<Entry> entries = new ArrayList<Entry>();
+		private int position;
+
+		// written under the write lock
+		private volatile int generation;
+
+		private Slab(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		private Entry append(Object key, byte type, byte[] bytes, long expirationTime) {
+			final ByteBuffer view = buffer.duplicate();
+			view.position( position );
+			view.put( bytes );
+			final Entry entry = new Entry( key, type, this, generation, position, bytes.length, expirationTime );
+			entries.add( entry );
+			position += bytes.length;
+			return entry;
+		}
+
+		private byte[] read(Entry entry) {
+			lock.readLock().lock();
+			try {
+				return generation == entry.generation ? copy( entry ) : null;
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		private byte[] copy(Entry entry) {
+			final byte[] bytes = new byte[entry.length];
+			final ByteBuffer view = buffer.duplicate();
+			view.position( entry.offset );
+			view.get( bytes );
+			return bytes;
+		}
+
+		private void invalidate() {
+			lock.writeLock().lock();
+			try {
+				generation++;
+			}
+			finally {
+				lock.writeLock().unlock();
+			}
+			entries.clear();
+			position = 0;
+		}
+	}
+
+	private static final class Entry {
+		private final Object key;
+		private final byte type;
+		private final Slab slab;
+		private final int generation;
+		private final int offset;
+		private final int length;
+		private final long expirationTime;
+		private volatile boolean accessed;
+
+		private Entry(
+				Object key,
+				byte type,
+				Slab slab,
+				int generation,
+				int offset,
+				int length,
+				long expirationTime) {
+			this.key = key;
+			this.type = type;
+			this.slab = slab;
+			this.generation = generation;
+			this.offset = offset;
+			this.length = length;
+			this.expirationTime = expirationTime;
+		}
+
+		private boolean isExpired(long now) {
+			return expirationTime != 0 && now - expirationTime >= 0;
+		}
+	}
+}
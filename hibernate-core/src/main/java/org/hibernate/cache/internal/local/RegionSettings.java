@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * The bounds of a region of the {@link LocalRegionFactory}.
+ */
+class RegionSettings {
+	static final int DEFAULT_MAX_ENTRIES = 10000;
+	static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	static final int DEFAULT_OFF_HEAP_MAX_SIZE = 64;
+
+	/**
+	 * The settings of regions which are never evicted.
+	 */
+	static final RegionSettings UNBOUNDED = new RegionSettings( 0, 0, false, 0 );
+
+	private final int maxEntries;
+	private final long timeToLiveMillis;
+	private final boolean offHeap;
+	private final long offHeapMaxBytes;
+
+	private RegionSettings(int maxEntries, long timeToLiveMillis, boolean offHeap, long offHeapMaxBytes) {
+		this.maxEntries = maxEntries;
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.offHeap = offHeap;
+		this.offHeapMaxBytes = offHeapMaxBytes;
+	}
+
+	/**
+	 * Resolves the settings of a region from the given properties, where settings suffixed with the name of the region
+	 * take precedence over the general ones.
+	 *
+	 * @param regionName The region name
+	 * @param properties The configuration properties
+	 *
+	 * @return The settings of the region
+	 */
+	static RegionSettings resolve(String regionName, Properties properties) {
+		if ( properties == null ) {
+			return new RegionSettings( DEFAULT_MAX_ENTRIES, 0, false, 0 );
+		}
+		final int maxEntries = ConfigurationHelper.getInt(
+				AvailableSettings.CACHE_LOCAL_MAX_ENTRIES + '.' + regionName,
+				properties,
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_LOCAL_MAX_ENTRIES, properties, DEFAULT_MAX_ENTRIES )
+		);
+		final int timeToLiveSeconds = ConfigurationHelper.getInt(
+				AvailableSettings.CACHE_LOCAL_TIME_TO_LIVE + '.' + regionName,
+				properties,
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_LOCAL_TIME_TO_LIVE, properties, 0 )
+		);
+		final boolean offHeap = ConfigurationHelper.getBoolean(
+				AvailableSettings.CACHE_LOCAL_OFF_HEAP + '.' + regionName,
+				properties,
+				ConfigurationHelper.getBoolean( AvailableSettings.CACHE_LOCAL_OFF_HEAP, properties, false )
+		);
+		final int offHeapMaxSize = ConfigurationHelper.getInt(
+				AvailableSettings.CACHE_LOCAL_OFF_HEAP_MAX_SIZE + '.' + regionName,
+				properties,
+				ConfigurationHelper.getInt( AvailableSettings.CACHE_LOCAL_OFF_HEAP_MAX_SIZE, properties, DEFAULT_OFF_HEAP_MAX_SIZE )
+		);
+		return new RegionSettings(
+				maxEntries,
+				TimeUnit.SECONDS.toMillis( timeToLiveSeconds ),
+				offHeap,
+				Math.max( 1, offHeapMaxSize ) * 1024L * 1024L
+		);
+	}
+
+	/**
+	 * The same settings, keeping the data on the heap, for the regions which cannot be stored off-heap.
+	 *
+	 * @return The settings
+	 */
+	RegionSettings onHeap() {
+		return offHeap ? new RegionSettings( maxEntries, timeToLiveMillis, false, 0 ) : this;
+	}
+
+	/**
+	 * Creates the store of a region.
+	 *
+	 * @return The store
+	 */
+	RegionStore<Object, Object> createStore() {
+		if ( offHeap ) {
+			return new OffHeapStore( offHeapMaxBytes, timeToLiveMillis );
+		}
+		return new BoundedLocalCache<Object, Object>( maxEntries, timeToLiveMillis, DEFAULT_CONCURRENCY_LEVEL );
+	}
+
+	boolean isOffHeap() {
+		return offHeap;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Map;
+
+/**
+ * The storage of the data of a region of the {@link LocalRegionFactory}.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+interface RegionStore<K, V> {
+	/**
+	 * Gets the value mapped to a key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, or {@code null} if the key is not mapped or its entry expired
+	 */
+	V get(Object key);
+
+	/**
+	 * Checks whether a key is mapped.
+	 *
+	 * @param key The key
+	 *
+	 * @return {@code true} if the key is mapped to a value which did not expire
+	 */
+	boolean containsKey(Object key);
+
+	/**
+	 * Maps a key to a value, possibly evicting other entries.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 */
+	void put(K key, V value);
+
+	/**
+	 * Maps a key to a value which is never evicted to make room for others, but expires after the given time.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 * @param timeToLiveMillis The time after which the entry expires, in milliseconds
+	 */
+	void putPinned(K key, V value, long timeToLiveMillis);
+
+	/**
+	 * Removes the mapping of a key.
+	 *
+	 * @param key The key
+	 */
+	void remove(Object key);
+
+	/**
+	 * Removes all the mappings.
+	 */
+	void clear();
+
+	/**
+	 * The number of entries.
+	 *
+	 * @return The number of entries
+	 */
+	int size();
+
+	/**
+	 * The number of entries evicted to make room for others, or because they expired.
+	 *
+	 * @return The number of evictions
+	 */
+	long getEvictionCount();
+
+	/**
+	 * The number of bytes used by the entries.
+	 *
+	 * @return The number of bytes, or {@code -1} if not tracked
+	 */
+	long getSizeInBytes();
+
+	/**
+	 * Copies the entries which did not expire into a map.
+	 *
+	 * @return The entries
+	 */
+	Map<K, V> toMap();
+}
@@ -0,0 +1,12 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+
+/**
+ * A second-level cache keeping its regions in bounded maps in the local JVM heap, or, for large read-mostly
+ * entity and natural id regions, in direct memory.
+ */
+package org.hibernate.cache.internal.local;
@@ -7,14 +7,22 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.UUID;
 
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.compare.EqualsHelper;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.Type;
 
 /**
  * Allows multiple entity classes / collection roles to be stored in the same cache region. Also allows for composite
  * keys which do not properly implement equals()/hashCode().
+ * <p/>
+ * Identifiers of a single-column basic type whose Java class is known to implement equals()/hashCode() properly
+ * ({@link Long}, {@link Integer}, {@link Short}, {@link String} or {@link UUID}) are compared and hashed directly,
+ * rather than through their {@link Type}; see {@link #isBasicIdentifier()}.  The reference to the type is then not
+ * kept, which shortens the serialized form of the key; the key itself keeps the same fields, and a new key is still
+ * built for every lookup.
  *
  * @author Gavin King
  * @author Steve Ebersole
@@ -44,14 +52,27 @@ public class CacheKey implements Serializable {
 			final String tenantId,
 			final SessionFactoryImplementor factory) {
 		this.key = id;
-		this.type = type;
+		this.type = hasBasicEquality( type ) ? null : type;
 		this.entityOrRoleName = entityOrRoleName;
 		this.tenantId = tenantId;
 		this.hashCode = calculateHashCode( type, factory );
 	}
 
+	private static boolean hasBasicEquality(Type type) {
+		if ( !( type instanceof AbstractStandardBasicType ) ) {
+			return false;
+		}
+		final Class returnedClass = type.getReturnedClass();
+		return returnedClass == Long.class
+				|| returnedClass == Integer.class
+				|| returnedClass == Short.class
+				|| returnedClass == String.class
+				|| returnedClass == UUID.class;
+	}
+
 	private int calculateHashCode(Type type, SessionFactoryImplementor factory) {
-		int result = type.getHashCode( key, factory );
+		// same as the type hash code for basic identifiers, which is the hash code of the identifier itself
+		int result = this.type == null ? key.hashCode() : type.getHashCode( key, factory );
 		result = 31 * result + (tenantId != null ? tenantId.hashCode() : 0);
 		return result;
 	}
@@ -68,6 +89,17 @@ public class CacheKey implements Serializable {
 		return tenantId;
 	}
 
+	/**
+	 * Whether the identifier is of a single-column basic type whose Java class implements equals()/hashCode()
+	 * properly, in which case the identifier itself can stand for this key in a region where no other entity or
+	 * collection role, nor tenant, can have the same identifier.
+	 *
+	 * @return {@code true} if the identifier is of a basic type
+	 */
+	public boolean isBasicIdentifier() {
+		return type == null;
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if ( other == null ) {
@@ -82,7 +114,7 @@ public class CacheKey implements Serializable {
 		}
 		final CacheKey that = (CacheKey) other;
 		return EqualsHelper.equals( entityOrRoleName, that.entityOrRoleName )
-				&& type.isEqual( key, that.key )
+				&& ( type == null ? key.equals( that.key ) : type.isEqual( key, that.key ) )
 				&& EqualsHelper.equals( tenantId, that.tenantId );
 	}
 
@@ -0,0 +1,21 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+/**
+ * Optional contract for regions evicting entries on their own, to bound their size or because the entries expired,
+ * and keeping count of these evictions.  The count is exposed through
+ * {@link org.hibernate.stat.SecondLevelCacheStatistics#getEvictionCount()}.
+ */
+public interface EvictingRegion extends Region {
+	/**
+	 * The number of entries evicted from this region to make room for others, or because they expired.
+	 *
+	 * @return The number of evictions
+	 */
+	public long getEvictionCount();
+}
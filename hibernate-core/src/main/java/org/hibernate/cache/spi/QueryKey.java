@@ -157,6 +157,24 @@ public class QueryKey implements Serializable {
 		this.hashCode = generateHashCode();
 	}
 
+	/**
+	 * Provides access to the SQL of the query.
+	 *
+	 * @return The SQL
+	 */
+	public String getSqlQueryString() {
+		return sqlQueryString;
+	}
+
+	/**
+	 * Are the results a page of the rows selected by the query?
+	 *
+	 * @return {@code true} if a first row or a maximum number of rows was selected
+	 */
+	public boolean isPaginated() {
+		return ( firstRow != null && firstRow > 0 ) || maxRows != null;
+	}
+
 	/**
 	 * Provides access to the explicitly user-provided result transformer.
 	 *
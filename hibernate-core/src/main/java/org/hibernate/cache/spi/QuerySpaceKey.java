@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+import java.io.Serializable;
+
+/**
+ * Key of the finer grained timestamps kept by the {@link UpdateTimestampsCache} when entity level query cache
+ * invalidation is enabled: either the last change to the set of rows of a query space (inserts, deletes, bulk
+ * operations), or the last update of a row of a query space.
+ * <p/>
+ * So that the timestamps region does not grow with every row ever updated, rows are tracked in a bounded number of
+ * buckets per query space, keyed by the hash of their identifier: an update invalidates the cached results containing
+ * any row of the same bucket.  The buckets of a space are all written the first time its rows are tracked, which is
+ * recorded by a {@link #rowBuckets marker key}, so that a missing bucket can be told to have been evicted.
+ * @see org.hibernate.cfg.AvailableSettings#USE_ENTITY_QUERY_CACHE_INVALIDATION
+ */
+public final class QuerySpaceKey implements Serializable {
+	/**
+	 * The number of buckets the rows of a query space are tracked in; a power of two, kept small as all of them are
+	 * written the first time an update of the space is tracked.
+	 */
+	static final int ROW_BUCKETS = 64;
+
+	private final Serializable space;
+	private final Integer rowBucket;
+	private final int hashCode;
+
+	private QuerySpaceKey(Serializable space, Integer rowBucket) {
+		this.space = space;
+		this.rowBucket = rowBucket;
+		this.hashCode = 37 * space.hashCode() + ( rowBucket == null ? 0 : rowBucket.hashCode() );
+	}
+
+	/**
+	 * Builds the key tracking changes to the set of rows of the given query space.
+	 *
+	 * @param space The query space
+	 *
+	 * @return The key
+	 */
+	public static QuerySpaceKey rows(Serializable space) {
+		return new QuerySpaceKey( space, null );
+	}
+
+	/**
+	 * Builds the key tracking updates of the row of the given query space having the given identifier, shared with
+	 * the other rows of the same bucket.
+	 *
+	 * @param space The query space
+	 * @param id The identifier of the entity mapped to the row
+	 *
+	 * @return The key
+	 */
+	public static QuerySpaceKey row(Serializable space, Serializable id) {
+		// spread the bits of the hash, as identifiers tend to only differ in their lower bits
+		int hash = id.hashCode();
+		hash ^= ( hash >>> 16 );
+		return rowBucket( space, hash & ( ROW_BUCKETS - 1 ) );
+	}
+
+	static QuerySpaceKey rowBucket(Serializable space, int bucket) {
+		return new QuerySpaceKey( space, bucket );
+	}
+
+	/**
+	 * Builds the key marking that the row buckets of the given query space have been written.
+	 *
+	 * @param space The query space
+	 *
+	 * @return The key
+	 */
+	static QuerySpaceKey rowBuckets(Serializable space) {
+		return new QuerySpaceKey( space, -1 );
+	}
+
+	public Serializable getSpace() {
+		return space;
+	}
+
+	/**
+	 * The bucket of the row, or {@code null} if this key tracks the set of rows of the space.
+	 *
+	 * @return The bucket
+	 */
+	public Integer getRowBucket() {
+		return rowBucket;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if ( this == other ) {
+			return true;
+		}
+		if ( !(other instanceof QuerySpaceKey) ) {
+			return false;
+		}
+
+		final QuerySpaceKey that = (QuerySpaceKey) other;
+		return hashCode == that.hashCode
+				&& space.equals( that.space )
+				&& ( rowBucket == null ? that.rowBucket == null : rowBucket.equals( that.rowBucket ) );
+	}
+
+	@Override
+	public String toString() {
+		return "QuerySpaceKey[" + space + ( rowBucket == null ? "" : "#" + rowBucket ) + ']';
+	}
+}
@@ -7,6 +7,8 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Properties;
 import java.util.Set;
 
@@ -39,6 +41,7 @@ public class UpdateTimestampsCache {
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final boolean entityInvalidation;
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -55,6 +58,7 @@ public class UpdateTimestampsCache {
 		LOG.startingUpdateTimestampsCache( regionName );
 
 		this.region = settings.getServiceRegistry().getService( RegionFactory.class ).buildTimestampsRegion( regionName, props );
+		this.entityInvalidation = settings.isEntityQueryCacheInvalidationEnabled();
 	}
 
 	/**
@@ -86,21 +90,32 @@ public class UpdateTimestampsCache {
 			if ( DEBUG_ENABLED ) {
 				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
 			}
+			put( space, ts, stats, session );
+			if ( entityInvalidation ) {
+				put( QuerySpaceKey.rows( space ), ts, stats, session );
+			}
+		}
+	}
 
-			try {
-				session.getEventListenerManager().cachePutStart();
+	/**
+	 * Perform pre-invalidation for updates of single rows.  Unless entity level invalidation is enabled, this is the
+	 * same as pre-invalidating the spaces of the rows.
+	 *
+	 * @param rows The updated rows, as built by {@link QuerySpaceKey#row}
+	 * @param session The originating session
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void preInvalidateRows(Collection<QuerySpaceKey> rows, SessionImplementor session) throws CacheException {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
-				//put() has nowait semantics, is this really appropriate?
-				//note that it needs to be async replication, never local or sync
-				region.put( space, ts );
-			}
-			finally {
-				session.getEventListenerManager().cachePutEnd();
-			}
+		final Long ts = region.nextTimestamp() + region.getTimeout();
 
-			if ( stats ) {
-				factory.getStatisticsImplementor().updateTimestampsCachePut();
+		for ( Serializable key : keysToInvalidate( rows, stats, session ) ) {
+			if ( DEBUG_ENABLED ) {
+				LOG.debugf( "Pre-invalidating [%s], timestamp: %s", key, ts );
 			}
+			put( key, ts, stats, session );
 		}
 	}
 
@@ -122,21 +137,105 @@ public class UpdateTimestampsCache {
 			if ( DEBUG_ENABLED ) {
 				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
 			}
+			put( space, ts, stats, session );
+			if ( entityInvalidation ) {
+				put( QuerySpaceKey.rows( space ), ts, stats, session );
+			}
+		}
+	}
+
+	/**
+	 * Perform invalidation outside of any session, when the data the cached query results depend on changed without
+	 * Hibernate updating the spaces, such as when the second-level cache region of an entity is evicted while the
+	 * results hold the states of its entities.
+	 *
+	 * @param spaces The spaces to invalidate
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void invalidate(Serializable[] spaces) throws CacheException {
+		invalidate( spaces, null );
+	}
+
+	/**
+	 * Perform invalidation for updates of single rows.  Unless entity level invalidation is enabled, this is the
+	 * same as invalidating the spaces of the rows.
+	 *
+	 * @param rows The updated rows, as built by {@link QuerySpaceKey#row}
+	 * @param session The originating session
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void invalidateRows(Collection<QuerySpaceKey> rows, SessionImplementor session) throws CacheException {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		final Long ts = region.nextTimestamp();
+
+		for ( Serializable key : keysToInvalidate( rows, stats, session ) ) {
+			if ( DEBUG_ENABLED ) {
+				LOG.debugf( "Invalidating [%s], timestamp: %s", key, ts );
+			}
+			put( key, ts, stats, session );
+		}
+	}
+
+	private Set<Serializable> keysToInvalidate(
+			Collection<QuerySpaceKey> rows,
+			boolean stats,
+			SessionImplementor session) {
+		// the space itself is always bumped, as it is what results not tracking rows are checked against
+		final Set<Serializable> keys = new LinkedHashSet<Serializable>();
+		for ( QuerySpaceKey row : rows ) {
+			if ( keys.add( row.getSpace() ) && entityInvalidation ) {
+				writeRowBuckets( row.getSpace(), stats, session );
+			}
+		}
+		if ( entityInvalidation ) {
+			keys.addAll( rows );
+		}
+		return keys;
+	}
+
+	/**
+	 * Writes all the row buckets of the space, unless already done, with the timestamp of the space: the rows were
+	 * not updated since, and from then on a missing bucket means it was evicted.
+	 */
+	private void writeRowBuckets(Serializable space, boolean stats, SessionImplementor session) {
+		final QuerySpaceKey marker = QuerySpaceKey.rowBuckets( space );
+		if ( getLastUpdateTimestampForSpace( marker, session ) != null ) {
+			return;
+		}
+		final Long spaceTimestamp = getLastUpdateTimestampForSpace( space, session );
+		// as for the spaces, results are up to date with respect to rows never updated since startup
+		final Long ts = spaceTimestamp == null ? Long.valueOf( 0L ) : spaceTimestamp;
+		if ( DEBUG_ENABLED ) {
+			LOG.debugf( "Tracking the rows of space [%s], timestamp: %s", space, ts );
+		}
+		for ( int i = 0; i < QuerySpaceKey.ROW_BUCKETS; i++ ) {
+			put( QuerySpaceKey.rowBucket( space, i ), ts, stats, session );
+		}
+		put( marker, ts, stats, session );
+	}
 
+	private void put(Serializable key, Long ts, boolean stats, SessionImplementor session) {
+		if ( session == null ) {
+			region.put( key, ts );
+		}
+		else {
 			try {
 				session.getEventListenerManager().cachePutStart();
 
 				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
-				region.put( space, ts );
+				region.put( key, ts );
 			}
 			finally {
 				session.getEventListenerManager().cachePutEnd();
 			}
+		}
 
-			if ( stats ) {
-				factory.getStatisticsImplementor().updateTimestampsCachePut();
-			}
+		if ( stats ) {
+			factory.getStatisticsImplementor().updateTimestampsCachePut();
 		}
 	}
 
@@ -156,35 +255,97 @@ public class UpdateTimestampsCache {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
-			if ( lastUpdate == null ) {
-				if ( stats ) {
-					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
-				}
-				//the last update timestamp was lost from the cache
-				//(or there were no updates since startup!)
-				//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
-				//result = false; // safer
+			if ( !isUpToDate( space, timestamp, stats, session ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Perform an up-to-date check for a query result whose rows of some of its query spaces are known.  For those
+	 * spaces, only changes to their set of rows and updates of the given rows are considered.  Unless entity level
+	 * invalidation is enabled, this is the same as {@link #isUpToDate(Set, Long, SessionImplementor)}.
+	 *
+	 * @param spaces The spaces to check
+	 * @param trackedSpaces The subset of the spaces whose rows are tracked
+	 * @param rows The rows of the tracked spaces the result depends on, as built by {@link QuerySpaceKey#row}
+	 * @param timestamp The timestamp against which to check.
+	 * @param session The originating session
+	 *
+	 * @return Whether all those spaces and rows are up-to-date
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public boolean isUpToDate(
+			Set<Serializable> spaces,
+			Set<Serializable> trackedSpaces,
+			Collection<QuerySpaceKey> rows,
+			Long timestamp,
+			SessionImplementor session) throws CacheException {
+		if ( !entityInvalidation ) {
+			return isUpToDate( spaces, timestamp, session );
+		}
+
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		for ( Serializable space : spaces ) {
+			final Serializable key = trackedSpaces.contains( space ) ? QuerySpaceKey.rows( space ) : space;
+			if ( !isUpToDate( key, timestamp, stats, session ) ) {
+				return false;
 			}
-			else {
-				if ( DEBUG_ENABLED ) {
-					LOG.debugf(
-							"[%s] last update timestamp: %s",
-							space,
-							lastUpdate + ", result set timestamp: " + timestamp
-					);
-				}
-				if ( stats ) {
-					factory.getStatisticsImplementor().updateTimestampsCacheHit();
-				}
-				if ( lastUpdate >= timestamp ) {
-					return false;
-				}
+		}
+		for ( QuerySpaceKey row : rows ) {
+			if ( !isRowUpToDate( row, timestamp, stats, session ) ) {
+				return false;
 			}
 		}
 		return true;
 	}
 
+	private boolean isRowUpToDate(QuerySpaceKey row, Long timestamp, boolean stats, SessionImplementor session) {
+		final Long lastUpdate = getLastUpdateTimestampForSpace( row, session );
+		if ( lastUpdate == null ) {
+			if ( stats ) {
+				factory.getStatisticsImplementor().updateTimestampsCacheMiss();
+			}
+			// the timestamp of the row was evicted, or the rows of the space were never updated: as the space itself is
+			// bumped by every update of its rows, fall back to it
+			return isUpToDate( row.getSpace(), timestamp, stats, session );
+		}
+
+		if ( stats ) {
+			factory.getStatisticsImplementor().updateTimestampsCacheHit();
+		}
+		return lastUpdate < timestamp;
+	}
+
+	private boolean isUpToDate(Serializable key, Long timestamp, boolean stats, SessionImplementor session) {
+		final Long lastUpdate = getLastUpdateTimestampForSpace( key, session );
+		if ( lastUpdate == null ) {
+			if ( stats ) {
+				factory.getStatisticsImplementor().updateTimestampsCacheMiss();
+			}
+			//the last update timestamp was lost from the cache
+			//(or there were no updates since startup!)
+			//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
+			//result = false; // safer
+			return true;
+		}
+
+		if ( DEBUG_ENABLED ) {
+			LOG.debugf(
+					"[%s] last update timestamp: %s",
+					key,
+					lastUpdate + ", result set timestamp: " + timestamp
+			);
+		}
+		if ( stats ) {
+			factory.getStatisticsImplementor().updateTimestampsCacheHit();
+		}
+		return lastUpdate < timestamp;
+	}
+
 	private Long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
 		Long ts = null;
 		try {
@@ -229,6 +390,18 @@ public class UpdateTimestampsCache {
 		return region;
 	}
 
+	/**
+	 * Are updates of single rows tracked, so that cached query results are only invalidated by updates of the rows
+	 * they contain?
+	 *
+	 * @return {@code true} if entity level invalidation is enabled
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_ENTITY_QUERY_CACHE_INVALIDATION
+	 */
+	public boolean isEntityInvalidationEnabled() {
+		return entityInvalidation;
+	}
+
 	@Override
 	public String toString() {
 		return "UpdateTimestampsCache";
@@ -0,0 +1,33 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for access strategies able to read many items in a single call, typically a single round-trip
+ * to a remote or clustered cache.  Hibernate uses it where it has several keys at hand, such as when
+ * building batches of entities or collections to fetch, or when assembling cached query results; for access
+ * strategies not implementing it, the items are accessed one at a time through the {@link RegionAccessStrategy}
+ * methods (see {@link org.hibernate.engine.internal.CacheHelper}).
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+	/**
+	 * Attempt to retrieve several objects from the cache.  Same as calling {@link #get} for each key.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 *
+	 * @return the cached objects, by key; keys for which nothing is cached are absent
+	 *
+	 * @throws CacheException Propagated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+}
@@ -0,0 +1,34 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache as a byte array
+ * {@link CacheEntryCodec encoded} from its disassembled state, which is cheaper to copy off-heap or across the network
+ * than the serialized entry.
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	/**
+	 * Access to the singleton reference.
+	 */
+	public static final BinaryCacheEntry INSTANCE = new BinaryCacheEntry();
+
+	@Override
+	public Object structure(Object item) {
+		return CacheEntryCodec.encode( (CacheEntry) item );
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		return CacheEntryCodec.decodeEntityEntry( (byte[]) structured );
+	}
+
+	private BinaryCacheEntry() {
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Binary CacheEntry format for persistent collections, see {@link BinaryCacheEntry}.
+ */
+public class BinaryCollectionCacheEntry implements CacheEntryStructure {
+	/**
+	 * Access to the singleton reference.
+	 */
+	public static final BinaryCollectionCacheEntry INSTANCE = new BinaryCollectionCacheEntry();
+
+	@Override
+	public Object structure(Object item) {
+		return CacheEntryCodec.encode( (CollectionCacheEntry) item );
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		return CacheEntryCodec.decodeCollectionEntry( (byte[]) structured );
+	}
+
+	private BinaryCollectionCacheEntry() {
+	}
+}
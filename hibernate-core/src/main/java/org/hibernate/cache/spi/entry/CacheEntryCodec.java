@@ -0,0 +1,441 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.HibernateException;
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BackrefPropertyAccessor;
+
+/**
+ * Encodes disassembled state (entity and collection cache entries, cached query results) into a compact binary form,
+ * for regions which store their data off-heap or replicate it, and would otherwise rely on Java serialization.
+ * <p/>
+ * The values produced by {@link org.hibernate.type.Type#disassemble} are, for basic mappings, instances of a small
+ * set of JDK classes, and, for components and collections, arrays of those.  Each such value is written as a one byte
+ * tag followed by its payload (with variable-length integers), without any class descriptor or property name; any
+ * other value falls back to Java serialization.
+ */
+public final class CacheEntryCodec {
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+	private static final byte FORMAT_VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte UNFETCHED_PROPERTY = 1;
+	private static final byte UNKNOWN_BACKREF = 2;
+	private static final byte TRUE = 3;
+	private static final byte FALSE = 4;
+	private static final byte BYTE = 5;
+	private static final byte SHORT = 6;
+	private static final byte INTEGER = 7;
+	private static final byte LONG = 8;
+	private static final byte FLOAT = 9;
+	private static final byte DOUBLE = 10;
+	private static final byte CHARACTER = 11;
+	private static final byte STRING = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte BIG_INTEGER = 14;
+	private static final byte DATE = 15;
+	private static final byte SQL_DATE = 16;
+	private static final byte SQL_TIME = 17;
+	private static final byte SQL_TIMESTAMP = 18;
+	private static final byte BYTES = 19;
+	private static final byte CHARS = 20;
+	private static final byte UUID_VALUE = 21;
+	private static final byte SERIALIZABLE_ARRAY = 22;
+	private static final byte OBJECT_ARRAY = 23;
+	private static final byte SERIALIZED = 24;
+
+	private CacheEntryCodec() {
+	}
+
+	/**
+	 * Encodes an entity cache entry.
+	 *
+	 * @param entry The entry
+	 *
+	 * @return The encoded entry
+	 */
+	public static byte[] encode(CacheEntry entry) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 64 );
+		final DataOutputStream output = new DataOutputStream( bytes );
+		try {
+			output.writeByte( FORMAT_VERSION );
+			writeString( output, entry.getSubclass() );
+			output.writeBoolean( entry.areLazyPropertiesUnfetched() );
+			writeValue( output, entry.getVersion() );
+			writeValues( output, entry.getDisassembledState() );
+			output.flush();
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to encode cache entry", e );
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes an entity cache entry.
+	 *
+	 * @param encoded The entry {@link #encode(CacheEntry) encoded} before
+	 *
+	 * @return The entry
+	 */
+	public static CacheEntry decodeEntityEntry(byte[] encoded) {
+		final DataInputStream input = open( encoded );
+		try {
+			final String subclass = readString( input );
+			final boolean lazyPropertiesUnfetched = input.readBoolean();
+			final Object version = readValue( input );
+			final Serializable[] state = readSerializableArray( input );
+			return new StandardCacheEntryImpl( state, subclass, lazyPropertiesUnfetched, version );
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to decode cache entry", e );
+		}
+	}
+
+	/**
+	 * Encodes a collection cache entry.
+	 *
+	 * @param entry The entry
+	 *
+	 * @return The encoded entry
+	 */
+	public static byte[] encode(CollectionCacheEntry entry) {
+		return encodeValue( entry.getState() );
+	}
+
+	/**
+	 * Decodes a collection cache entry.
+	 *
+	 * @param encoded The entry {@link #encode(CollectionCacheEntry) encoded} before
+	 *
+	 * @return The entry
+	 */
+	public static CollectionCacheEntry decodeCollectionEntry(byte[] encoded) {
+		return new CollectionCacheEntry( (Serializable) decodeValue( encoded ) );
+	}
+
+	/**
+	 * Encodes cached query results: a timestamp followed by the disassembled rows.
+	 *
+	 * @param results The results
+	 *
+	 * @return The encoded results
+	 */
+	public static byte[] encode(List results) {
+		return encodeValue( results.toArray( new Serializable[results.size()] ) );
+	}
+
+	/**
+	 * Decodes cached query results.
+	 *
+	 * @param encoded The results {@link #encode(List) encoded} before
+	 *
+	 * @return The results
+	 */
+	@SuppressWarnings("unchecked")
+	public static List decodeResults(byte[] encoded) {
+		final Serializable[] values = (Serializable[]) decodeValue( encoded );
+		final List results = new ArrayList( values.length );
+		for ( Serializable value : values ) {
+			results.add( value );
+		}
+		return results;
+	}
+
+	/**
+	 * Encodes a single disassembled value, such as the identifier cached in a natural id region.
+	 *
+	 * @param value The value
+	 *
+	 * @return The encoded value
+	 */
+	public static byte[] encodeValue(Object value) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream( 64 );
+		final DataOutputStream output = new DataOutputStream( bytes );
+		try {
+			output.writeByte( FORMAT_VERSION );
+			writeValue( output, value );
+			output.flush();
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to encode cache entry", e );
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a single disassembled value.
+	 *
+	 * @param encoded The value {@link #encodeValue(Object) encoded} before
+	 *
+	 * @return The value
+	 */
+	public static Object decodeValue(byte[] encoded) {
+		final DataInputStream input = open( encoded );
+		try {
+			return readValue( input );
+		}
+		catch (IOException e) {
+			throw new HibernateException( "Unable to decode cache entry", e );
+		}
+	}
+
+	private static DataInputStream open(byte[] encoded) {
+		if ( encoded.length == 0 || encoded[0] != FORMAT_VERSION ) {
+			throw new HibernateException( "Unsupported cache entry format" );
+		}
+		return new DataInputStream( new ByteArrayInputStream( encoded, 1, encoded.length - 1 ) );
+	}
+
+	private static void writeValues(DataOutputStream output, Object[] values) throws IOException {
+		writeVarLong( output, values.length );
+		for ( Object value : values ) {
+			writeValue( output, value );
+		}
+	}
+
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+		if ( value == null ) {
+			output.writeByte( NULL );
+			return;
+		}
+		if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			output.writeByte( UNFETCHED_PROPERTY );
+			return;
+		}
+		if ( value == BackrefPropertyAccessor.UNKNOWN ) {
+			output.writeByte( UNKNOWN_BACKREF );
+			return;
+		}
+
+		final Class valueClass = value.getClass();
+		if ( valueClass == String.class ) {
+			output.writeByte( STRING );
+			writeString( output, (String) value );
+		}
+		else if ( valueClass == Long.class ) {
+			output.writeByte( LONG );
+			writeVarLong( output, (Long) value );
+		}
+		else if ( valueClass == Integer.class ) {
+			output.writeByte( INTEGER );
+			writeVarLong( output, (Integer) value );
+		}
+		else if ( valueClass == Boolean.class ) {
+			output.writeByte( (Boolean) value ? TRUE : FALSE );
+		}
+		else if ( valueClass == Short.class ) {
+			output.writeByte( SHORT );
+			writeVarLong( output, (Short) value );
+		}
+		else if ( valueClass == Byte.class ) {
+			output.writeByte( BYTE );
+			output.writeByte( (Byte) value );
+		}
+		else if ( valueClass == Double.class ) {
+			output.writeByte( DOUBLE );
+			output.writeDouble( (Double) value );
+		}
+		else if ( valueClass == Float.class ) {
+			output.writeByte( FLOAT );
+			output.writeFloat( (Float) value );
+		}
+		else if ( valueClass == Character.class ) {
+			output.writeByte( CHARACTER );
+			output.writeChar( (Character) value );
+		}
+		else if ( valueClass == BigDecimal.class ) {
+			output.writeByte( BIG_DECIMAL );
+			writeVarLong( output, ( (BigDecimal) value ).scale() );
+			writeBytes( output, ( (BigDecimal) value ).unscaledValue().toByteArray() );
+		}
+		else if ( valueClass == BigInteger.class ) {
+			output.writeByte( BIG_INTEGER );
+			writeBytes( output, ( (BigInteger) value ).toByteArray() );
+		}
+		else if ( valueClass == Timestamp.class ) {
+			output.writeByte( SQL_TIMESTAMP );
+			writeVarLong( output, ( (Timestamp) value ).getTime() );
+			writeVarLong( output, ( (Timestamp) value ).getNanos() );
+		}
+		else if ( valueClass == Date.class ) {
+			output.writeByte( DATE );
+			writeVarLong( output, ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == java.sql.Date.class ) {
+			output.writeByte( SQL_DATE );
+			writeVarLong( output, ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == Time.class ) {
+			output.writeByte( SQL_TIME );
+			writeVarLong( output, ( (Date) value ).getTime() );
+		}
+		else if ( valueClass == byte[].class ) {
+			output.writeByte( BYTES );
+			writeBytes( output, (byte[]) value );
+		}
+		else if ( valueClass == char[].class ) {
+			output.writeByte( CHARS );
+			writeString( output, new String( (char[]) value ) );
+		}
+		else if ( valueClass == UUID.class ) {
+			output.writeByte( UUID_VALUE );
+			output.writeLong( ( (UUID) value ).getMostSignificantBits() );
+			output.writeLong( ( (UUID) value ).getLeastSignificantBits() );
+		}
+		else if ( valueClass == Serializable[].class ) {
+			output.writeByte( SERIALIZABLE_ARRAY );
+			writeValues( output, (Object[]) value );
+		}
+		else if ( valueClass == Object[].class ) {
+			output.writeByte( OBJECT_ARRAY );
+			writeValues( output, (Object[]) value );
+		}
+		else {
+			output.writeByte( SERIALIZED );
+			writeBytes( output, SerializationHelper.serialize( (Serializable) value ) );
+		}
+	}
+
+	private static Serializable[] readSerializableArray(DataInputStream input) throws IOException {
+		final Serializable[] values = new Serializable[(int) readVarLong( input )];
+		for ( int i = 0; i < values.length; i++ ) {
+			values[i] = (Serializable) readValue( input );
+		}
+		return values;
+	}
+
+	private static Object readValue(DataInputStream input) throws IOException {
+		final byte tag = input.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case UNFETCHED_PROPERTY:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN_BACKREF:
+				return BackrefPropertyAccessor.UNKNOWN;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case BYTE:
+				return input.readByte();
+			case SHORT:
+				return (short) readVarLong( input );
+			case INTEGER:
+				return (int) readVarLong( input );
+			case LONG:
+				return readVarLong( input );
+			case FLOAT:
+				return input.readFloat();
+			case DOUBLE:
+				return input.readDouble();
+			case CHARACTER:
+				return input.readChar();
+			case STRING:
+				return readString( input );
+			case BIG_DECIMAL: {
+				final int scale = (int) readVarLong( input );
+				return new BigDecimal( new BigInteger( readBytes( input ) ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( readBytes( input ) );
+			case DATE:
+				return new Date( readVarLong( input ) );
+			case SQL_DATE:
+				return new java.sql.Date( readVarLong( input ) );
+			case SQL_TIME:
+				return new Time( readVarLong( input ) );
+			case SQL_TIMESTAMP: {
+				final Timestamp timestamp = new Timestamp( readVarLong( input ) );
+				timestamp.setNanos( (int) readVarLong( input ) );
+				return timestamp;
+			}
+			case BYTES:
+				return readBytes( input );
+			case CHARS:
+				return readString( input ).toCharArray();
+			case UUID_VALUE:
+				return new UUID( input.readLong(), input.readLong() );
+			case SERIALIZABLE_ARRAY:
+				return readSerializableArray( input );
+			case OBJECT_ARRAY: {
+				final Object[] values = new Object[(int) readVarLong( input )];
+				for ( int i = 0; i < values.length; i++ ) {
+					values[i] = readValue( input );
+				}
+				return values;
+			}
+			case SERIALIZED:
+				return SerializationHelper.deserialize( readBytes( input ) );
+			default:
+				throw new HibernateException( "Unexpected tag in cache entry : " + tag );
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		writeBytes( output, value.getBytes( UTF_8 ) );
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		return new String( readBytes( input ), UTF_8 );
+	}
+
+	private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+		writeVarLong( output, value.length );
+		output.write( value );
+	}
+
+	private static byte[] readBytes(DataInputStream input) throws IOException {
+		final byte[] value = new byte[(int) readVarLong( input )];
+		input.readFully( value );
+		return value;
+	}
+
+	/**
+	 * Writes a zig-zag encoded variable-length integer: small values, positive or negative, take a single byte.
+	 */
+	private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+		long remaining = ( value << 1 ) ^ ( value >> 63 );
+		while ( ( remaining & ~0x7FL ) != 0 ) {
+			output.writeByte( (int) ( ( remaining & 0x7F ) | 0x80 ) );
+			remaining >>>= 7;
+		}
+		output.writeByte( (int) remaining );
+	}
+
+	private static long readVarLong(DataInputStream input) throws IOException {
+		long result = 0;
+		for ( int shift = 0; shift < 64; shift += 7 ) {
+			final byte b = input.readByte();
+			result |= (long) ( b & 0x7F ) << shift;
+			if ( ( b & 0x80 ) == 0 ) {
+				return ( result >>> 1 ) ^ -( result & 1 );
+			}
+		}
+		throw new HibernateException( "Malformed variable-length integer in cache entry" );
+	}
+}
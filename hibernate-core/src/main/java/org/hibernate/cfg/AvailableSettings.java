@@ -184,6 +184,46 @@ public interface AvailableSettings {
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Should batched single-row inserts be executed as one multi-row {@code INSERT ... VALUES (...), (...)}
+	 * statement, rather than through JDBC batching, when the Dialect
+	 * {@link org.hibernate.dialect.Dialect#supportsValuesListForInsert() supports it}?  Saves round-trips with
+	 * drivers which execute JDBC batches one statement at a time.  Only applies when
+	 * {@link #STATEMENT_BATCH_SIZE batching} is enabled; default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String STATEMENT_BATCH_MULTI_ROW_INSERT = "hibernate.jdbc.batch_multi_row_insert";
+	/**
+	 * Should the JDBC batch size be adapted, per batched statement, to the measured execution time of its batches?
+	 * The {@link #STATEMENT_BATCH_SIZE batch size} is then the initial size, and statements with expensive rows get
+	 * smaller batches than statements with cheap rows.  The chosen sizes are exposed by
+	 * {@link org.hibernate.stat.spi.StatisticsImplementor#getJdbcBatchSizes()}.  Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String STATEMENT_BATCH_SIZE_ADAPTIVE = "hibernate.jdbc.batch_size_adaptive";
+	/**
+	 * The minimum JDBC batch size chosen by {@link #STATEMENT_BATCH_SIZE_ADAPTIVE adaptive batch sizing}; default
+	 * is 1.
+	 *
+	 * @since 5.1
+	 */
+	String STATEMENT_BATCH_SIZE_MIN = "hibernate.jdbc.batch_size_min";
+	/**
+	 * The maximum JDBC batch size chosen by {@link #STATEMENT_BATCH_SIZE_ADAPTIVE adaptive batch sizing}; default
+	 * is 10 times the {@link #STATEMENT_BATCH_SIZE batch size}.
+	 *
+	 * @since 5.1
+	 */
+	String STATEMENT_BATCH_SIZE_MAX = "hibernate.jdbc.batch_size_max";
+	/**
+	 * The time, in milliseconds, the execution of a JDBC batch should take, according to which
+	 * {@link #STATEMENT_BATCH_SIZE_ADAPTIVE adaptive batch sizing} chooses the batch sizes; default is 20.
+	 *
+	 * @since 5.1
+	 */
+	String STATEMENT_BATCH_TARGET_TIME = "hibernate.jdbc.batch_target_time";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -485,6 +525,15 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
 
+	/**
+	 * The maximum estimated heap size, in bytes, of the query plans maintained by
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}.  When set, plans are evicted based on their estimated
+	 * size rather than their number and {@link #QUERY_PLAN_CACHE_MAX_SIZE} is ignored.  Not set by default.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_PLAN_CACHE_MAX_BYTES = "hibernate.query.plan_cache_max_bytes";
+
 	/**
 	 * The maximum number of {@link org.hibernate.engine.query.spi.ParameterMetadata} maintained 
 	 * by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
@@ -820,4 +869,231 @@ public interface AvailableSettings {
 	 * annotations (combined with {@code orm.xml} mappings).
 	 */
 	String ARTIFACT_PROCESSING_ORDER = "hibernate.mapping.precedence";
+
+	/**
+	 * Should the persistence context use compact, open-addressing maps (see
+	 * {@link org.hibernate.internal.util.collections.OpenAddressingHashMap}) to track entities, snapshots and
+	 * collections by key, instead of {@link java.util.HashMap}?  Reduces the per-entity memory overhead of the
+	 * Session, most noticeably for entities with {@code Long} or {@code Integer} identifiers; useful for batch
+	 * processing loading many entities into a single Session.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String COMPACT_PERSISTENCE_CONTEXT = "hibernate.compact_persistence_context";
+
+	/**
+	 * Should list parameters bound to an {@code IN} predicate (e.g. {@code where p.id in (:ids)}) be padded to the
+	 * next power of two by repeating the last value?  Each distinct list size otherwise expands into a distinct query
+	 * string, and so a distinct query plan and prepared statement; with padding, lists of 5 to 8 values all share
+	 * the plan for 8 values.  The padded size never exceeds {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()}.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
+
+	/**
+	 * Names a file used to speed up the {@link #QUERY_STARTUP_CHECKING named query startup check}.  The file records
+	 * a hash of the mapping along with the named HQL queries which translated successfully; on subsequent startups
+	 * with the same mapping, those queries are not translated again during startup (they are translated when first
+	 * used instead).  Any change to the mapping invalidates the whole file.
+	 * <p/>
+	 * Not set by default.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_STARTUP_CHECK_CACHE_FILE = "hibernate.query.startup_check_cache_file";
+
+	/**
+	 * The number of threads used by the {@link #QUERY_STARTUP_CHECKING named query startup check}.  The named queries
+	 * are translated independently of each other, so applications defining many named queries can shorten startup by
+	 * checking them concurrently.  Errors are reported in query name order regardless of the number of threads.
+	 * <p/>
+	 * Default is {@code 1}, checking the queries sequentially on the bootstrapping thread.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_STARTUP_CHECK_PARALLELISM = "hibernate.query.startup_check_parallelism";
+
+	/**
+	 * Should a dirty checker class be generated, when the SessionFactory is built, for each entity which is not
+	 * enhanced for dirty tracking?  The generated checker compares the current and loaded state of an entity
+	 * property by property, with the comparisons of basic properties (numbers, booleans, characters and strings)
+	 * inlined rather than dispatched through the {@link org.hibernate.type.Type} of each property.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String GENERATED_DIRTY_CHECKING = "hibernate.bytecode.generated_dirty_checking";
+
+	/**
+	 * The maximum number of entries of each region of the {@link org.hibernate.cache.internal.local.LocalRegionFactory}.
+	 * The setting can be overridden for a particular region by appending its name to the setting name, e.g.
+	 * {@code hibernate.cache.local.max_entries.com.acme.Customer}.  {@code 0} means unbounded.  The timestamps region
+	 * is always unbounded.
+	 * <p/>
+	 * Default is {@code 10000}.
+	 *
+	 * @since 5.1
+	 */
+	String CACHE_LOCAL_MAX_ENTRIES = "hibernate.cache.local.max_entries";
+
+	/**
+	 * The time, in seconds, after which the entries of the regions of the
+	 * {@link org.hibernate.cache.internal.local.LocalRegionFactory} expire.  The setting can be overridden for a
+	 * particular region by appending its name to the setting name.  {@code 0} means entries do not expire.  The entries
+	 * of the timestamps region never expire.
+	 * <p/>
+	 * Default is {@code 0}.
+	 *
+	 * @since 5.1
+	 */
+	String CACHE_LOCAL_TIME_TO_LIVE = "hibernate.cache.local.time_to_live";
+
+	/**
+	 * Enable use of binary second-level cache entries: the disassembled state of entities and collections, and cached
+	 * query results, are encoded into compact byte arrays rather than stored as objects, which makes them much cheaper
+	 * to store off-heap or replicate than through Java serialization.  Takes precedence over
+	 * {@link #USE_STRUCTURED_CACHE}; does not apply to {@link #USE_DIRECT_REFERENCE_CACHE_ENTRIES reference entries}.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String USE_BINARY_CACHE_ENTRIES = "hibernate.cache.use_binary_entries";
+
+	/**
+	 * Keep the entries of the entity and natural id regions of the
+	 * {@link org.hibernate.cache.internal.local.LocalRegionFactory} off the Java heap, in direct memory, encoded
+	 * into a compact binary form.  Meant for large read-mostly data, as only {@code read-only} and
+	 * {@code nonstrict-read-write} access is supported for such regions.  Natural id regions can only be kept
+	 * off-heap for immutable entities.  The setting can be overridden for a particular region by appending its name
+	 * to the setting name.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String CACHE_LOCAL_OFF_HEAP = "hibernate.cache.local.off_heap";
+
+	/**
+	 * The amount of direct memory, in megabytes, each off-heap region of the
+	 * {@link org.hibernate.cache.internal.local.LocalRegionFactory} may use; the oldest entries are evicted once it is
+	 * used up.  The setting can be overridden for a particular region by appending its name to the setting name.
+	 * <p/>
+	 * Default is {@code 64}.
+	 *
+	 * @see #CACHE_LOCAL_OFF_HEAP
+	 * @since 5.1
+	 */
+	String CACHE_LOCAL_OFF_HEAP_MAX_SIZE = "hibernate.cache.local.off_heap_max_size";
+
+	/**
+	 * Enable entity level invalidation of cached query results.  By default any change to a table invalidates all
+	 * the cached query results using it.  With this setting, updates of entities only invalidate the cached results
+	 * containing one of the updated entities, while inserts, deletes, collection changes and bulk operations still
+	 * invalidate every result using the table.  Results returning scalar values keep being invalidated by any change.
+	 * <p/>
+	 * A table is only checked per row when the query references its rows solely to select them, or through their
+	 * identifier: when the query restricts, joins or orders a page on other columns of the table, or references the
+	 * table again in a self-join or a subquery, an update of a row not in the result may change the result, which is
+	 * then invalidated by any change to the table.
+	 * <p/>
+	 * Updated rows are tracked in a bounded number of buckets per table, so an update also invalidates the results
+	 * containing other rows of the same bucket.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String USE_ENTITY_QUERY_CACHE_INVALIDATION = "hibernate.cache.use_entity_query_invalidation";
+
+	/**
+	 * Keep the state of the returned entities along with cached query results, in the form of their second-level cache
+	 * entries, so that a cache hit initializes the entities directly instead of looking each of them up in the
+	 * second-level cache, or loading them from the database when their entries were evicted.  Only applies to
+	 * entities having a second-level cache region.
+	 * <p/>
+	 * The entities initialized that way count as hits of their region.  Evicting entities through
+	 * {@link org.hibernate.Cache#evictEntity} or {@link org.hibernate.Cache#evictEntityRegion} invalidates the cached
+	 * results using the tables of the entities, so that their states are read again.
+	 * <p/>
+	 * Default is {@code false}.
+	 *
+	 * @since 5.1
+	 */
+	String USE_QUERY_CACHE_ENTITY_STATES = "hibernate.cache.use_query_cache_entity_states";
+
+	/**
+	 * Warm up the second-level cache region of an entity or collection role when the session factory starts, so that
+	 * a freshly started application does not send every first access to the database.  The entity name or collection
+	 * role is appended to the setting name, e.g. {@code hibernate.cache.warmup.com.acme.Customer}, and the value is
+	 * either {@code all}, warming up all the entities (or the collections of all the owners), or an HQL query selecting
+	 * the identifiers of the entities (or of the collection owners) to warm up, e.g.
+	 * {@code select c.id from Customer c where c.active = true}.
+	 * <p/>
+	 * The factory is only returned once the regions are warmed up.  The progress is reported by
+	 * {@link org.hibernate.stat.SecondLevelCacheStatistics#getWarmUpCount()}.
+	 *
+	 * @see #CACHE_WARMUP_PARALLELISM
+	 * @see #CACHE_WARMUP_BATCH_SIZE
+	 * @since 5.1
+	 */
+	String CACHE_WARMUP = "hibernate.cache.warmup";
+
+	/**
+	 * The number of threads loading the entities or collections {@link #CACHE_WARMUP warmed up} at startup.
+	 * <p/>
+	 * Default is {@code 1}.
+	 *
+	 * @since 5.1
+	 */
+	String CACHE_WARMUP_PARALLELISM = "hibernate.cache.warmup_parallelism";
+
+	/**
+	 * The number of entities or collection owners loaded at once by each thread {@link #CACHE_WARMUP warming up}
+	 * regions at startup.
+	 * <p/>
+	 * Default is {@code 100}.
+	 *
+	 * @since 5.1
+	 */
+	String CACHE_WARMUP_BATCH_SIZE = "hibernate.cache.warmup_batch_size";
+
+	/**
+	 * The maximum number of rows of a query result stored in the query cache; larger results are not cached, so that
+	 * a few large results can't evict everything else from the query cache region.  May be set for a given region by
+	 * appending its name, e.g. {@code hibernate.cache.query_cache_max_rows.reports}.
+	 * <p/>
+	 * Default is {@code 0}, for no limit.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_CACHE_MAX_ROWS = "hibernate.cache.query_cache_max_rows";
+
+	/**
+	 * The maximum size of a query result stored in the query cache, in bytes.  The size is that of the encoded result
+	 * when {@link #USE_BINARY_CACHE_ENTRIES binary cache entries} are used, an estimate otherwise.  May be set for a
+	 * given region by appending its name, like {@link #QUERY_CACHE_MAX_ROWS}.
+	 * <p/>
+	 * Default is {@code 0}, for no limit.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_CACHE_MAX_SIZE = "hibernate.cache.query_cache_max_size";
+
+	/**
+	 * The number of times a query must be executed with the same parameters before its result is stored in the query
+	 * cache, so that queries executed once don't take the place of the ones executed over and over.  May be set for a
+	 * given region by appending its name, like {@link #QUERY_CACHE_MAX_ROWS}.
+	 * <p/>
+	 * Default is {@code 1}, caching results right away.
+	 *
+	 * @since 5.1
+	 */
+	String QUERY_CACHE_ADMISSION_THRESHOLD = "hibernate.cache.query_cache_admission_threshold";
 }
@@ -76,6 +76,12 @@ public final class Settings {
 			LOG.debugf( "Default entity-mode: %s", sessionFactoryOptions.getDefaultEntityMode() );
 			LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled( sessionFactoryOptions.isCheckNullability() ) );
 			LOG.debugf( "Allow initialization of lazy state outside session : %s", enabledDisabled( sessionFactoryOptions.isInitializeLazyStateOutsideTransactionsEnabled() ) );
+			LOG.debugf( "Compact persistence context maps : %s", enabledDisabled( sessionFactoryOptions.isCompactPersistenceContextEnabled() ) );
+			LOG.debugf( "IN clause parameter padding : %s", enabledDisabled( sessionFactoryOptions.isInClauseParameterPaddingEnabled() ) );
+			LOG.debugf( "Generated dirty checking : %s", enabledDisabled( sessionFactoryOptions.isGeneratedDirtyCheckingEnabled() ) );
+			LOG.debugf( "Binary second-level cache entries: %s", enabledDisabled( sessionFactoryOptions.isBinaryCacheEntriesEnabled() ) );
+			LOG.debugf( "Entity level query cache invalidation: %s", enabledDisabled( sessionFactoryOptions.isEntityQueryCacheInvalidationEnabled() ) );
+			LOG.debugf( "Entity states in query cache: %s", enabledDisabled( sessionFactoryOptions.isQueryCacheEntityStatesEnabled() ) );
 
 			LOG.debugf( "Using BatchFetchStyle : " + sessionFactoryOptions.getBatchFetchStyle().name() );
 			LOG.debugf( "Default batch fetch size: %s", sessionFactoryOptions.getDefaultBatchFetchSize() );
@@ -91,6 +97,8 @@ public final class Settings {
 			LOG.debugf( "Query language substitutions: %s", sessionFactoryOptions.getQuerySubstitutions() );
 			LOG.debugf( "JPA query language strict compliance: %s", enabledDisabled( sessionFactoryOptions.isStrictJpaQueryLanguageCompliance() ) );
 			LOG.debugf( "Named query checking : %s", enabledDisabled( sessionFactoryOptions.isNamedQueryStartupCheckingEnabled() ) );
+			LOG.debugf( "Named query checking parallelism : %s", sessionFactoryOptions.getNamedQueryStartupCheckParallelism() );
+			LOG.debugf( "Named query check cache file : %s", sessionFactoryOptions.getNamedQueryStartupCheckCacheFile() );
 
 			LOG.debugf( "Second-level cache: %s", enabledDisabled( sessionFactoryOptions.isSecondLevelCacheEnabled() ) );
 			LOG.debugf( "Second-level query cache: %s", enabledDisabled( sessionFactoryOptions.isQueryCacheEnabled() ) );
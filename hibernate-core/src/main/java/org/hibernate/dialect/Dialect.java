@@ -2348,6 +2348,49 @@ public abstract class Dialect implements ConversionContext {
 		return false;
 	}
 
+	/**
+	 * Does this dialect support inserting multiple rows through a single INSERT statement with a list of
+	 * row value constructors?
+	 * <p/>
+	 * For example, "insert into PERSON (ID, NAME) values (?, ?), (?, ?)"
+	 *
+	 * @return True if multi-row inserts are supported; false otherwise.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_MULTI_ROW_INSERT
+	 * @since 5.1
+	 */
+	public boolean supportsValuesListForInsert() {
+		return false;
+	}
+
+	/**
+	 * The maximum number of parameters which may be bound to a single statement, or 0 if there is no limit.
+	 * <p/>
+	 * The default, 32767, is the limit of the PostgreSQL JDBC driver.
+	 *
+	 * @return The maximum number of bound parameters
+	 *
+	 * @since 5.1
+	 */
+	public int getParameterCountLimit() {
+		return 32767;
+	}
+
+	/**
+	 * The maximum number of parameters which may be bound to a single multi-row INSERT statement.  Larger batches
+	 * of inserted rows are split over several statements.
+	 * <p/>
+	 * Defaults to {@link #getParameterCountLimit()}.
+	 *
+	 * @return The maximum number of bound parameters
+	 *
+	 * @see #supportsValuesListForInsert()
+	 * @since 5.1
+	 */
+	public int getMultiRowInsertParameterLimit() {
+		return getParameterCountLimit();
+	}
+
 	/**
 	 * Should LOBs (both BLOB and CLOB) be bound using stream operations (i.e.
 	 * {@link java.sql.PreparedStatement#setBinaryStream}).
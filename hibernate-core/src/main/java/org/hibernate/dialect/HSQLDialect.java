@@ -673,4 +673,9 @@ public class HSQLDialect extends Dialect {
 	public boolean supportsTupleDistinctCounts() {
 		return false;
 	}
+
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return hsqldbVersion >= 20;
+	}
 }
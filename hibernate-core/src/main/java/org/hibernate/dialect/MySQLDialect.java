@@ -374,6 +374,16 @@ public class MySQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return true;
+	}
+
+	@Override
+	public int getParameterCountLimit() {
+		return 65535;
+	}
+
 	@Override
 	public String renderOrderByElement(String expression, String collation, String order, NullPrecedence nulls) {
 		final StringBuilder orderByElement = new StringBuilder();
@@ -532,6 +532,11 @@ public class PostgreSQL81Dialect extends Dialect {
 	public boolean supportsRowValueConstructorSyntax() {
 		return true;
 	}
+
+	@Override
+	public boolean supportsValuesListForInsert() {
+		return true;
+	}
 	
 	@Override
 	public String getForUpdateNowaitString() {
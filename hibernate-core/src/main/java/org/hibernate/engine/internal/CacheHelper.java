@@ -7,9 +7,15 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -33,12 +39,19 @@ public final class CacheHelper {
 			Object cacheKey,
 			RegionAccessStrategy cacheAccessStrategy) {
 		Serializable cachedValue = null;
+		final long start = startTime( session );
 		try {
 			session.getEventListenerManager().cacheGetStart();
 			cachedValue = (Serializable) cacheAccessStrategy.get( cacheKey, session.getTimestamp() );
 		}
 		finally {
 			session.getEventListenerManager().cacheGetEnd( cachedValue != null );
+			if ( start != 0 ) {
+				session.getFactory().getStatisticsImplementor().secondLevelCacheGetExecuted(
+						regionName( cacheAccessStrategy ),
+						System.nanoTime() - start
+				);
+			}
 		}
 		return cachedValue;
 	}
@@ -49,4 +62,80 @@ public final class CacheHelper {
 			RegionAccessStrategy cacheAccessStrategy) {
 		return fromSharedCache( session, (Object) cacheKey, cacheAccessStrategy );
 	}
+
+	/**
+	 * Retrieves several items from the second-level cache, in a single call if the access strategy is a
+	 * {@link BulkRegionAccessStrategy}, or one at a time otherwise.
+	 *
+	 * @param session The originating session
+	 * @param cacheKeys The keys of the items
+	 * @param cacheAccessStrategy The access strategy of the region
+	 *
+	 * @return The cached items, by key; keys for which nothing is cached are absent
+	 */
+	public static Map<CacheKey, Serializable> fromSharedCache(
+			SessionImplementor session,
+			Collection<CacheKey> cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final Map<CacheKey, Serializable> cachedValues = new HashMap<CacheKey, Serializable>();
+		if ( cacheKeys.isEmpty() ) {
+			return cachedValues;
+		}
+		final long start = startTime( session );
+		try {
+			session.getEventListenerManager().cacheGetStart();
+			if ( cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+				final Map<Object, Object> values = ( (BulkRegionAccessStrategy) cacheAccessStrategy ).getAll(
+						cacheKeys,
+						session.getTimestamp()
+				);
+				for ( Map.Entry<Object, Object> entry : values.entrySet() ) {
+					if ( entry.getValue() != null ) {
+						cachedValues.put( (CacheKey) entry.getKey(), (Serializable) entry.getValue() );
+					}
+				}
+			}
+			else {
+				for ( CacheKey cacheKey : cacheKeys ) {
+					final Object value = cacheAccessStrategy.get( cacheKey, session.getTimestamp() );
+					if ( value != null ) {
+						cachedValues.put( cacheKey, (Serializable) value );
+					}
+				}
+			}
+		}
+		finally {
+			session.getEventListenerManager().cacheGetEnd( !cachedValues.isEmpty() );
+			if ( start != 0 ) {
+				session.getFactory().getStatisticsImplementor().secondLevelCacheGetExecuted(
+						regionName( cacheAccessStrategy ),
+						System.nanoTime() - start
+				);
+			}
+		}
+		return cachedValues;
+	}
+
+	/**
+	 * The time at which a cache operation starts, as given by {@link System#nanoTime()}, if statistics are enabled;
+	 * {@code 0} otherwise.
+	 *
+	 * @param session The originating session
+	 *
+	 * @return The start time, or {@code 0}
+	 */
+	public static long startTime(SessionImplementor session) {
+		// should System.nanoTime() ever return 0, that sample is simply lost
+		return session.getFactory().getStatistics().isStatisticsEnabled() ? System.nanoTime() : 0;
+	}
+
+	private static String regionName(RegionAccessStrategy cacheAccessStrategy) {
+		if ( cacheAccessStrategy instanceof EntityRegionAccessStrategy ) {
+			return ( (EntityRegionAccessStrategy) cacheAccessStrategy ).getRegion().getName();
+		}
+		if ( cacheAccessStrategy instanceof CollectionRegionAccessStrategy ) {
+			return ( (CollectionRegionAccessStrategy) cacheAccessStrategy ).getRegion().getName();
+		}
+		return ( (NaturalIdRegionAccessStrategy) cacheAccessStrategy ).getRegion().getName();
+	}
 }
@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.Type;
+
+/**
+ * An {@link OpenAddressingHashMap} keyed by {@link EntityKey}, used by the persistence context when
+ * {@link org.hibernate.cfg.AvailableSettings#COMPACT_PERSISTENCE_CONTEXT} is enabled.
+ * <p/>
+ * For entities with a {@code Long} or {@code Integer} identifier the EntityKey itself is not retained: only the
+ * persister and the primitive identifier value are stored, and an equivalent EntityKey is re-created when the keys
+ * are iterated.
+ */
+public final class CompactEntityKeyMap<V> extends OpenAddressingHashMap<EntityKey, V> {
+	private long[] identifiers;
+	private long[] previousIdentifiers;
+
+	public CompactEntityKeyMap(int expectedSize) {
+		super( expectedSize );
+	}
+
+	@Override
+	protected void allocate(int capacity) {
+		super.allocate( capacity );
+		previousIdentifiers = identifiers;
+		identifiers = new long[capacity];
+	}
+
+	@Override
+	protected void relocate(int fromIndex, int toIndex) {
+		identifiers[toIndex] = previousIdentifiers[fromIndex];
+	}
+
+	@Override
+	protected void afterRelocation() {
+		previousIdentifiers = null;
+	}
+
+	@Override
+	protected Object storeKey(int index, EntityKey key) {
+		final EntityPersister persister = key.getPersister();
+		final Serializable id = key.getIdentifier();
+		if ( id.getClass() == primitiveIdentifierClass( persister ) ) {
+			identifiers[index] = ( (Number) id ).longValue();
+			return persister;
+		}
+		return key;
+	}
+
+	@Override
+	protected EntityKey loadKey(int index, Object storedKey) {
+		if ( storedKey instanceof EntityPersister ) {
+			final EntityPersister persister = (EntityPersister) storedKey;
+			final long id = identifiers[index];
+			return new EntityKey(
+					primitiveIdentifierClass( persister ) == Long.class ? Long.valueOf( id ) : Integer.valueOf( (int) id ),
+					persister
+			);
+		}
+		return (EntityKey) storedKey;
+	}
+
+	@Override
+	protected boolean keyMatches(int index, Object storedKey, Object key) {
+		if ( !( storedKey instanceof EntityPersister ) ) {
+			return storedKey == key || storedKey.equals( key );
+		}
+		if ( !( key instanceof EntityKey ) ) {
+			return false;
+		}
+
+		// mirrors EntityKey#equals for the identifier types handled here
+		final EntityPersister persister = (EntityPersister) storedKey;
+		final EntityKey entityKey = (EntityKey) key;
+		final Serializable id = entityKey.getIdentifier();
+		return id.getClass() == primitiveIdentifierClass( persister )
+				&& ( (Number) id ).longValue() == identifiers[index]
+				&& ( entityKey.getPersister() == persister
+						|| entityKey.getPersister().getRootEntityName().equals( persister.getRootEntityName() ) );
+	}
+
+	private static Class primitiveIdentifierClass(EntityPersister persister) {
+		final Type identifierType = persister.getIdentifierType();
+		if ( identifierType instanceof LongType ) {
+			return Long.class;
+		}
+		else if ( identifierType instanceof IntegerType ) {
+			return Integer.class;
+		}
+		return null;
+	}
+}
@@ -15,6 +15,8 @@ import org.hibernate.LockMode;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -23,6 +25,7 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.service.spi.EventListenerGroup;
 import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.EventType;
 import org.hibernate.event.spi.PostLoadEvent;
 import org.hibernate.event.spi.PostLoadEventListener;
@@ -199,6 +202,7 @@ public final class TwoPhaseLoad {
 				);
 			}
 			else {
+				final long start = CacheHelper.startTime( session );
 				try {
 					session.getEventListenerManager().cachePutStart();
 					final boolean put = persister.getCacheAccessStrategy().putFromLoad(
@@ -215,6 +219,12 @@ public final class TwoPhaseLoad {
 				}
 				finally {
 					session.getEventListenerManager().cachePutEnd();
+					if ( start != 0 ) {
+						factory.getStatisticsImplementor().secondLevelCachePutExecuted(
+								persister.getCacheAccessStrategy().getRegion().getName(),
+								System.nanoTime() - start
+						);
+					}
 				}
 			}
 		}
@@ -386,4 +396,147 @@ public final class TwoPhaseLoad {
 				lazyPropertiesAreUnFetched
 			);
 	}
+
+	/**
+	 * Initialize an entity from its second-level cache entry, which may also have been kept elsewhere, e.g. along
+	 * with cached query results.  The entity is added to the persistence context of the session.
+	 *
+	 * @param entry The cache entry
+	 * @param entityId The entity identifier
+	 * @param persister The persister for the requested entity, the entry may be for a subclass of it
+	 * @param optionalObject An optional instance for the entity being initialized
+	 * @param session The Session
+	 *
+	 * @return The initialized entity
+	 */
+	public static Object initializeEntityFromCache(
+			final CacheEntry entry,
+			final Serializable entityId,
+			final EntityPersister persister,
+			final Object optionalObject,
+			final EventSource session) {
+		final SessionFactoryImplementor factory = session.getFactory();
+		final EntityPersister subclassPersister;
+
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracef(
+					"Converting second-level cache entry [%s] into entity : %s",
+					entry,
+					MessageHelper.infoString( persister, entityId, factory )
+			);
+		}
+
+		final Object entity;
+		if ( entry.isReferenceEntry() ) {
+			if ( optionalObject != null ) {
+				throw new HibernateException(
+						String.format(
+								"Attempt to load entity [%s] from cache using provided object instance, but cache " +
+										"is storing references",
+								MessageHelper.infoString( persister, entityId, factory )
+						)
+				);
+			}
+
+			ReferenceCacheEntryImpl referenceCacheEntry = (ReferenceCacheEntryImpl) entry;
+			entity = referenceCacheEntry.getReference();
+			if ( entity == null ) {
+				throw new IllegalStateException(
+						"Reference cache entry contained null : " + MessageHelper.infoString(
+								persister,
+								entityId,
+								factory
+						)
+				);
+			}
+			subclassPersister = referenceCacheEntry.getSubclassPersister();
+		}
+		else {
+			subclassPersister = factory.getEntityPersister( entry.getSubclass() );
+			entity = optionalObject == null
+					? session.instantiate( subclassPersister, entityId )
+					: optionalObject;
+		}
+
+		// make it circular-reference safe
+		final EntityKey entityKey = session.generateEntityKey( entityId, subclassPersister );
+		TwoPhaseLoad.addUninitializedCachedEntity(
+				entityKey,
+				entity,
+				subclassPersister,
+				LockMode.NONE,
+				entry.areLazyPropertiesUnfetched(),
+				entry.getVersion(),
+				session
+		);
+
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final Object[] values;
+		final Object version;
+		final boolean isReadOnly;
+		if ( entry.isReferenceEntry() ) {
+			values = null;
+			version = null;
+			isReadOnly = true;
+		}
+		else {
+			final Type[] types = subclassPersister.getPropertyTypes();
+			// initializes the entity by (desired) side-effect
+			values = ( (StandardCacheEntryImpl) entry ).assemble(
+					entity, entityId, subclassPersister, session.getInterceptor(), session
+			);
+			if ( ( (StandardCacheEntryImpl) entry ).isDeepCopyNeeded() ) {
+				TypeHelper.deepCopy(
+						values,
+						types,
+						subclassPersister.getPropertyUpdateability(),
+						values,
+						session
+				);
+			}
+			version = Versioning.getVersion( values, subclassPersister );
+			LOG.tracef( "Cached Version : %s", version );
+
+			final Object proxy = persistenceContext.getProxy( entityKey );
+			if ( proxy != null ) {
+				// there is already a proxy for this impl
+				// only set the status to read-only if the proxy is read-only
+				isReadOnly = ( (HibernateProxy) proxy ).getHibernateLazyInitializer().isReadOnly();
+			}
+			else {
+				isReadOnly = session.isDefaultReadOnly();
+			}
+		}
+
+		persistenceContext.addEntry(
+				entity,
+				( isReadOnly ? Status.READ_ONLY : Status.MANAGED ),
+				values,
+				null,
+				entityId,
+				version,
+				LockMode.NONE,
+				true,
+				subclassPersister,
+				false,
+				entry.areLazyPropertiesUnfetched()
+		);
+		subclassPersister.afterInitialize( entity, entry.areLazyPropertiesUnfetched(), session );
+		persistenceContext.initializeNonLazyCollections();
+
+		//PostLoad is needed for EJB3
+		PostLoadEvent postLoadEvent = new PostLoadEvent( session )
+				.setEntity( entity )
+				.setId( entityId )
+				.setPersister( persister );
+
+		final EventListenerGroup<PostLoadEventListener> listenerGroup = factory.getServiceRegistry()
+				.getService( EventListenerRegistry.class )
+				.getEventListenerGroup( EventType.POST_LOAD );
+		for ( PostLoadEventListener listener : listenerGroup.listeners() ) {
+			listener.onPostLoad( postLoadEvent );
+		}
+
+		return entity;
+	}
 }
@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Chooses the JDBC batch size of each {@link BatchKey} from the measured execution time of its batches, so that
+ * the execution of a batch takes roughly a given target time: statements with cheap (narrow) rows get large
+ * batches, statements with expensive (wide, LOB-heavy) rows small ones.
+ * <p/>
+ * The sizes stay within the configured bounds and are further limited by the width of the rows: a batch never binds
+ * more than 32767 parameters.  A size changes by at most a factor 2 after each execution, and executions of a single
+ * row are not taken into account, as their fixed round-trip overhead skews the cost per row.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_SIZE_ADAPTIVE
+ */
+public class AdaptiveBatchSizer {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			AdaptiveBatchSizer.class.getName()
+	);
+
+	static final int MAX_BOUND_PARAMETERS = 32767;
+	static final int MIN_SAMPLE_ROWS = 2;
+
+	/**
+	 * The weight of the latest execution in the average cost per row.
+	 */
+	private static final double SMOOTHING = 0.25d;
+
+	private final int initialSize;
+	private final int minSize;
+	private final int maxSize;
+	private final long targetExecutionNanos;
+
+	private final ConcurrentHashMap<BatchKey, KeyState> states = new ConcurrentHashMap<BatchKey, KeyState>();
+
+	/**
+	 * Constructs an AdaptiveBatchSizer
+	 *
+	 * @param initialSize The size of batches for which no execution was measured yet
+	 * @param minSize The minimum size
+	 * @param maxSize The maximum size
+	 * @param targetExecutionMillis The time the execution of a batch should take
+	 */
+	public AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, long targetExecutionMillis) {
+		if ( minSize < 1 || maxSize < minSize ) {
+			throw new IllegalArgumentException( "Invalid batch size bounds [" + minSize + ", " + maxSize + "]" );
+		}
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.initialSize = Math.max( minSize, Math.min( maxSize, initialSize ) );
+		this.targetExecutionNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 1L, targetExecutionMillis ) );
+	}
+
+	/**
+	 * The batch size currently chosen for the given key.
+	 *
+	 * @param key The batch key
+	 *
+	 * @return The batch size
+	 */
+	public int getBatchSize(BatchKey key) {
+		final KeyState state = states.get( key );
+		return state == null ? initialSize : state.batchSize;
+	}
+
+	/**
+	 * Records the execution of a batch.
+	 *
+	 * @param key The batch key
+	 * @param sql The SQL of the batched statement
+	 * @param rowCount The number of rows in the batch
+	 * @param executionNanos The time the execution took
+	 */
+	public void recordExecution(BatchKey key, String sql, int rowCount, long executionNanos) {
+		if ( rowCount < MIN_SAMPLE_ROWS ) {
+			return;
+		}
+		KeyState state = states.get( key );
+		if ( state == null ) {
+			final KeyState newState = new KeyState( maxSizeForWidth( countParameters( sql ) ) );
+			state = states.putIfAbsent( key, newState );
+			if ( state == null ) {
+				state = newState;
+			}
+		}
+		state.record( key, rowCount, executionNanos );
+	}
+
+	private int maxSizeForWidth(int parameterCount) {
+		return Math.max( minSize, Math.min( maxSize, MAX_BOUND_PARAMETERS / Math.max( 1, parameterCount ) ) );
+	}
+
+	private static int countParameters(String sql) {
+		int count = 0;
+		for ( int i = 0; i < sql.length(); i++ ) {
+			if ( sql.charAt( i ) == '?' ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The batch sizes currently chosen, by batch key.
+	 *
+	 * @return The batch sizes, keyed by the {@link BatchKey#toString() batch key}
+	 */
+	public Map<String, Integer> getBatchSizes() {
+		final Map<String, Integer> sizes = new TreeMap<String, Integer>();
+		for ( Map.Entry<BatchKey, KeyState> entry : states.entrySet() ) {
+			sizes.put( entry.getKey().toString(), entry.getValue().batchSize );
+		}
+		return sizes;
+	}
+
+	private class KeyState {
+		private final int sizeLimit;
+		private volatile int batchSize;
+		// guarded by this
+		private double nanosPerRow = -1;
+
+		private KeyState(int sizeLimit) {
+			this.sizeLimit = sizeLimit;
+			this.batchSize = Math.min( initialSize, sizeLimit );
+		}
+
+		private synchronized void record(BatchKey key, int rowCount, long executionNanos) {
+			final double sample = (double) executionNanos / rowCount;
+			nanosPerRow = nanosPerRow < 0 ? sample : nanosPerRow + SMOOTHING * ( sample - nanosPerRow );
+
+			final double idealSize = targetExecutionNanos / Math.max( 1d, nanosPerRow );
+			final int newSize = (int) Math.max(
+					minSize,
+					Math.min( sizeLimit, Math.max( batchSize / 2d, Math.min( batchSize * 2d, idealSize ) ) )
+			);
+			if ( newSize != batchSize ) {
+				LOG.debugf( "Adjusting JDBC batch size of [%s] from %s to %s", key, batchSize, newSize );
+				batchSize = newSize;
+			}
+		}
+	}
+}
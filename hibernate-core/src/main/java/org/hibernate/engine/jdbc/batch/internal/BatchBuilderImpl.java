@@ -6,9 +6,11 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.batch.spi.AdaptiveBatchSizing;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
@@ -24,13 +26,15 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  */
-public class BatchBuilderImpl implements BatchBuilder, Configurable {
+public class BatchBuilderImpl implements BatchBuilder, AdaptiveBatchSizing, Configurable {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
 			BatchBuilderImpl.class.getName()
 	);
 
 	private int size;
+	private boolean multiRowInsertEnabled;
+	private AdaptiveBatchSizer adaptiveBatchSizer;
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -50,6 +54,19 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	@Override
 	public void configure(Map configurationValues) {
 		size = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, size );
+		multiRowInsertEnabled = ConfigurationHelper.getBoolean(
+				Environment.STATEMENT_BATCH_MULTI_ROW_INSERT,
+				configurationValues,
+				multiRowInsertEnabled
+		);
+		if ( ConfigurationHelper.getBoolean( Environment.STATEMENT_BATCH_SIZE_ADAPTIVE, configurationValues, false ) ) {
+			adaptiveBatchSizer = new AdaptiveBatchSizer(
+					size,
+					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE_MIN, configurationValues, 1 ),
+					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE_MAX, configurationValues, size * 10 ),
+					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_TARGET_TIME, configurationValues, 20 )
+			);
+		}
 	}
 
 	@SuppressWarnings("UnusedDeclaration")
@@ -57,12 +74,34 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 		this.size = size;
 	}
 
+	@SuppressWarnings("UnusedDeclaration")
+	public void setMultiRowInsertEnabled(boolean multiRowInsertEnabled) {
+		this.multiRowInsertEnabled = multiRowInsertEnabled;
+	}
+
+	@Override
+	public Map<String, Integer> getAdaptiveBatchSizes() {
+		return adaptiveBatchSizer == null
+				? Collections.<String, Integer>emptyMap()
+				: adaptiveBatchSizer.getBatchSizes();
+	}
+
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
 		LOG.tracef( "Building batch [size=%s]", size );
-		return size > 1
-				? new BatchingBatch( key, jdbcCoordinator, size )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		if ( size <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		if ( adaptiveBatchSizer != null ) {
+			return new BatchingBatch(
+					key,
+					jdbcCoordinator,
+					adaptiveBatchSizer.getBatchSize( key ),
+					multiRowInsertEnabled,
+					adaptiveBatchSizer
+			);
+		}
+		return new BatchingBatch( key, jdbcCoordinator, size, multiRowInsertEnabled, null );
 	}
 
 	@Override
@@ -8,18 +8,30 @@ package org.hibernate.engine.jdbc.batch.internal;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.HibernateException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
 
 import org.jboss.logging.Logger;
 
 /**
  * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which does bathing based on a given size.  Once
  * the batch size is reached for a statement in the batch, the entire batch is implicitly executed.
+ * <p/>
+ * When multi-row inserts are enabled (and supported by the Dialect), batched single-row {@code INSERT} statements are
+ * executed as multi-row {@code INSERT ... VALUES (...), (...)} statements rather than through JDBC batching, each
+ * binding at most {@link org.hibernate.dialect.Dialect#getMultiRowInsertParameterLimit() as many parameters as the
+ * Dialect allows}.
  *
  * @author Steve Ebersole
  */
@@ -31,7 +43,8 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	// IMPL NOTE : Until HHH-5797 is fixed, there will only be 1 statement in a batch
 
-	private final int batchSize;
+	private int batchSize;
+	private final AdaptiveBatchSizer batchSizer;
 	private int batchPosition;
 	private boolean batchExecuted;
 	private int statementPosition;
@@ -47,27 +60,105 @@ public class BatchingBatch extends AbstractBatchImpl {
 			BatchKey key,
 			JdbcCoordinator jdbcCoordinator,
 			int batchSize) {
+		this( key, jdbcCoordinator, batchSize, false );
+	}
+
+	/**
+	 * Constructs a BatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param multiRowInsertEnabled Should insert statements be executed as multi-row inserts, if the Dialect
+	 * supports them?
+	 */
+	public BatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			boolean multiRowInsertEnabled) {
+		this( key, jdbcCoordinator, batchSize, multiRowInsertEnabled, null );
+	}
+
+	/**
+	 * Constructs a BatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param multiRowInsertEnabled Should insert statements be executed as multi-row inserts, if the Dialect
+	 * supports them?
+	 * @param batchSizer The sizer adapting the batch size after each execution, or {@code null} to keep the given
+	 * batch size
+	 */
+	public BatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			boolean multiRowInsertEnabled,
+			AdaptiveBatchSizer batchSizer) {
 		super( key, jdbcCoordinator );
 		if ( ! key.getExpectation().canBeBatched() ) {
 			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
 		}
 		this.batchSize = batchSize;
+		this.batchSizer = batchSizer;
+		final Dialect dialect = jdbcCoordinator.getJdbcSessionOwner()
+				.getJdbcSessionContext()
+				.getServiceRegistry()
+				.getService( JdbcServices.class )
+				.getDialect();
+		if ( multiRowInsertEnabled
+				&& key.getBatchedStatementCount() == 1
+				&& dialect.supportsValuesListForInsert() ) {
+			multiRowInserts = new HashMap<String, MultiRowInsert>();
+			multiRowInsertParameterLimit = dialect.getMultiRowInsertParameterLimit();
+		}
 	}
 
 	private String currentStatementSql;
 	private PreparedStatement currentStatement;
 
+	/**
+	 * The multi-row inserts keyed by the single-row SQL; {@code null} values for statements which cannot be
+	 * rewritten.  The map itself is {@code null} unless multi-row inserts are enabled.
+	 */
+	private Map<String, MultiRowInsert> multiRowInserts;
+	private int multiRowInsertParameterLimit;
+	private MultiRowInsert currentMultiRowInsert;
+
 	@Override
 	public PreparedStatement getBatchStatement(String sql, boolean callable) {
 		currentStatementSql = sql;
 		currentStatement = super.getBatchStatement( sql, callable );
+		currentMultiRowInsert = callable ? null : locateMultiRowInsert( sql );
+		if ( currentMultiRowInsert != null ) {
+			return currentMultiRowInsert.getRecorder( currentStatement );
+		}
 		return currentStatement;
 	}
 
+	private MultiRowInsert locateMultiRowInsert(String sql) {
+		if ( multiRowInserts == null ) {
+			return null;
+		}
+		MultiRowInsert multiRowInsert = multiRowInserts.get( sql );
+		if ( multiRowInsert == null && !multiRowInserts.containsKey( sql ) ) {
+			multiRowInsert = MultiRowInsert.forSql( sql );
+			multiRowInserts.put( sql, multiRowInsert );
+		}
+		return multiRowInsert;
+	}
+
 	@Override
 	public void addToBatch() {
 		try {
-			currentStatement.addBatch();
+			if ( currentMultiRowInsert != null ) {
+				currentMultiRowInsert.addRow();
+			}
+			else {
+				currentStatement.addBatch();
+			}
 		}
 		catch ( SQLException e ) {
 			LOG.debugf( "SQLException escaped proxy", e );
@@ -103,16 +194,19 @@ public class BatchingBatch extends AbstractBatchImpl {
 		try {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				try {
-					final PreparedStatement statement = entry.getValue();
-					final int[] rowCounts;
+					final List<StatementExecution> executions = prepareExecutions( entry.getKey(), entry.getValue() );
 					try {
-						getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchStart();
-						rowCounts = statement.executeBatch();
+						for ( StatementExecution execution : executions ) {
+							execution.execute();
+						}
 					}
 					finally {
-						getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchEnd();
+						for ( StatementExecution execution : executions ) {
+							if ( execution.statement != entry.getValue() ) {
+								getJdbcCoordinator().getResourceRegistry().release( execution.statement );
+							}
+						}
 					}
-					checkRowCounts( rowCounts, statement );
 				}
 				catch ( SQLException e ) {
 					abortBatch();
@@ -125,13 +219,128 @@ public class BatchingBatch extends AbstractBatchImpl {
 			throw re;
 		}
 		finally {
-			batchPosition = 0;
+			resetBatchPosition();
+		}
+	}
+
+	private void resetBatchPosition() {
+		batchPosition = 0;
+		if ( batchSizer != null ) {
+			batchSize = batchSizer.getBatchSize( getKey() );
+		}
+	}
+
+	/**
+	 * Prepares the execution of one of the batched statements: for multi-row inserts this prepares the multi-row
+	 * statements, each inserting as many rows as the parameter limit of the Dialect allows, and binds the recorded
+	 * rows to them.
+	 *
+	 * @return The executions, empty if there is nothing to execute
+	 */
+	private List<StatementExecution> prepareExecutions(String sql, PreparedStatement statement) throws SQLException {
+		final MultiRowInsert multiRowInsert = multiRowInserts == null ? null : multiRowInserts.get( sql );
+		if ( multiRowInsert == null ) {
+			return Collections.singletonList( new StatementExecution( sql, statement, batchPosition, false ) );
+		}
+
+		final int rowCount = multiRowInsert.getRowCount();
+		if ( rowCount == 0 ) {
+			return Collections.emptyList();
+		}
+		final int rowsPerStatement = Math.max( 1, multiRowInsertParameterLimit / multiRowInsert.getParameterCount() );
+		final List<StatementExecution> executions = new ArrayList<StatementExecution>();
+		try {
+			for ( int fromRow = 0; fromRow < rowCount; fromRow += rowsPerStatement ) {
+				final int statementRowCount = Math.min( rowsPerStatement, rowCount - fromRow );
+				// a single row is inserted by the statement prepared for the batch; note that the multi-row statement
+				// must be prepared through the variant which does not execute the current (this) batch
+				final PreparedStatement multiRowStatement = rowCount == 1
+						? statement
+						: getJdbcCoordinator().getStatementPreparer()
+								.prepareStatement( multiRowInsert.getSql( statementRowCount ) );
+				executions.add( new StatementExecution( sql, multiRowStatement, statementRowCount, true ) );
+				multiRowInsert.bindRows( multiRowStatement, fromRow, fromRow + statementRowCount );
+			}
+		}
+		catch ( SQLException e ) {
+			for ( StatementExecution execution : executions ) {
+				if ( execution.statement != statement ) {
+					getJdbcCoordinator().getResourceRegistry().release( execution.statement );
+				}
+			}
+			throw e;
+		}
+		finally {
+			multiRowInsert.clear();
+		}
+		return executions;
+	}
+
+	/**
+	 * The execution of one of the batched statements.
+	 */
+	private class StatementExecution {
+		private final String sql;
+		private final PreparedStatement statement;
+		private final int rowCount;
+		private final boolean multiRowInsert;
+
+		private StatementExecution(String sql, PreparedStatement statement, int rowCount, boolean multiRowInsert) {
+			this.sql = sql;
+			this.statement = statement;
+			this.rowCount = rowCount;
+			this.multiRowInsert = multiRowInsert;
+		}
+
+		private void execute() throws SQLException {
+			final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner()
+					.getJdbcSessionContext()
+					.getObserver();
+			final int[] rowCounts;
+			final long start = batchSizer == null ? 0 : System.nanoTime();
+			if ( multiRowInsert ) {
+				final int updateCount;
+				try {
+					observer.jdbcExecuteStatementStart();
+					updateCount = statement.executeUpdate();
+				}
+				finally {
+					observer.jdbcExecuteStatementEnd();
+				}
+				rowCounts = MultiRowInsert.toRowCounts( updateCount, rowCount );
+			}
+			else {
+				try {
+					observer.jdbcExecuteBatchStart();
+					rowCounts = statement.executeBatch();
+				}
+				finally {
+					observer.jdbcExecuteBatchEnd();
+				}
+			}
+			if ( batchSizer != null ) {
+				batchSizer.recordExecution( getKey(), sql, rowCount, System.nanoTime() - start );
+			}
+			checkRowCounts( rowCounts, rowCount, statement );
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		if ( multiRowInserts != null ) {
+			for ( MultiRowInsert multiRowInsert : multiRowInserts.values() ) {
+				if ( multiRowInsert != null ) {
+					multiRowInsert.clear();
+				}
+			}
 		}
+		super.releaseStatements();
 	}
 
-	private void checkRowCounts(int[] rowCounts, PreparedStatement ps) throws SQLException, HibernateException {
+	private void checkRowCounts(int[] rowCounts, int expectedRowCount, PreparedStatement ps)
+			throws SQLException, HibernateException {
 		final int numberOfRowCounts = rowCounts.length;
-		if ( numberOfRowCounts != batchPosition ) {
+		if ( numberOfRowCounts != expectedRowCount ) {
 			LOG.unexpectedRowCounts();
 		}
 		for ( int i = 0; i < numberOfRowCounts; i++ ) {
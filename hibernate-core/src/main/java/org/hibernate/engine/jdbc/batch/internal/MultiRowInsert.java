@@ -0,0 +1,291 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Supports executing a batch of single-row {@code INSERT ... VALUES (...)} statements as one multi-row
+ * {@code INSERT ... VALUES (...), (...), ...} statement.
+ * <p/>
+ * The parameter values bound for each row are recorded (through the {@link #getRecorder recorder} statement handed to
+ * the persisters in place of the actual statement) and replayed, with shifted parameter positions, onto the
+ * multi-row statement when the batch is executed.
+ *
+ * @see org.hibernate.dialect.Dialect#supportsValuesListForInsert()
+ */
+class MultiRowInsert {
+	private static final String VALUES = "values";
+
+	private final String sql;
+	private final String valuesPrefix;
+	private final String valuesTuple;
+	private final int parameterCount;
+
+	private final List<List<ParameterBinding>> rows = new ArrayList<List<ParameterBinding>>();
+	private List<ParameterBinding> currentRow = new ArrayList<ParameterBinding>();
+
+	private PreparedStatement target;
+	private final PreparedStatement recorder;
+
+	private MultiRowInsert(String sql, String valuesPrefix, String valuesTuple, int parameterCount) {
+		this.sql = sql;
+		this.valuesPrefix = valuesPrefix;
+		this.valuesTuple = valuesTuple;
+		this.parameterCount = parameterCount;
+		this.recorder = (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatement.class.getClassLoader(),
+				new Class[] { PreparedStatement.class },
+				new Recorder()
+		);
+	}
+
+	/**
+	 * Prepares a multi-row insert for the given SQL, if it is a single-row {@code INSERT ... VALUES (...)} statement.
+	 *
+	 * @param sql The single-row insert SQL
+	 *
+	 * @return The multi-row insert, or {@code null} if the SQL cannot be rewritten.
+	 */
+	static MultiRowInsert forSql(String sql) {
+		final String lowerCaseSql = sql.toLowerCase( Locale.ROOT );
+		final int valuesIndex = lowerCaseSql.lastIndexOf( VALUES );
+		if ( valuesIndex < 0 || !isInsert( lowerCaseSql ) ) {
+			return null;
+		}
+		final String tuple = sql.substring( valuesIndex + VALUES.length() ).trim();
+		if ( !isParenthesizedTuple( tuple ) || tuple.toLowerCase( Locale.ROOT ).contains( "select" ) ) {
+			return null;
+		}
+		final int parameterCount = countParameters( tuple );
+		if ( parameterCount == 0 ) {
+			return null;
+		}
+		return new MultiRowInsert( sql, sql.substring( 0, valuesIndex + VALUES.length() ) + ' ', tuple, parameterCount );
+	}
+
+	private static boolean isInsert(String lowerCaseSql) {
+		String statement = lowerCaseSql.trim();
+		if ( statement.startsWith( "/*" ) ) {
+			// skip the comment added when hibernate.use_sql_comments is enabled
+			final int commentEnd = statement.indexOf( "*/" );
+			statement = commentEnd < 0 ? "" : statement.substring( commentEnd + 2 ).trim();
+		}
+		return statement.startsWith( "insert " );
+	}
+
+	private static boolean isParenthesizedTuple(String tuple) {
+		if ( tuple.length() < 2 || tuple.charAt( 0 ) != '(' || tuple.charAt( tuple.length() - 1 ) != ')' ) {
+			return false;
+		}
+		// the opening parenthesis must be closed by the last character only
+		int depth = 0;
+		boolean quoted = false;
+		for ( int i = 0; i < tuple.length(); i++ ) {
+			final char c = tuple.charAt( i );
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			}
+			else if ( !quoted && c == '(' ) {
+				depth++;
+			}
+			else if ( !quoted && c == ')' && --depth == 0 && i < tuple.length() - 1 ) {
+				return false;
+			}
+		}
+		return depth == 0 && !quoted;
+	}
+
+	private static int countParameters(String tuple) {
+		int count = 0;
+		boolean quoted = false;
+		for ( int i = 0; i < tuple.length(); i++ ) {
+			final char c = tuple.charAt( i );
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			}
+			else if ( !quoted && c == '?' ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The statement to bind the parameters of the next row on.
+	 *
+	 * @param target The actual single-row statement, used to answer calls other than parameter bindings
+	 *
+	 * @return The recording statement
+	 */
+	PreparedStatement getRecorder(PreparedStatement target) {
+		this.target = target;
+		return recorder;
+	}
+
+	/**
+	 * Completes the row whose parameters were bound since the previous call.
+	 */
+	void addRow() {
+		rows.add( currentRow );
+		currentRow = new ArrayList<ParameterBinding>( parameterCount );
+	}
+
+	int getRowCount() {
+		return rows.size();
+	}
+
+	int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * The SQL inserting the given number of rows.
+	 *
+	 * @param rowCount The number of rows
+	 *
+	 * @return The SQL
+	 */
+	String getSql(int rowCount) {
+		if ( rowCount == 1 ) {
+			return sql;
+		}
+		final StringBuilder buffer = new StringBuilder( valuesPrefix.length() + rowCount * ( valuesTuple.length() + 2 ) )
+				.append( valuesPrefix )
+				.append( valuesTuple );
+		for ( int i = 1; i < rowCount; i++ ) {
+			buffer.append( ", " ).append( valuesTuple );
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Binds the parameters of a range of the recorded rows to the statement {@link #getSql prepared} for them.
+	 *
+	 * @param statement The multi-row statement
+	 * @param fromRow The first row to bind, inclusive
+	 * @param toRow The last row to bind, exclusive
+	 *
+	 * @throws SQLException Indicates a problem binding the parameters
+	 */
+	void bindRows(PreparedStatement statement, int fromRow, int toRow) throws SQLException {
+		for ( int i = fromRow; i < toRow; i++ ) {
+			final int offset = ( i - fromRow ) * parameterCount;
+			for ( ParameterBinding binding : rows.get( i ) ) {
+				binding.bind( statement, offset );
+			}
+		}
+	}
+
+	/**
+	 * Attributes the update count of the multi-row statement to the individual rows, so that it can be verified
+	 * like the row counts of a JDBC batch.  Rows are assumed to succeed in order: when fewer rows than expected were
+	 * inserted the trailing rows are reported as not inserted, when more were inserted the excess is reported
+	 * against the last row.
+	 *
+	 * @param updateCount The update count of the multi-row statement
+	 * @param rowCount The number of rows inserted by the statement
+	 *
+	 * @return The row counts, one per row
+	 */
+	static int[] toRowCounts(int updateCount, int rowCount) {
+		final int[] rowCounts = new int[rowCount];
+		for ( int i = 0; i < rowCounts.length; i++ ) {
+			if ( updateCount == Statement.SUCCESS_NO_INFO ) {
+				rowCounts[i] = Statement.SUCCESS_NO_INFO;
+			}
+			else {
+				rowCounts[i] = i < updateCount ? 1 : 0;
+			}
+		}
+		if ( updateCount > rowCounts.length ) {
+			rowCounts[rowCounts.length - 1] += updateCount - rowCounts.length;
+		}
+		return rowCounts;
+	}
+
+	/**
+	 * Discards the recorded rows.
+	 */
+	void clear() {
+		rows.clear();
+		currentRow.clear();
+	}
+
+	private static class ParameterBinding {
+		private final Method method;
+		private final Object[] arguments;
+
+		private ParameterBinding(Method method, Object[] arguments) {
+			this.method = method;
+			this.arguments = arguments;
+		}
+
+		private void bind(PreparedStatement statement, int offset) throws SQLException {
+			final Object[] shiftedArguments = arguments.clone();
+			shiftedArguments[0] = (Integer) arguments[0] + offset;
+			invoke( method, statement, shiftedArguments );
+		}
+	}
+
+	private static Object invoke(Method method, Object target, Object[] arguments) throws SQLException {
+		try {
+			return method.invoke( target, arguments );
+		}
+		catch (InvocationTargetException e) {
+			final Throwable cause = e.getTargetException();
+			if ( cause instanceof SQLException ) {
+				throw (SQLException) cause;
+			}
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException( cause );
+		}
+		catch (IllegalAccessException e) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private class Recorder implements InvocationHandler {
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+			if ( name.startsWith( "set" ) && args != null && args.length > 1 && args[0] instanceof Integer ) {
+				currentRow.add( new ParameterBinding( method, args ) );
+				return null;
+			}
+			else if ( "clearParameters".equals( name ) ) {
+				currentRow.clear();
+				return null;
+			}
+			else if ( "equals".equals( name ) ) {
+				return proxy == args[0];
+			}
+			else if ( "hashCode".equals( name ) ) {
+				return System.identityHashCode( proxy );
+			}
+			else if ( "toString".equals( name ) ) {
+				return "MultiRowInsert(" + sql + ")";
+			}
+			else if ( name.startsWith( "execute" ) || name.endsWith( "Batch" ) ) {
+				throw new UnsupportedOperationException( "Statement is managed by the batch: " + name );
+			}
+			// anything else (getConnection(), getParameterMetaData(), ...) is answered by the actual statement
+			return MultiRowInsert.invoke( method, target, args );
+		}
+	}
+}
@@ -0,0 +1,22 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.spi;
+
+import java.util.Map;
+
+/**
+ * Optional contract for {@link BatchBuilder} implementations adapting the size of their batches, to expose the sizes
+ * they chose.
+ */
+public interface AdaptiveBatchSizing {
+	/**
+	 * The batch sizes currently chosen, by batch key.
+	 *
+	 * @return The batch sizes; empty unless adaptive batch sizing is enabled
+	 */
+	public Map<String, Integer> getAdaptiveBatchSizes();
+}
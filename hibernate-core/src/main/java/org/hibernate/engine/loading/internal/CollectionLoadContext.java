@@ -20,6 +20,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -347,6 +348,7 @@ public class CollectionLoadContext {
 
 		// CollectionRegionAccessStrategy has no update, so avoid putting uncommitted data via putFromLoad
 		if (isPutFromLoad) {
+			final long start = CacheHelper.startTime( session );
 			try {
 				session.getEventListenerManager().cachePutStart();
 				final boolean put = persister.getCacheAccessStrategy().putFromLoad(
@@ -363,6 +365,12 @@ public class CollectionLoadContext {
 			}
 			finally {
 				session.getEventListenerManager().cachePutEnd();
+				if ( start != 0 ) {
+					factory.getStatisticsImplementor().secondLevelCachePutExecuted(
+							persister.getCacheAccessStrategy().getRegion().getName(),
+							System.nanoTime() - start
+					);
+				}
 			}
 		}
 	}
@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.Filter;
 import org.hibernate.MappingException;
@@ -25,6 +26,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.internal.util.collections.WeightBoundedConcurrentCache;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 
 /**
@@ -32,6 +34,7 @@ import org.hibernate.internal.util.config.ConfigurationHelper;
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_MAX_BYTES
  *
  * @author Steve Ebersole
  */
@@ -52,7 +55,7 @@ public class QueryPlanCache implements Serializable {
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap queryPlanCache;
+	private final ConcurrentMap queryPlanCache;
 
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
@@ -99,7 +102,17 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		final long maxQueryPlanBytes = ConfigurationHelper.getLong(
+				Environment.QUERY_PLAN_CACHE_MAX_BYTES,
+				factory.getProperties(),
+				-1
+		);
+		if ( maxQueryPlanBytes > 0 ) {
+			queryPlanCache = new WeightBoundedConcurrentCache( maxQueryPlanBytes, new QueryPlanWeigher() );
+		}
+		else {
+			queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		}
 		parameterMetadataCache = new BoundedConcurrentHashMap<String, ParameterMetadata>(
 				maxParameterMetadataCount,
 				20,
@@ -225,6 +238,34 @@ public class QueryPlanCache implements Serializable {
 		parameterMetadataCache.clear();
 	}
 
+	/**
+	 * Estimates the retained heap size of the cached plans.  The bulk of an HQL plan is the translator state (the
+	 * SQL AST, loader and parameter specifications), which grows roughly linearly with the size of the generated SQL;
+	 * native plans mostly retain their query string and return definitions.
+	 */
+	private static class QueryPlanWeigher implements WeightBoundedConcurrentCache.Weigher<Object, Object>, Serializable {
+		private static final long PLAN_OVERHEAD = 1024;
+		private static final long TRANSLATOR_OVERHEAD = 4096;
+		private static final long BYTES_PER_SQL_CHARACTER = 24;
+		private static final long BYTES_PER_QUERY_CHARACTER = 2;
+
+		@Override
+		public long weigh(Object key, Object plan) {
+			long weight = PLAN_OVERHEAD;
+			if ( plan instanceof HQLQueryPlan ) {
+				final HQLQueryPlan hqlPlan = (HQLQueryPlan) plan;
+				weight += BYTES_PER_QUERY_CHARACTER * hqlPlan.getSourceQuery().length();
+				for ( String sql : hqlPlan.getSqlStrings() ) {
+					weight += TRANSLATOR_OVERHEAD + BYTES_PER_SQL_CHARACTER * sql.length();
+				}
+			}
+			else if ( plan instanceof NativeSQLQueryPlan ) {
+				weight += BYTES_PER_QUERY_CHARACTER * 2 * ( (NativeSQLQueryPlan) plan ).getSourceQuery().length();
+			}
+			return weight;
+		}
+	}
+
 	private static class HQLQueryPlanKey implements Serializable {
 		private final String query;
 		private final boolean shallow;
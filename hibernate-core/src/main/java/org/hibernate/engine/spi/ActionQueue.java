@@ -40,6 +40,7 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.QuerySpaceKey;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
@@ -457,8 +458,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set<Serializable> propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				if ( session.getFactory().getUpdateTimestampsCache().isEntityInvalidationEnabled() ) {
+					invalidateSpacesAndRows( list );
+				}
+				else {
+					Set<Serializable> propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				}
 			}
 		}
 
@@ -493,6 +499,36 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Variant of {@link #invalidateSpaces} used with entity level query cache invalidation: entity updates only
+	 * invalidate the updated rows, any other action invalidates its spaces.
+	 *
+	 * @param list The executed actions
+	 */
+	private void invalidateSpacesAndRows(ExecutableList<?> list) {
+		final Set<Serializable> spaces = new HashSet<Serializable>();
+		final Set<QuerySpaceKey> rows = new HashSet<QuerySpaceKey>();
+		for ( Executable e : list ) {
+			if ( e instanceof EntityUpdateAction
+					&& !( (EntityUpdateAction) e ).getPersister().getIdentifierType().isComponentType() ) {
+				final Serializable id = ( (EntityUpdateAction) e ).getId();
+				for ( Serializable space : e.getPropertySpaces() ) {
+					rows.add( QuerySpaceKey.row( space, id ) );
+				}
+			}
+			else if ( e.getPropertySpaces() != null ) {
+				Collections.addAll( spaces, e.getPropertySpaces() );
+			}
+		}
+		if ( !spaces.isEmpty() ) {
+			invalidateSpaces( spaces.toArray( new Serializable[spaces.size()] ) );
+		}
+		if ( !rows.isEmpty() ) {
+			afterTransactionProcesses.addRowsToInvalidate( rows );
+			session.getFactory().getUpdateTimestampsCache().preInvalidateRows( rows, session );
+		}
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 * 
@@ -720,6 +756,7 @@ public class ActionQueue {
 	 */
 	private static class AfterTransactionCompletionProcessQueue extends AbstractTransactionCompletionProcessQueue<AfterTransactionCompletionProcess> {
 		private Set<String> querySpacesToInvalidate = new HashSet<String>();
+		private Set<QuerySpaceKey> rowsToInvalidate = new HashSet<QuerySpaceKey>();
 
 		private AfterTransactionCompletionProcessQueue(SessionImplementor session) {
 			super( session );
@@ -729,6 +766,10 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addRowsToInvalidate(Set<QuerySpaceKey> rows) {
+			rowsToInvalidate.addAll( rows );
+		}
+
 		public void afterTransactionCompletion(boolean success) {
 			while ( !processes.isEmpty() ) {
 				try {
@@ -748,8 +789,12 @@ public class ActionQueue {
 						querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ),
 						session
 				);
+				if ( !rowsToInvalidate.isEmpty() ) {
+					session.getFactory().getUpdateTimestampsCache().invalidateRows( rowsToInvalidate, session );
+				}
 			}
 			querySpacesToInvalidate.clear();
+			rowsToInvalidate.clear();
 		}
 	}
 
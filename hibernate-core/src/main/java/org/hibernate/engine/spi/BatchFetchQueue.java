@@ -7,11 +7,18 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
@@ -176,6 +183,10 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
+			final SharedCacheCheck<EntityKey> cacheCheck = isCacheable( persister )
+					? new EntitySharedCacheCheck( set, persister, batchSize )
+					: null;
+			int index = 0;
 			for ( EntityKey key : set ) {
 				if ( checkForEnd && i == end ) {
 					//the first id found after the given id
@@ -185,10 +196,11 @@ public class BatchFetchQueue {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, persister ) ) {
+					if ( cacheCheck == null || !cacheCheck.isCached( index, key ) ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
+				index++;
 				if ( i == batchSize ) {
 					i = 1; // end of array, start filling again from start
 					if ( end != -1 ) {
@@ -200,16 +212,8 @@ public class BatchFetchQueue {
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			final CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					persister.getRootEntityName()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), key, persister.getCacheAccessStrategy() ) != null;
-		}
-		return false;
+	private boolean isCacheable(EntityPersister persister) {
+		return context.getSession().getCacheMode().isGetEnabled() && persister.hasCache();
 	}
 	
 
@@ -264,10 +268,15 @@ public class BatchFetchQueue {
 
 		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
+			final SharedCacheCheck<CollectionEntry> cacheCheck = isCacheable( collectionPersister )
+					? new CollectionSharedCacheCheck( map.keySet(), collectionPersister, batchSize )
+					: null;
+			int index = -1;
 			for ( Entry<CollectionEntry, PersistentCollection> me : map.entrySet() ) {
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection collection = me.getValue();
-				
+				index++;
+
 				if ( ce.getLoadedKey() == null ) {
 					// the loadedKey of the collectionEntry might be null as it might have been reset to null
 					// (see for example Collections.processDereferencedCollection()
@@ -297,7 +306,7 @@ public class BatchFetchQueue {
 					end = i;
 					//checkForEnd = false;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				else if ( cacheCheck == null || !cacheCheck.isCached( index, ce ) ) {
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
@@ -313,15 +322,118 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CacheKey cacheKey = context.getSession().generateCacheKey(
-					collectionKey,
-					persister.getKeyType(),
-					persister.getRole()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), cacheKey, persister.getCacheAccessStrategy() ) != null;
+	private boolean isCacheable(CollectionPersister persister) {
+		return context.getSession().getCacheMode().isGetEnabled() && persister.hasCache();
+	}
+
+	/**
+	 * Tells which of the batch candidates are already in the second-level cache.  The candidates are checked a chunk
+	 * at a time, as the batch building loop reaches them, so that a region supporting
+	 * {@link org.hibernate.cache.spi.access.BulkRegionAccessStrategy bulk access} is accessed once per chunk rather
+	 * than once per candidate.
+	 */
+	private abstract static class SharedCacheCheck<K> {
+		private final Iterator<K> candidates;
+		private final List<K> chunk;
+		private final int chunkSize;
+		private int position;
+		private Set<K> cached = Collections.emptySet();
+
+		private SharedCacheCheck(Collection<K> candidates, int chunkSize) {
+			this.candidates = candidates.iterator();
+			this.chunk = new ArrayList<K>( chunkSize );
+			this.chunkSize = chunkSize;
+		}
+
+		/**
+		 * @param index The position of the candidate, as the batch building loop iterates over the candidates
+		 * @param candidate The candidate
+		 */
+		boolean isCached(int index, K candidate) {
+			if ( index >= position ) {
+				// skip the candidates the loop did not ask about, then check the next chunk starting at this one
+				while ( position < index && candidates.hasNext() ) {
+					candidates.next();
+					position++;
+				}
+				chunk.clear();
+				while ( chunk.size() < chunkSize && candidates.hasNext() ) {
+					chunk.add( candidates.next() );
+					position++;
+				}
+				cached = cachedAmong( chunk );
+			}
+			return cached.contains( candidate );
+		}
+
+		abstract Set<K> cachedAmong(List<K> chunk);
+	}
+
+	private class EntitySharedCacheCheck extends SharedCacheCheck<EntityKey> {
+		private final EntityPersister persister;
+
+		private EntitySharedCacheCheck(Collection<EntityKey> candidates, EntityPersister persister, int chunkSize) {
+			super( candidates, chunkSize );
+			this.persister = persister;
+		}
+
+		@Override
+		Set<EntityKey> cachedAmong(List<EntityKey> chunk) {
+			final Map<CacheKey, EntityKey> keys = new HashMap<CacheKey, EntityKey>();
+			for ( EntityKey entityKey : chunk ) {
+				final CacheKey key = context.getSession().generateCacheKey(
+						entityKey.getIdentifier(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+				keys.put( key, entityKey );
+			}
+			final Set<EntityKey> cached = new HashSet<EntityKey>();
+			for ( CacheKey key : CacheHelper.fromSharedCache(
+					context.getSession(),
+					keys.keySet(),
+					persister.getCacheAccessStrategy()
+			).keySet() ) {
+				cached.add( keys.get( key ) );
+			}
+			return cached;
+		}
+	}
+
+	private class CollectionSharedCacheCheck extends SharedCacheCheck<CollectionEntry> {
+		private final CollectionPersister persister;
+
+		private CollectionSharedCacheCheck(
+				Collection<CollectionEntry> candidates,
+				CollectionPersister persister,
+				int chunkSize) {
+			super( candidates, chunkSize );
+			this.persister = persister;
+		}
+
+		@Override
+		Set<CollectionEntry> cachedAmong(List<CollectionEntry> chunk) {
+			final Map<CacheKey, CollectionEntry> keys = new HashMap<CacheKey, CollectionEntry>();
+			for ( CollectionEntry ce : chunk ) {
+				if ( ce.getLoadedKey() == null ) {
+					continue;
+				}
+				final CacheKey key = context.getSession().generateCacheKey(
+						ce.getLoadedKey(),
+						persister.getKeyType(),
+						persister.getRole()
+				);
+				keys.put( key, ce );
+			}
+			final Set<CollectionEntry> cached = new HashSet<CollectionEntry>();
+			for ( CacheKey key : CacheHelper.fromSharedCache(
+					context.getSession(),
+					keys.keySet(),
+					persister.getCacheAccessStrategy()
+			).keySet() ) {
+				cached.add( keys.get( key ) );
+			}
+			return cached;
 		}
-		return false;
 	}
 }
@@ -46,6 +46,8 @@ public final class QueryParameters {
 	private String comment;
 	private List<String> queryHints;
 	private ScrollMode scrollMode;
+	private boolean streaming;
+	private boolean detachRows;
 	private Serializable[] collectionKeys;
 	private Object optionalObject;
 	private String optionalEntityName;
@@ -333,6 +335,29 @@ public final class QueryParameters {
 		this.scrollMode = scrollMode;
 	}
 
+	/**
+	 * Are the results read once, row after row, as large results are?  If so, and no fetch size is set, the
+	 * results are fetched in batches of a default size.
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Are the entities of each row of scrolled results evicted from the session once the next row is read?
+	 */
+	public boolean isDetachRows() {
+		return detachRows;
+	}
+
+	public void setDetachRows(boolean detachRows) {
+		this.detachRows = detachRows;
+	}
+
 	public Serializable[] getCollectionKeys() {
 		return collectionKeys;
 	}
@@ -570,6 +595,8 @@ public final class QueryParameters {
 		copy.processedSQL = this.processedSQL;
 		copy.processedPositionalParameterTypes = this.processedPositionalParameterTypes;
 		copy.processedPositionalParameterValues = this.processedPositionalParameterValues;
+		copy.streaming = this.streaming;
+		copy.detachRows = this.detachRows;
 		return copy;
 	}
 
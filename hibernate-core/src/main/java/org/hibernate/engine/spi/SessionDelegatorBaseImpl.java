@@ -21,6 +21,7 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Query;
 import org.hibernate.ReplicationMode;
@@ -167,6 +168,11 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return sessionImplementor.scroll( criteria, scrollMode );
 	}
 
+	@Override
+	public ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean detachRows) {
+		return sessionImplementor.scroll( criteria, scrollMode, detachRows );
+	}
+
 	@Override
 	public List list(Criteria criteria) {
 		return sessionImplementor.list( criteria );
@@ -674,6 +680,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.byId( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return session.byMultipleIds( entityName );
+	}
+
+	@Override
+	public <T> MultiIdentifierLoadAccess<T> byMultipleIds(Class<T> entityClass) {
+		return session.byMultipleIds( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return session.byNaturalId( entityName );
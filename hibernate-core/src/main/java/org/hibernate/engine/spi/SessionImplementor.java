@@ -160,6 +160,13 @@ public interface SessionImplementor extends Serializable, LobCreationContext {
 	 */
 	ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode);
 
+	/**
+	 * Execute a criteria query for reading large results row after row
+	 *
+	 * @see Criteria#scroll(ScrollMode, boolean)
+	 */
+	ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean detachRows);
+
 	/**
 	 * Execute a criteria query
 	 */
@@ -840,18 +840,29 @@ public abstract class AbstractQueryImpl implements Query {
 			return query;
 		}
 
+		int bindValueCount = vals.size();
+		if ( isEnclosedInParens
+				&& session.getFactory().getSessionFactoryOptions().isInClauseParameterPaddingEnabled()
+				&& isInPredicate( beforePlaceholder ) ) {
+			// the padded values repeat the last one, which does not change the outcome of the IN predicate
+			bindValueCount = paddedInClauseSize( bindValueCount, inExprLimit );
+		}
+
 		StringBuilder list = new StringBuilder( 16 );
 		Iterator iter = vals.iterator();
-		int i = 0;
-		while ( iter.hasNext() ) {
+		Object value = null;
+		for ( int i = 0; i < bindValueCount; i++ ) {
+			if ( iter.hasNext() ) {
+				value = iter.next();
+			}
 			// Variable 'name' can represent a number or contain digit at the end. Surrounding it with
 			// characters to avoid ambiguous definition after concatenating value of 'i' counter.
-			String alias = ( isJpaPositionalParam ? 'x' + name : name ) + '_' + i++ + '_';
-			if ( namedParamsCopy.put( alias, new TypedValue( type, iter.next() ) ) != null ) {
+			String alias = ( isJpaPositionalParam ? 'x' + name : name ) + '_' + i + '_';
+			if ( namedParamsCopy.put( alias, new TypedValue( type, value ) ) != null ) {
 				throw new HibernateException( "Repeated usage of alias '" + alias + "' while expanding list parameter." );
 			}
 			list.append( ParserHelper.HQL_VARIABLE_PREFIX ).append( alias );
-			if ( iter.hasNext() ) {
+			if ( i + 1 < bindValueCount ) {
 				list.append( ", " );
 			}
 		}
@@ -865,6 +876,34 @@ public abstract class AbstractQueryImpl implements Query {
 		);
 	}
 
+	/**
+	 * Is the (parenthesized) list parameter following the given query fragment the operand of an IN predicate?
+	 */
+	private static boolean isInPredicate(String beforePlaceholder) {
+		int end = beforePlaceholder.lastIndexOf( '(' );
+		while ( end > 0 && Character.isWhitespace( beforePlaceholder.charAt( end - 1 ) ) ) {
+			end--;
+		}
+		return end >= 3
+				&& beforePlaceholder.regionMatches( true, end - 2, "in", 0, 2 )
+				&& !Character.isJavaIdentifierPart( beforePlaceholder.charAt( end - 3 ) );
+	}
+
+	/**
+	 * The number of bind values to use for an IN list of the given size when padding is enabled: the next power of
+	 * two, capped by the dialect's limit on the number of IN expressions (if any).
+	 */
+	private static int paddedInClauseSize(int size, int inExprLimit) {
+		if ( size < 2 ) {
+			return size;
+		}
+		final int padded = Integer.highestOneBit( size - 1 ) << 1;
+		if ( inExprLimit > 0 && padded > inExprLimit ) {
+			return Math.max( size, inExprLimit );
+		}
+		return padded;
+	}
+
 	public Query setParameterList(String name, Collection vals) throws HibernateException {
 		if ( vals == null ) {
 			throw new QueryException( "Collection must be not null!" );
@@ -19,10 +19,12 @@ import java.util.TimeZone;
 
 import org.hibernate.HibernateException;
 import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.hql.internal.HolderInstantiator;
 import org.hibernate.loader.Loader;
+import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.type.StandardBasicTypes;
 import org.hibernate.type.Type;
 
@@ -41,6 +43,7 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 	private final QueryParameters queryParameters;
 	private final Type[] types;
 	private HolderInstantiator holderInstantiator;
+	private Object[] loadedRow;
 
 	protected AbstractScrollableResults(
 			ResultSet rs,
@@ -91,8 +94,46 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 		return holderInstantiator;
 	}
 
+	/**
+	 * Remembers the results of the row just read, whose entities are to be evicted from the session once the
+	 * next row is read, if {@link QueryParameters#isDetachRows() requested}.
+	 *
+	 * @param row The results of the row, before their wrapping in a holder
+	 */
+	protected void setLoadedRow(Object[] row) {
+		if ( queryParameters.isDetachRows() ) {
+			loadedRow = row;
+		}
+	}
+
+	/**
+	 * Evicts the entities of the row read last from the session, if {@link QueryParameters#isDetachRows()
+	 * requested}.  Called before the next row is read, so that its entities, if also part of the row read last,
+	 * are not evicted with it.
+	 */
+	protected void detachLoadedRow() {
+		final Object[] row = loadedRow;
+		loadedRow = null;
+		if ( row != null && session instanceof Session && !session.isClosed() ) {
+			detach( row );
+		}
+	}
+
+	private void detach(Object[] row) {
+		for ( Object result : row ) {
+			if ( result instanceof Object[] ) {
+				detach( (Object[]) result );
+			}
+			else if ( result instanceof HibernateProxy
+					|| ( result != null && session.getPersistenceContext().isEntryFor( result ) ) ) {
+				( (Session) session ).evict( result );
+			}
+		}
+	}
+
 	@Override
 	public final void close() {
+		detachLoadedRow();
 		// not absolutely necessary, but does help with aggressive release
 		//session.getJDBCContext().getConnectionManager().closeQueryStatement( ps, resultSet );
 		session.getJdbcCoordinator().getResourceRegistry().release( ps );
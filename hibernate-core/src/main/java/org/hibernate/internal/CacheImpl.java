@@ -92,7 +92,23 @@ public class CacheImpl implements CacheImplementor {
 						MessageHelper.infoString( p, identifier, sessionFactory )
 				);
 			}
+			final long start = startTime();
 			p.getCacheAccessStrategy().evict( buildCacheKey( identifier, p ) );
+			evictExecuted( p.getCacheAccessStrategy().getRegion().getName(), start );
+			invalidateQueryEntityStates( p );
+		}
+	}
+
+	/**
+	 * Cached query results keeping the states of the returned entities would otherwise keep returning the evicted
+	 * states: invalidate the results using the tables of the entity hierarchy.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ENTITY_STATES
+	 */
+	private void invalidateQueryEntityStates(EntityPersister p) {
+		if ( updateTimestampsCache != null && settings.isQueryCacheEntityStatesEnabled() ) {
+			final EntityPersister root = sessionFactory.getEntityPersister( p.getRootEntityName() );
+			updateTimestampsCache.invalidate( root.getQuerySpaces() );
 		}
 	}
 
@@ -119,6 +135,7 @@ public class CacheImpl implements CacheImplementor {
 				LOG.debugf( "Evicting second-level cache: %s", p.getEntityName() );
 			}
 			p.getCacheAccessStrategy().evictAll();
+			invalidateQueryEntityStates( p );
 		}
 	}
 
@@ -170,7 +187,22 @@ public class CacheImpl implements CacheImplementor {
 				);
 			}
 			CacheKey cacheKey = buildCacheKey( ownerIdentifier, p );
+			final long start = startTime();
 			p.getCacheAccessStrategy().evict( cacheKey );
+			evictExecuted( p.getCacheAccessStrategy().getRegion().getName(), start );
+		}
+	}
+
+	private long startTime() {
+		return sessionFactory.getStatistics().isStatisticsEnabled() ? System.nanoTime() : 0;
+	}
+
+	private void evictExecuted(String regionName, long start) {
+		if ( start != 0 ) {
+			sessionFactory.getStatisticsImplementor().secondLevelCacheEvictExecuted(
+					regionName,
+					System.nanoTime() - start
+			);
 		}
 	}
 
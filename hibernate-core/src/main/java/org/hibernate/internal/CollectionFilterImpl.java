@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -68,6 +69,13 @@ public class CollectionFilterImpl extends QueryImpl {
 		throw new UnsupportedOperationException( "Can't scroll filters" );
 	}
 
+	/**
+	 * @see org.hibernate.Query#scroll(ScrollMode, boolean)
+	 */
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) throws HibernateException {
+		throw new UnsupportedOperationException( "Can't scroll filters" );
+	}
+
 	public Type[] typeArray() {
 		List typeList = getTypes();
 		int size = typeList.size();
@@ -381,6 +381,16 @@ public class CriteriaImpl implements Criteria, Serializable {
 		}
 	}
 	@Override
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) {
+		before();
+		try {
+			return session.scroll( this, scrollMode, detachRows );
+		}
+		finally {
+			after();
+		}
+	}
+	@Override
 	public Object uniqueResult() throws HibernateException {
 		return AbstractQueryImpl.uniqueElement( list() );
 	}
@@ -610,6 +620,10 @@ public class CriteriaImpl implements Criteria, Serializable {
 			return CriteriaImpl.this.scroll(scrollMode);
 		}
 		@Override
+		public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) throws HibernateException {
+			return CriteriaImpl.this.scroll( scrollMode, detachRows );
+		}
+		@Override
 		public Object uniqueResult() throws HibernateException {
 			return CriteriaImpl.this.uniqueResult();
 		}
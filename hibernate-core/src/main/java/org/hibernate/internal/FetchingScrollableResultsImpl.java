@@ -68,6 +68,7 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 			return false;
 		}
 
+		detachLoadedRow();
 		final Object row = getLoader().loadSequentialRowsForward(
 				getResultSet(),
 				getSession(),
@@ -89,6 +90,7 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 
 		currentPosition++;
 		currentRow = new Object[] {row};
+		setLoadedRow( currentRow );
 
 		if ( afterLast ) {
 			if ( maxPosition == null ) {
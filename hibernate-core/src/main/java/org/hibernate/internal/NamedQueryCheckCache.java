@@ -0,0 +1,253 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.collection.QueryableCollection;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Remembers, across restarts, which named HQL queries passed the startup check for a given mapping, so that they
+ * need not be translated again during the next startup.  The state is kept in a properties file holding a hash of
+ * the mapping and the query string of each verified named query; a file written for a different mapping is ignored.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECK_CACHE_FILE
+ */
+class NamedQueryCheckCache {
+	private static final Logger log = CoreLogging.logger( NamedQueryCheckCache.class );
+
+	private static final String MAPPING_HASH_KEY = "mapping.hash";
+	private static final String QUERY_KEY_PREFIX = "query.";
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+	private final File file;
+	private final String mappingHash;
+	private final Map<String, String> previouslyVerifiedQueries;
+	private final Map<String, String> verifiedQueries = new ConcurrentHashMap<String, String>();
+
+	private NamedQueryCheckCache(File file, String mappingHash, Map<String, String> previouslyVerifiedQueries) {
+		this.file = file;
+		this.mappingHash = mappingHash;
+		this.previouslyVerifiedQueries = previouslyVerifiedQueries;
+	}
+
+	/**
+	 * Loads the cache from the given file.  A missing or unreadable file, or one written for another mapping, results
+	 * in an empty cache.
+	 *
+	 * @param fileName The name of the cache file
+	 * @param metadata The mapping metadata
+	 * @param factory The SessionFactory being built
+	 *
+	 * @return The cache
+	 */
+	static NamedQueryCheckCache load(String fileName, MetadataImplementor metadata, SessionFactoryImplementor factory) {
+		final File file = new File( fileName );
+		final String mappingHash = determineMappingHash( metadata, factory );
+		final Map<String, String> verifiedQueries = new TreeMap<String, String>();
+
+		if ( file.isFile() ) {
+			final Properties properties = new Properties();
+			try {
+				final InputStream stream = new FileInputStream( file );
+				try {
+					properties.load( stream );
+				}
+				finally {
+					stream.close();
+				}
+			}
+			catch (IOException e) {
+				log.warnf( "Unable to read named query check cache file [%s] : %s", file, e );
+			}
+
+			if ( mappingHash.equals( properties.getProperty( MAPPING_HASH_KEY ) ) ) {
+				for ( String key : properties.stringPropertyNames() ) {
+					if ( key.startsWith( QUERY_KEY_PREFIX ) ) {
+						verifiedQueries.put( key.substring( QUERY_KEY_PREFIX.length() ), properties.getProperty( key ) );
+					}
+				}
+				log.debugf( "Loaded %s verified named queries from [%s]", verifiedQueries.size(), file );
+			}
+			else {
+				log.debugf( "Ignoring named query check cache file [%s] written for a different mapping", file );
+			}
+		}
+
+		return new NamedQueryCheckCache( file, mappingHash, verifiedQueries );
+	}
+
+	/**
+	 * Was the named query, with the given query string, verified by a previous startup against the same mapping?
+	 * If so it is carried over into the file written by {@link #save}.
+	 *
+	 * @param name The query name
+	 * @param queryString The HQL
+	 *
+	 * @return {@code true} if the query need not be checked again
+	 */
+	boolean isVerified(String name, String queryString) {
+		if ( queryString.equals( previouslyVerifiedQueries.get( name ) ) ) {
+			verifiedQueries.put( name, queryString );
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Records that the named query was checked successfully.
+	 *
+	 * @param name The query name
+	 * @param queryString The HQL
+	 */
+	void markVerified(String name, String queryString) {
+		verifiedQueries.put( name, queryString );
+	}
+
+	/**
+	 * Writes the queries verified by this startup to the file, unless they are exactly those found in it.
+	 */
+	void save() {
+		if ( verifiedQueries.equals( previouslyVerifiedQueries ) ) {
+			return;
+		}
+
+		final Properties properties = new Properties();
+		properties.setProperty( MAPPING_HASH_KEY, mappingHash );
+		for ( Map.Entry<String, String> entry : verifiedQueries.entrySet() ) {
+			properties.setProperty( QUERY_KEY_PREFIX + entry.getKey(), entry.getValue() );
+		}
+
+		// write to a temporary file first, so that concurrently starting nodes never read a partial file
+		final File directory = file.getAbsoluteFile().getParentFile();
+		try {
+			if ( directory != null && !directory.isDirectory() && !directory.mkdirs() ) {
+				throw new IOException( "Unable to create directory " + directory );
+			}
+			final File temporaryFile = File.createTempFile( file.getName(), ".tmp", directory );
+			final OutputStream stream = new FileOutputStream( temporaryFile );
+			try {
+				properties.store( stream, "Named queries verified by the Hibernate startup check" );
+			}
+			finally {
+				stream.close();
+			}
+			if ( !temporaryFile.renameTo( file ) ) {
+				// renaming over an existing file is not supported on all platforms
+				if ( !file.delete() || !temporaryFile.renameTo( file ) ) {
+					temporaryFile.delete();
+					throw new IOException( "Unable to rename " + temporaryFile + " to " + file );
+				}
+			}
+			log.debugf( "Wrote %s verified named queries to [%s]", verifiedQueries.size(), file );
+		}
+		catch (IOException e) {
+			log.warnf( "Unable to write named query check cache file [%s] : %s", file, e );
+		}
+	}
+
+	/**
+	 * Hashes everything the translation of HQL depends upon: the entity and collection persisters (names, types,
+	 * tables and columns), imports, SQL functions, the Dialect, the query related settings and the Hibernate version.
+	 */
+	private static String determineMappingHash(MetadataImplementor metadata, SessionFactoryImplementor factory) {
+		final StringBuilder buffer = new StringBuilder();
+		buffer.append( Version.getVersionString() ).append( '\n' );
+		buffer.append( factory.getDialect().getClass().getName() ).append( '\n' );
+		buffer.append( factory.getProperties().get( AvailableSettings.QUERY_TRANSLATOR ) ).append( '\n' );
+		buffer.append( sorted( factory.getSessionFactoryOptions().getQuerySubstitutions() ) ).append( '\n' );
+		buffer.append( factory.getSessionFactoryOptions().isStrictJpaQueryLanguageCompliance() ).append( '\n' );
+		buffer.append( sorted( metadata.getImports() ) ).append( '\n' );
+		for ( Map.Entry<String, SQLFunction> entry : sorted( metadata.getSqlFunctionMap() ).entrySet() ) {
+			buffer.append( entry.getKey() ).append( '=' ).append( entry.getValue().getClass().getName() ).append( '\n' );
+		}
+
+		for ( EntityPersister persister : sorted( factory.getEntityPersisters() ).values() ) {
+			buffer.append( persister.getEntityName() ).append( ':' ).append( persister.getMappedClass() );
+			buffer.append( ':' ).append( persister.getIdentifierPropertyName() );
+			appendType( buffer, persister.getIdentifierType() );
+			if ( persister instanceof Queryable ) {
+				final Queryable queryable = (Queryable) persister;
+				buffer.append( Arrays.toString( queryable.getConstraintOrderedTableNameClosure() ) );
+				buffer.append( Arrays.toString( queryable.getIdentifierColumnNames() ) );
+				buffer.append( queryable.getDiscriminatorSQLValue() );
+			}
+			final String[] propertyNames = persister.getPropertyNames();
+			final Type[] propertyTypes = persister.getPropertyTypes();
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				buffer.append( '\n' ).append( '\t' ).append( propertyNames[i] );
+				appendType( buffer, propertyTypes[i] );
+				if ( persister instanceof AbstractEntityPersister ) {
+					buffer.append( Arrays.toString( ( (AbstractEntityPersister) persister ).getPropertyColumnNames( i ) ) );
+				}
+			}
+			buffer.append( '\n' );
+		}
+
+		for ( CollectionPersister persister : sorted( factory.getCollectionPersisters() ).values() ) {
+			buffer.append( persister.getRole() );
+			appendType( buffer, persister.getKeyType() );
+			appendType( buffer, persister.getElementType() );
+			if ( persister.hasIndex() ) {
+				appendType( buffer, persister.getIndexType() );
+			}
+			if ( persister instanceof QueryableCollection ) {
+				final QueryableCollection queryable = (QueryableCollection) persister;
+				buffer.append( ':' ).append( queryable.getTableName() );
+				buffer.append( Arrays.toString( queryable.getKeyColumnNames() ) );
+				buffer.append( Arrays.toString( queryable.getElementColumnNames() ) );
+			}
+			buffer.append( '\n' );
+		}
+
+		try {
+			final byte[] digest = MessageDigest.getInstance( "SHA-1" ).digest( buffer.toString().getBytes( UTF_8 ) );
+			final StringBuilder hash = new StringBuilder( digest.length * 2 );
+			for ( byte b : digest ) {
+				hash.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+			}
+			return hash.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new HibernateException( "Unable to hash the mapping", e );
+		}
+	}
+
+	private static <K, V> TreeMap<K, V> sorted(Map<K, V> map) {
+		return map == null ? new TreeMap<K, V>() : new TreeMap<K, V>( map );
+	}
+
+	private static void appendType(StringBuilder buffer, Type type) {
+		buffer.append( ':' ).append( type.getClass().getName() ).append( '(' ).append( type.getName() ).append( ')' );
+	}
+}
@@ -6,9 +6,19 @@
  */
 package org.hibernate.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
@@ -143,58 +153,194 @@ public class NamedQueryRepository {
 	}
 
 	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache) {
-		Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+		return checkNamedQueries( queryPlanCache, null, 1 );
+	}
+
+	/**
+	 * Checks the named queries, skipping the HQL queries already verified according to the given cache.
+	 *
+	 * @param queryPlanCache The query plan cache
+	 * @param checkCache The named query check cache, may be {@code null}
+	 * @param parallelism The number of threads to use for checking the queries
+	 *
+	 * @return The errors, keyed (and ordered) by query name
+	 */
+	Map<String,HibernateException> checkNamedQueries(
+			QueryPlanCache queryPlanCache,
+			NamedQueryCheckCache checkCache,
+			int parallelism) {
+		final List<NamedQueryCheck> checks = new ArrayList<NamedQueryCheck>();
 
 		// Check named HQL queries
 		log.debugf( "Checking %s named HQL queries", namedQueryDefinitionMap.size() );
 		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+			final String name = namedQueryDefinition.getName();
+			final String queryString = namedQueryDefinition.getQueryString();
+			if ( checkCache != null && checkCache.isVerified( name, queryString ) ) {
+				log.debugf( "Skipping check of named query verified by a previous startup: %s", name );
+				continue;
 			}
-			catch ( HibernateException e ) {
-				errors.put( namedQueryDefinition.getName(), e );
-			}
-
-
+			checks.add( new NamedHqlQueryCheck( name, queryString, queryPlanCache, checkCache ) );
 		}
 
 		// Check native-sql queries
 		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
 		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
+			checks.add( new NamedSqlQueryCheck( namedSQLQueryDefinition, queryPlanCache ) );
+		}
+
+		final Map<String,HibernateException> errors = new TreeMap<String,HibernateException>();
+		if ( parallelism > 1 && checks.size() > 1 ) {
+			runChecksConcurrently( checks, parallelism, errors );
+		}
+		else {
+			for ( NamedQueryCheck check : checks ) {
+				final HibernateException error = check.call();
+				if ( error != null ) {
+					errors.put( check.name, error );
+				}
+			}
+		}
+		return errors;
+	}
+
+	private static void runChecksConcurrently(
+			List<NamedQueryCheck> checks,
+			int parallelism,
+			Map<String,HibernateException> errors) {
+		log.debugf( "Checking named queries using %s threads", parallelism );
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min( parallelism, checks.size() ),
+				new ThreadFactory() {
+					private final AtomicInteger threadCount = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread( runnable, "hibernate-named-query-check-" + threadCount.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
 					}
-					spec = new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							definition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
 				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							namedSQLQueryDefinition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
+		);
+		try {
+			final List<Future<HibernateException>> results = executor.invokeAll( checks );
+			for ( int i = 0; i < checks.size(); i++ ) {
+				final HibernateException error;
+				try {
+					error = results.get( i ).get();
 				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
+				catch (ExecutionException e) {
+					// anything but a HibernateException would have propagated out of a sequential check as well
+					final Throwable cause = e.getCause();
+					if ( cause instanceof RuntimeException ) {
+						throw (RuntimeException) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw (Error) cause;
+					}
+					throw new HibernateException( "Unable to check named query " + checks.get( i ).name, cause );
+				}
+				if ( error != null ) {
+					errors.put( checks.get( i ).name, error );
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while checking named queries", e );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * The check of a single named query, returning the error found (if any).
+	 */
+	private abstract static class NamedQueryCheck implements Callable<HibernateException> {
+		protected final String name;
+
+		protected NamedQueryCheck(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public HibernateException call() {
+			// this will throw an error if there's something wrong.
+			try {
+				check();
+				return null;
 			}
 			catch ( HibernateException e ) {
-				errors.put( namedSQLQueryDefinition.getName(), e );
+				return e;
 			}
 		}
 
-		return errors;
+		protected abstract void check();
+	}
+
+	private static class NamedHqlQueryCheck extends NamedQueryCheck {
+		private final String queryString;
+		private final QueryPlanCache queryPlanCache;
+		private final NamedQueryCheckCache checkCache;
+
+		private NamedHqlQueryCheck(
+				String name,
+				String queryString,
+				QueryPlanCache queryPlanCache,
+				NamedQueryCheckCache checkCache) {
+			super( name );
+			this.queryString = queryString;
+			this.queryPlanCache = queryPlanCache;
+			this.checkCache = checkCache;
+		}
+
+		@Override
+		protected void check() {
+			log.debugf( "Checking named query: %s", name );
+			//TODO: BUG! this currently fails for named queries for non-POJO entities
+			queryPlanCache.getHQLQueryPlan( queryString, false, Collections.EMPTY_MAP );
+			if ( checkCache != null ) {
+				checkCache.markVerified( name, queryString );
+			}
+		}
+	}
+
+	private class NamedSqlQueryCheck extends NamedQueryCheck {
+		private final NamedSQLQueryDefinition namedSQLQueryDefinition;
+		private final QueryPlanCache queryPlanCache;
+
+		private NamedSqlQueryCheck(NamedSQLQueryDefinition namedSQLQueryDefinition, QueryPlanCache queryPlanCache) {
+			super( namedSQLQueryDefinition.getName() );
+			this.namedSQLQueryDefinition = namedSQLQueryDefinition;
+			this.queryPlanCache = queryPlanCache;
+		}
+
+		@Override
+		protected void check() {
+			log.debugf( "Checking named SQL query: %s", name );
+			// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+			// currently not doable though because of the resultset-ref stuff...
+			NativeSQLQuerySpecification spec;
+			if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
+				ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+				if ( definition == null ) {
+					throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
+				}
+				spec = new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						definition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
+			}
+			else {
+				spec =  new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						namedSQLQueryDefinition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
+			}
+			queryPlanCache.getNativeSQLQueryPlan( spec );
+		}
 	}
 }
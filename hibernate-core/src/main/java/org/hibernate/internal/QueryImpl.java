@@ -66,11 +66,22 @@ public class QueryImpl extends AbstractQueryImpl {
 	}
 
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
+		return scroll( scrollMode, false, false );
+	}
+
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) throws HibernateException {
+		return scroll( scrollMode, true, detachRows );
+	}
+
+	private ScrollableResults scroll(ScrollMode scrollMode, boolean streaming, boolean detachRows)
+			throws HibernateException {
 		verifyParameters();
 		Map namedParams = getNamedParams();
 		before();
 		QueryParameters qp = getQueryParameters( namedParams );
 		qp.setScrollMode( scrollMode );
+		qp.setStreaming( streaming );
+		qp.setDetachRows( detachRows );
 		try {
 			return getSession().scroll( expandParameterLists( namedParams ), qp );
 		}
@@ -138,6 +138,15 @@ public class SQLQueryImpl extends AbstractQueryImpl implements SQLQuery {
 	}
 
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
+		return scroll( scrollMode, false, false );
+	}
+
+	public ScrollableResults scroll(ScrollMode scrollMode, boolean detachRows) throws HibernateException {
+		return scroll( scrollMode, true, detachRows );
+	}
+
+	private ScrollableResults scroll(ScrollMode scrollMode, boolean streaming, boolean detachRows)
+			throws HibernateException {
 		verifyParameters();
 		before();
 
@@ -146,6 +155,8 @@ public class SQLQueryImpl extends AbstractQueryImpl implements SQLQuery {
 
 		QueryParameters qp = getQueryParameters( namedParams );
 		qp.setScrollMode( scrollMode );
+		qp.setStreaming( streaming );
+		qp.setDetachRows( detachRows );
 
 		try {
 			return getSession().scroll( spec, qp );
@@ -184,6 +184,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 	}
 
 	private void prepareCurrentRow(boolean underlyingScrollSuccessful) {
+		detachLoadedRow();
 		if ( !underlyingScrollSuccessful ) {
 			currentRow = null;
 			return;
@@ -201,6 +202,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 		else {
 			currentRow = new Object[] {result};
 		}
+		setLoadedRow( currentRow );
 
 		if ( getHolderInstantiator() != null ) {
 			currentRow = new Object[] {getHolderInstantiator().instantiate( currentRow )};
@@ -56,6 +56,7 @@ import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
 import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.internal.CacheWarmer;
 import org.hibernate.cache.spi.CollectionRegion;
 import org.hibernate.cache.spi.EntityRegion;
 import org.hibernate.cache.spi.NaturalIdRegion;
@@ -484,7 +485,7 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 
 		//checking for named queries
 		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			final Map<String,HibernateException> errors = checkNamedQueries();
+			final Map<String,HibernateException> errors = checkNamedQueries( metadata );
 			if ( ! errors.isEmpty() ) {
 				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
 				String sep = "";
@@ -539,6 +540,10 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 				this,
 				serviceRegistry.getService( JndiService.class )
 		);
+
+		if ( settings.isSecondLevelCacheEnabled() ) {
+			new CacheWarmer( this, properties ).warmUp();
+		}
 	}
 
 	private void applyCfgXmlValues(LoadedConfig aggregatedConfig, SessionFactoryServiceRegistry serviceRegistry) {
@@ -752,8 +757,21 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 		return queryPlanCache;
 	}
 
-	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+	private Map<String,HibernateException> checkNamedQueries(MetadataImplementor metadata) throws HibernateException {
+		final int parallelism = sessionFactoryOptions.getNamedQueryStartupCheckParallelism();
+		final String checkCacheFile = sessionFactoryOptions.getNamedQueryStartupCheckCacheFile();
+		if ( checkCacheFile == null ) {
+			return namedQueryRepository.checkNamedQueries( queryPlanCache, null, parallelism );
+		}
+
+		final NamedQueryCheckCache checkCache = NamedQueryCheckCache.load( checkCacheFile, metadata, this );
+		final Map<String,HibernateException> errors = namedQueryRepository.checkNamedQueries(
+				queryPlanCache,
+				checkCache,
+				parallelism
+		);
+		checkCache.save();
+		return errors;
 	}
 
 	@Override
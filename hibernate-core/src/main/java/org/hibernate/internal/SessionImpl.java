@@ -42,6 +42,7 @@ import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.ObjectNotFoundException;
@@ -131,6 +132,7 @@ import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.procedure.ProcedureCall;
@@ -1044,6 +1046,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl<T>( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityName ) );
+	}
+
+	@Override
+	public <T> MultiIdentifierLoadAccess<T> byMultipleIds(Class<T> entityClass) {
+		return new MultiIdentifierLoadAccessImpl<T>( locateEntityPersister( entityClass ) );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -1635,6 +1647,15 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 
 	@Override
 	public ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode) {
+		return scroll( criteria, scrollMode, false, false );
+	}
+
+	@Override
+	public ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean detachRows) {
+		return scroll( criteria, scrollMode, true, detachRows );
+	}
+
+	private ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean streaming, boolean detachRows) {
 		// TODO: Is this guaranteed to always be CriteriaImpl?
 		CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
 
@@ -1651,7 +1672,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		autoFlushIfRequired( loader.getQuerySpaces() );
 		dontFlushFromFind++;
 		try {
-			return loader.scroll( this, scrollMode );
+			return loader.scroll( this, scrollMode, streaming, detachRows );
 		}
 		finally {
 			delayedAfterCompletion();
@@ -2633,6 +2654,114 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl<T> implements MultiIdentifierLoadAccess<T>, MultiLoadOptions {
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private CacheMode cacheMode;
+		private Integer batchSize;
+		private boolean sessionCheckingEnabled = true;
+		private boolean returnOfDeletedEntitiesEnabled;
+		private boolean orderedReturnEnabled = true;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> with(CacheMode cacheMode) {
+			this.cacheMode = cacheMode;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> withBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> enableSessionCheck(boolean enabled) {
+			this.sessionCheckingEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> enableReturnOfDeletedEntities(boolean enabled) {
+			this.returnOfDeletedEntitiesEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public final MultiIdentifierLoadAccessImpl<T> enableOrderedReturn(boolean enabled) {
+			this.orderedReturnEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public boolean isSessionCheckingEnabled() {
+			return sessionCheckingEnabled;
+		}
+
+		@Override
+		public boolean isReturnOfDeletedEntitiesEnabled() {
+			return returnOfDeletedEntitiesEnabled;
+		}
+
+		@Override
+		public boolean isOrderReturnEnabled() {
+			return orderedReturnEnabled;
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return lockOptions;
+		}
+
+		@Override
+		public Integer getBatchSize() {
+			return batchSize;
+		}
+
+		@Override
+		public <K extends Serializable> List<T> multiLoad(K... ids) {
+			return perform( ids );
+		}
+
+		@Override
+		public <K extends Serializable> List<T> multiLoad(List<K> ids) {
+			return perform( ids.toArray( new Serializable[ids.size()] ) );
+		}
+
+		@SuppressWarnings("unchecked")
+		private List<T> perform(Serializable[] ids) {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+			final CacheMode sessionCacheMode = getCacheMode();
+			final boolean cacheModeChanged = cacheMode != null && cacheMode != sessionCacheMode;
+			if ( cacheModeChanged ) {
+				setCacheMode( cacheMode );
+			}
+			boolean success = false;
+			try {
+				final List<T> results = entityPersister.multiLoad( ids, SessionImpl.this, this );
+				success = true;
+				return results;
+			}
+			finally {
+				if ( cacheModeChanged ) {
+					setCacheMode( sessionCacheMode );
+				}
+				afterOperation( success );
+			}
+		}
+	}
+
 	private EntityPersister locateEntityPersister(Class entityClass) {
 		return factory.locateEntityPersister( entityClass );
 	}
@@ -600,6 +600,15 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 
 	@Override
 	public ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode) {
+		return scroll( criteria, scrollMode, false, false );
+	}
+
+	@Override
+	public ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean detachRows) {
+		return scroll( criteria, scrollMode, true, detachRows );
+	}
+
+	private ScrollableResults scroll(Criteria criteria, ScrollMode scrollMode, boolean streaming, boolean detachRows) {
 		// TODO: Is this guaranteed to always be CriteriaImpl?
 		CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
 
@@ -612,7 +621,7 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 				entityName,
 				getLoadQueryInfluencers()
 		);
-		return loader.scroll( this, scrollMode );
+		return loader.scroll( this, scrollMode, streaming, detachRows );
 	}
 
 	@Override
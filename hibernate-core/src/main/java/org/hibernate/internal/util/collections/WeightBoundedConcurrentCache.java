@@ -0,0 +1,367 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent cache bounded by the total <em>weight</em> of its entries (as determined by a {@link Weigher}, for
+ * example an estimate of the retained heap size) rather than by the number of entries.
+ * <p/>
+ * The cache is split into a power-of-two number of shards, each owning an equal share of the maximum weight.  Reads
+ * are lock-free: they are served by the {@link ConcurrentHashMap} backing the shard and only set a "referenced" flag
+ * on the entry (a plain volatile write, skipped when the flag is already set).  Writes and evictions take the lock of
+ * the affected shard only.  Eviction uses the CLOCK (second chance) approximation of LRU: entries are swept in
+ * insertion order, entries read since the last sweep are spared once, the others are evicted until the shard is back
+ * within its budget.
+ * <p/>
+ * An entry heavier than the budget of a single shard is never retained.  {@code null} keys and values are not
+ * supported.  Iteration (through {@link #entrySet()}) operates on a snapshot and does not support removal.
+ */
+public class WeightBoundedConcurrentCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+	/**
+	 * Determines the weight of cache entries.
+	 */
+	public interface Weigher<K, V> {
+		/**
+		 * Determine the weight of the given entry.
+		 *
+		 * @param key The entry key
+		 * @param value The entry value
+		 *
+		 * @return The weight, a positive number
+		 */
+		long weigh(K key, V value);
+	}
+
+	private static final int MAXIMUM_SHARDS = 1 << 8;
+
+	private final Weigher<? super K, ? super V> weigher;
+	private final long maxWeight;
+	private final Shard<K, V>[] shards;
+	private final int shardMask;
+
+	/**
+	 * Constructs a cache sharded according to the number of available processors.
+	 *
+	 * @param maxWeight The maximum total weight of the retained entries
+	 * @param weigher The weigher
+	 */
+	public WeightBoundedConcurrentCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+		this( maxWeight, Runtime.getRuntime().availableProcessors(), weigher );
+	}
+
+	/**
+	 * Constructs a cache.
+	 *
+	 * @param maxWeight The maximum total weight of the retained entries
+	 * @param concurrencyLevel The expected number of concurrently updating threads; rounded up to a power of two to
+	 * give the number of shards
+	 * @param weigher The weigher
+	 */
+	@SuppressWarnings("unchecked")
+	public WeightBoundedConcurrentCache(long maxWeight, int concurrencyLevel, Weigher<? super K, ? super V> weigher) {
+		if ( maxWeight <= 0 ) {
+			throw new IllegalArgumentException( "maxWeight must be positive: " + maxWeight );
+		}
+		if ( weigher == null ) {
+			throw new IllegalArgumentException( "weigher must not be null" );
+		}
+		int shardCount = 1;
+		while ( shardCount < concurrencyLevel && shardCount < MAXIMUM_SHARDS ) {
+			shardCount <<= 1;
+		}
+		this.weigher = weigher;
+		this.maxWeight = maxWeight;
+		this.shards = new Shard[shardCount];
+		this.shardMask = shardCount - 1;
+		final long shardWeight = Math.max( 1L, maxWeight / shardCount );
+		for ( int i = 0; i < shardCount; i++ ) {
+			shards[i] = new Shard<K, V>( shardWeight );
+		}
+	}
+
+	private Shard<K, V> shardFor(Object key) {
+		final int hash = key.hashCode();
+		// ConcurrentHashMap uses the low bits for its own table; pick the shard from the spread high bits
+		return shards[( hash ^ ( hash >>> 16 ) ) * 0x9E3779B9 >>> 24 & shardMask];
+	}
+
+	/**
+	 * The maximum total weight of the retained entries.
+	 *
+	 * @return The maximum weight
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * The current total weight of the retained entries.
+	 *
+	 * @return The total weight
+	 */
+	public long weightedSize() {
+		long weight = 0;
+		for ( Shard<K, V> shard : shards ) {
+			weight += shard.weight;
+		}
+		return weight;
+	}
+
+	/**
+	 * The number of entries evicted so far to keep the cache within its maximum weight.
+	 *
+	 * @return The eviction count
+	 */
+	public long getEvictionCount() {
+		long count = 0;
+		for ( Shard<K, V> shard : shards ) {
+			count += shard.evictionCount;
+		}
+		return count;
+	}
+
+	@Override
+	public V get(Object key) {
+		final Node<K, V> node = shardFor( key ).map.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		if ( !node.referenced ) {
+			node.referenced = true;
+		}
+		return node.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return shardFor( key ).map.containsKey( key );
+	}
+
+	@Override
+	public int size() {
+		int size = 0;
+		for ( Shard<K, V> shard : shards ) {
+			size += shard.map.size();
+		}
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for ( Shard<K, V> shard : shards ) {
+			if ( !shard.map.isEmpty() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		checkNotNull( key, value );
+		return shardFor( key ).put( key, value, weigher.weigh( key, value ), false );
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		checkNotNull( key, value );
+		final Shard<K, V> shard = shardFor( key );
+		final Node<K, V> existing = shard.map.get( key );
+		if ( existing != null ) {
+			// avoid weighing (and locking) when the entry is already there
+			return existing.value;
+		}
+		return shard.put( key, value, weigher.weigh( key, value ), true );
+	}
+
+	@Override
+	public V remove(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		final Shard<K, V> shard = shardFor( key );
+		synchronized ( shard ) {
+			final Node<K, V> node = shard.map.remove( key );
+			if ( node == null ) {
+				return null;
+			}
+			shard.unlink( node );
+			return node.value;
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		if ( key == null || value == null ) {
+			return false;
+		}
+		final Shard<K, V> shard = shardFor( key );
+		synchronized ( shard ) {
+			final Node<K, V> node = shard.map.get( key );
+			if ( node == null || !node.value.equals( value ) ) {
+				return false;
+			}
+			shard.map.remove( key );
+			shard.unlink( node );
+			return true;
+		}
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		checkNotNull( key, newValue );
+		final Shard<K, V> shard = shardFor( key );
+		final long weight = weigher.weigh( key, newValue );
+		synchronized ( shard ) {
+			final Node<K, V> node = shard.map.get( key );
+			if ( node == null || !node.value.equals( oldValue ) ) {
+				return false;
+			}
+			shard.put( key, newValue, weight, false );
+			return true;
+		}
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		checkNotNull( key, value );
+		final Shard<K, V> shard = shardFor( key );
+		final long weight = weigher.weigh( key, value );
+		synchronized ( shard ) {
+			if ( !shard.map.containsKey( key ) ) {
+				return null;
+			}
+			return shard.put( key, value, weight, false );
+		}
+	}
+
+	@Override
+	public void clear() {
+		for ( Shard<K, V> shard : shards ) {
+			synchronized ( shard ) {
+				shard.map.clear();
+				shard.clock.clear();
+				shard.weight = 0;
+				shard.unlinkedCount = 0;
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		final Map<K, V> snapshot = new HashMap<K, V>();
+		for ( Shard<K, V> shard : shards ) {
+			for ( Node<K, V> node : shard.map.values() ) {
+				snapshot.put( node.key, node.value );
+			}
+		}
+		return Collections.unmodifiableMap( snapshot ).entrySet();
+	}
+
+	private static void checkNotNull(Object key, Object value) {
+		if ( key == null || value == null ) {
+			throw new IllegalArgumentException( "null keys and values are not supported" );
+		}
+	}
+
+	private static final class Node<K, V> implements Serializable {
+		private final K key;
+		private final V value;
+		private final long weight;
+		private volatile boolean referenced;
+		// guarded by the shard lock; set once the node is no longer mapped and only awaits removal from the clock
+		private boolean unlinked;
+
+		private Node(K key, V value, long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static final class Shard<K, V> implements Serializable {
+		private final long maxWeight;
+		private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<K, Node<K, V>>();
+
+		// the following are guarded by the shard lock (weight and evictionCount are only read without it)
+		private final ArrayDeque<Node<K, V>> clock = new ArrayDeque<Node<K, V>>();
+		private volatile long weight;
+		private volatile long evictionCount;
+		private int unlinkedCount;
+
+		private Shard(long maxWeight) {
+			this.maxWeight = maxWeight;
+		}
+
+		private synchronized V put(K key, V value, long entryWeight, boolean onlyIfAbsent) {
+			final Node<K, V> existing = map.get( key );
+			if ( existing != null ) {
+				if ( onlyIfAbsent ) {
+					return existing.value;
+				}
+				unlink( existing );
+			}
+			if ( entryWeight > maxWeight ) {
+				if ( existing != null ) {
+					map.remove( key );
+				}
+				return existing == null ? null : existing.value;
+			}
+
+			final Node<K, V> node = new Node<K, V>( key, value, entryWeight );
+			map.put( key, node );
+			clock.addLast( node );
+			weight += entryWeight;
+			evict();
+			return existing == null ? null : existing.value;
+		}
+
+		private void unlink(Node<K, V> node) {
+			// leave the node in the clock, it is discarded when the sweep reaches it
+			node.unlinked = true;
+			weight -= node.weight;
+			if ( ++unlinkedCount > map.size() ) {
+				final Iterator<Node<K, V>> nodes = clock.iterator();
+				while ( nodes.hasNext() ) {
+					if ( nodes.next().unlinked ) {
+						nodes.remove();
+					}
+				}
+				unlinkedCount = 0;
+			}
+		}
+
+		private void evict() {
+			while ( weight > maxWeight ) {
+				final Node<K, V> node = clock.pollFirst();
+				if ( node.unlinked ) {
+					unlinkedCount--;
+				}
+				else if ( node.referenced ) {
+					node.referenced = false;
+					clock.addLast( node );
+				}
+				else {
+					map.remove( node.key );
+					weight -= node.weight;
+					evictionCount++;
+				}
+			}
+		}
+	}
+}
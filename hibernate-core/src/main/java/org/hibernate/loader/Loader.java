@@ -98,6 +98,11 @@ public abstract class Loader {
 	protected static final CoreMessageLogger LOG = CoreLogging.messageLogger( Loader.class );
 	protected static final boolean DEBUG_ENABLED = LOG.isDebugEnabled();
 
+	/**
+	 * The fetch size of streamed results, when none is set.
+	 */
+	private static final int STREAM_FETCH_SIZE = 1000;
+
 	private final SessionFactoryImplementor factory;
 	private volatile ColumnNameCache columnNameCache;
 
@@ -1955,6 +1960,11 @@ public abstract class Loader {
 					st.setFetchSize( selection.getFetchSize() );
 				}
 			}
+			if ( queryParameters.isStreaming()
+					&& ( selection == null || selection.getFetchSize() == null )
+					&& getFactory().getSessionFactoryOptions().getJdbcFetchSize() == null ) {
+				st.setFetchSize( STREAM_FETCH_SIZE );
+			}
 
 			// handle lock timeout...
 			LockOptions lockOptions = queryParameters.getLockOptions();
@@ -99,8 +99,24 @@ public class CriteriaLoader extends OuterJoinLoader {
 
 	public ScrollableResults scroll(SessionImplementor session, ScrollMode scrollMode)
 			throws HibernateException {
+		return scroll( session, scrollMode, false, false );
+	}
+
+	/**
+	 * Scroll the results, possibly reading them row after row as large results are.
+	 *
+	 * @see org.hibernate.engine.spi.QueryParameters#isStreaming()
+	 * @see org.hibernate.engine.spi.QueryParameters#isDetachRows()
+	 */
+	public ScrollableResults scroll(
+			SessionImplementor session,
+			ScrollMode scrollMode,
+			boolean streaming,
+			boolean detachRows) throws HibernateException {
 		QueryParameters qp = translator.getQueryParameters();
 		qp.setScrollMode( scrollMode );
+		qp.setStreaming( streaming );
+		qp.setDetachRows( detachRows );
 		return scroll( qp, resultTypes, null, session );
 	}
 
@@ -0,0 +1,278 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.TwoPhaseLoad;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder.DynamicEntityLoader;
+import org.hibernate.persister.entity.MultiLoadOptions;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Loads multiple entities of a persister by their identifiers.  Entities already associated with the session are not
+ * read again, if so requested; entities cached in the second-level cache are then assembled; and the remaining
+ * entities are loaded from the database, in batches binding as many identifiers as the dialect allows.
+ * <p/>
+ * The loaders reading the database are built once per lock mode, their SQL being expanded to the number of
+ * identifiers of each batch, unless the session's enabled filters, fetch profiles or entity graphs require
+ * specific ones.
+ */
+public class MultiEntityLoader {
+	private static final Logger log = Logger.getLogger( MultiEntityLoader.class );
+
+	/**
+	 * The number of identifiers loaded at once, unless specified otherwise or limited by the dialect.
+	 */
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private final OuterJoinLoadable persister;
+	private final ConcurrentMap<LockMode, DynamicEntityLoader> loaders =
+			new ConcurrentHashMap<LockMode, DynamicEntityLoader>();
+
+	/**
+	 * Constructs a MultiEntityLoader
+	 *
+	 * @param persister The persister of the entities
+	 */
+	public MultiEntityLoader(OuterJoinLoadable persister) {
+		this.persister = persister;
+	}
+
+	/**
+	 * Loads the entities with the given identifiers.
+	 *
+	 * @param ids The identifiers of the entities
+	 * @param session The originating session
+	 * @param loadOptions The options of the load
+	 *
+	 * @return The entities, in the order of their identifiers and with {@code null} for those not found if so
+	 * requested, or else those found in no particular order
+	 */
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final LockOptions lockOptions = loadOptions.getLockOptions() == null
+				? new LockOptions( LockMode.NONE )
+				: loadOptions.getLockOptions();
+
+		final EntityKey[] entityKeys = new EntityKey[ids.length];
+		final Map<EntityKey, Serializable> idsToLoad = new LinkedHashMap<EntityKey, Serializable>();
+		for ( int i = 0; i < ids.length; i++ ) {
+			entityKeys[i] = session.generateEntityKey( ids[i], persister );
+			final Object managedEntity = loadOptions.isSessionCheckingEnabled()
+					? persistenceContext.getEntity( entityKeys[i] )
+					: null;
+			if ( managedEntity == null ) {
+				idsToLoad.put( entityKeys[i], ids[i] );
+			}
+			else {
+				upgradeLock( managedEntity, lockOptions, session );
+			}
+		}
+
+		if ( !idsToLoad.isEmpty()
+				&& persister.hasCache()
+				&& session.getCacheMode().isGetEnabled()
+				&& lockOptions.getLockMode().lessThan( LockMode.READ )
+				&& loadOptions.isSessionCheckingEnabled() ) {
+			loadFromSecondLevelCache( idsToLoad, session );
+		}
+
+		if ( !idsToLoad.isEmpty() ) {
+			loadFromDatabase( idsToLoad, lockOptions, session, loadOptions );
+		}
+
+		final List<Object> results = new ArrayList<Object>( ids.length );
+		for ( EntityKey entityKey : entityKeys ) {
+			Object entity = persistenceContext.getEntity( entityKey );
+			if ( entity != null && !persister.isInstance( entity ) ) {
+				// an entity of another subclass of the hierarchy
+				entity = null;
+			}
+			if ( entity != null && !loadOptions.isReturnOfDeletedEntitiesEnabled() ) {
+				final EntityEntry entry = persistenceContext.getEntry( entity );
+				if ( entry.getStatus() == Status.DELETED || entry.getStatus() == Status.GONE ) {
+					entity = null;
+				}
+			}
+			if ( entity != null || loadOptions.isOrderReturnEnabled() ) {
+				results.add( entity );
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Applies the requested lock to an entity returned from the persistence context, as
+	 * {@link org.hibernate.Session#get(Class, Serializable, LockOptions)} does.
+	 */
+	private void upgradeLock(Object entity, LockOptions lockOptions, SessionImplementor session) {
+		if ( !persister.isInstance( entity ) ) {
+			return;
+		}
+		final EntityEntry entry = session.getPersistenceContext().getEntry( entity );
+		// deleted entities cannot be locked: they are not returned, unless requested, and then as they are
+		if ( entry.getStatus() == Status.MANAGED && lockOptions.getLockMode().greaterThan( entry.getLockMode() ) ) {
+			( (EventSource) session ).buildLockRequest( lockOptions ).lock( persister.getEntityName(), entity );
+		}
+	}
+
+	private void loadFromSecondLevelCache(Map<EntityKey, Serializable> idsToLoad, SessionImplementor session) {
+		final Map<CacheKey, EntityKey> entityKeys = new LinkedHashMap<CacheKey, EntityKey>();
+		for ( Map.Entry<EntityKey, Serializable> idToLoad : idsToLoad.entrySet() ) {
+			final CacheKey cacheKey = session.generateCacheKey(
+					idToLoad.getValue(),
+					persister.getIdentifierType(),
+					persister.getRootEntityName()
+			);
+			entityKeys.put( cacheKey, idToLoad.getKey() );
+		}
+
+		final Map<CacheKey, Serializable> entries = CacheHelper.fromSharedCache(
+				session,
+				entityKeys.keySet(),
+				persister.getCacheAccessStrategy()
+		);
+		final SessionFactoryImplementor factory = session.getFactory();
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+			for ( CacheKey cacheKey : entityKeys.keySet() ) {
+				if ( entries.containsKey( cacheKey ) ) {
+					factory.getStatisticsImplementor().secondLevelCacheHit( regionName );
+				}
+				else {
+					factory.getStatisticsImplementor().secondLevelCacheMiss( regionName );
+				}
+			}
+		}
+
+		for ( Map.Entry<CacheKey, Serializable> cached : entries.entrySet() ) {
+			final EntityKey entityKey = entityKeys.get( cached.getKey() );
+			// initializing an entity may have initialized others through eager associations
+			if ( session.getPersistenceContext().getEntity( entityKey ) == null ) {
+				final CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure(
+						cached.getValue(),
+						factory
+				);
+				TwoPhaseLoad.initializeEntityFromCache(
+						entry,
+						entityKey.getIdentifier(),
+						persister,
+						null,
+						(EventSource) session
+				);
+			}
+			idsToLoad.remove( entityKey );
+		}
+	}
+
+	private void loadFromDatabase(
+			Map<EntityKey, Serializable> idsToLoad,
+			LockOptions lockOptions,
+			SessionImplementor session,
+			MultiLoadOptions loadOptions) {
+		final Serializable[] ids = idsToLoad.values().toArray( new Serializable[idsToLoad.size()] );
+		final int batchSize = determineBatchSize( loadOptions, session.getFactory().getDialect() );
+		final DynamicEntityLoader loader = getLoader( lockOptions.getLockMode(), session );
+
+		for ( int start = 0; start < ids.length; start += batchSize ) {
+			final Serializable[] batch = Arrays.copyOfRange( ids, start, Math.min( start + batchSize, ids.length ) );
+			if ( log.isDebugEnabled() ) {
+				log.debugf( "Multi-loading entities: %s", MessageHelper.infoString( persister, batch, session.getFactory() ) );
+			}
+
+			final Type[] types = new Type[batch.length];
+			Arrays.fill( types, persister.getIdentifierType() );
+			final QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes( types );
+			qp.setPositionalParameterValues( batch );
+			qp.setLockOptions( lockOptions );
+			loader.doEntityBatchFetch( session, qp, batch );
+		}
+	}
+
+	private DynamicEntityLoader getLoader(LockMode lockMode, SessionImplementor session) {
+		final LoadQueryInfluencers influencers = session.getLoadQueryInfluencers();
+		if ( isAffectedBy( influencers ) ) {
+			return new DynamicEntityLoader( persister, DEFAULT_BATCH_SIZE, lockMode, session.getFactory(), influencers );
+		}
+		DynamicEntityLoader loader = loaders.get( lockMode );
+		if ( loader == null ) {
+			loader = new DynamicEntityLoader(
+					persister,
+					DEFAULT_BATCH_SIZE,
+					lockMode,
+					session.getFactory(),
+					LoadQueryInfluencers.NONE
+			);
+			final DynamicEntityLoader existing = loaders.putIfAbsent( lockMode, loader );
+			if ( existing != null ) {
+				loader = existing;
+			}
+		}
+		return loader;
+	}
+
+	private static boolean isAffectedBy(LoadQueryInfluencers influencers) {
+		return influencers.hasEnabledFilters()
+				|| influencers.hasEnabledFetchProfiles()
+				|| influencers.getInternalFetchProfile() != null
+				|| influencers.getFetchGraph() != null
+				|| influencers.getLoadGraph() != null;
+	}
+
+	/**
+	 * The number of identifiers per batch, within the limits of the dialect on the number of elements of an
+	 * {@code IN} predicate and on the number of bound parameters: composite identifiers are bound one column at a
+	 * time.
+	 */
+	private int determineBatchSize(MultiLoadOptions loadOptions, Dialect dialect) {
+		final int columnCount = persister.getIdentifierColumnNames().length;
+		int batchSize;
+		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
+			batchSize = loadOptions.getBatchSize();
+		}
+		else {
+			batchSize = DEFAULT_BATCH_SIZE / columnCount;
+		}
+		final int inExpressionCountLimit = dialect.getInExpressionCountLimit();
+		if ( inExpressionCountLimit > 0 ) {
+			batchSize = Math.min( batchSize, inExpressionCountLimit );
+		}
+		final int parameterCountLimit = dialect.getParameterCountLimit();
+		if ( parameterCountLimit > 0 ) {
+			batchSize = Math.min( batchSize, parameterCountLimit / columnCount );
+		}
+		return Math.max( batchSize, 1 );
+	}
+}
@@ -35,10 +35,13 @@ import org.hibernate.StaleObjectStateException;
 import org.hibernate.StaleStateException;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.bytecode.internal.javassist.DirtyChecker;
+import org.hibernate.bytecode.internal.javassist.DirtyCheckerFactory;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
@@ -82,6 +85,7 @@ import org.hibernate.jdbc.TooManyRowsAffectedException;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
+import org.hibernate.loader.entity.MultiEntityLoader;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
@@ -172,6 +176,7 @@ public abstract class AbstractEntityPersister
 	private final String[][] propertyColumnReaderTemplates;
 	private final String[][] propertyColumnWriters;
 	private final boolean[][] propertyColumnUpdateable;
+	private DirtyChecker dirtyChecker;
 	private final boolean[][] propertyColumnInsertable;
 	private final boolean[] propertyUniqueness;
 	private final boolean[] propertySelectable;
@@ -218,6 +223,7 @@ public abstract class AbstractEntityPersister
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
 	private final Map loaders = new HashMap();
+	private final MultiEntityLoader multiEntityLoader = new MultiEntityLoader( this );
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -824,6 +830,10 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSessionFactoryOptions().isBinaryCacheEntriesEnabled() ) {
+			return new BinaryCacheEntryHelper( this );
+		}
+
 		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
@@ -3782,6 +3792,14 @@ public abstract class AbstractEntityPersister
 		createUniqueKeyLoaders();
 		createQueryLoader();
 
+		if ( factory.getSessionFactoryOptions().isGeneratedDirtyCheckingEnabled() ) {
+			dirtyChecker = DirtyCheckerFactory.buildDirtyChecker(
+					getEntityName(),
+					entityMetamodel.getProperties(),
+					propertyColumnUpdateable
+			);
+		}
+
 		doPostInstantiate();
 	}
 
@@ -3890,6 +3908,11 @@ public abstract class AbstractEntityPersister
 		return loader.load( id, optionalObject, session, lockOptions );
 	}
 
+	@Override
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions) {
+		return multiEntityLoader.multiLoad( ids, session, loadOptions );
+	}
+
 	public void registerAffectingFetchProfile(String fetchProfileName) {
 		affectingFetchProfileNames.add( fetchProfileName );
 	}
@@ -4012,14 +4035,16 @@ public abstract class AbstractEntityPersister
 	 */
 	public int[] findDirty(Object[] currentState, Object[] previousState, Object entity, SessionImplementor session)
 			throws HibernateException {
-		int[] props = TypeHelper.findDirty(
-				entityMetamodel.getProperties(),
-				currentState,
-				previousState,
-				propertyColumnUpdateable,
-				hasUninitializedLazyProperties( entity ),
-				session
-		);
+		int[] props = dirtyChecker != null
+				? dirtyChecker.findDirty( currentState, previousState, hasUninitializedLazyProperties( entity ), session )
+				: TypeHelper.findDirty(
+						entityMetamodel.getProperties(),
+						currentState,
+						previousState,
+						propertyColumnUpdateable,
+						hasUninitializedLazyProperties( entity ),
+						session
+				);
 		if ( props == null ) {
 			return null;
 		}
@@ -5124,6 +5149,31 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class BinaryCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+
+		private BinaryCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return BinaryCacheEntry.INSTANCE;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SessionImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					persister.hasUninitializedLazyProperties( entity ),
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
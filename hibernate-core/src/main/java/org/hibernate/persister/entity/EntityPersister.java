@@ -7,6 +7,7 @@
 package org.hibernate.persister.entity;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.EntityMode;
@@ -363,6 +364,18 @@ public interface EntityPersister extends OptimisticCacheSource, EntityDefinition
 	public Object load(Serializable id, Object optionalObject, LockOptions lockOptions, SessionImplementor session)
 	throws HibernateException;
 
+	/**
+	 * Load multiple instances of the persistent class by their identifiers, looking for them in the session and
+	 * the second-level cache first.
+	 *
+	 * @param ids The identifiers
+	 * @param session The originating session
+	 * @param loadOptions The options of the load
+	 *
+	 * @return The instances, in the order of their identifiers if requested by the options
+	 */
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions);
+
 	/**
 	 * Do a version check (optional operation)
 	 */
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.persister.entity;
+
+import org.hibernate.LockOptions;
+
+/**
+ * The options of a load of multiple entities by their identifiers.
+ *
+ * @see org.hibernate.MultiIdentifierLoadAccess
+ */
+public interface MultiLoadOptions {
+	/**
+	 * Are entities already associated with the session returned without reading their state again?
+	 */
+	boolean isSessionCheckingEnabled();
+
+	/**
+	 * Are entities deleted in the session returned?
+	 */
+	boolean isReturnOfDeletedEntitiesEnabled();
+
+	/**
+	 * Are entities returned in the order of their identifiers, with {@code null} for those which do not exist?
+	 */
+	boolean isOrderReturnEnabled();
+
+	/**
+	 * The lock options to load the entities with, or {@code null} if none were specified.
+	 */
+	LockOptions getLockOptions();
+
+	/**
+	 * The number of identifiers loaded at once, or {@code null} to use the default.
+	 */
+	Integer getBatchSize();
+}
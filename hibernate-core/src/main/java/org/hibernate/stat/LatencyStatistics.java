@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Distribution of the time taken by an operation, in nanoseconds.
+ * <p/>
+ * Times are recorded in a histogram whose precision is relative to the times themselves: percentiles are
+ * accurate to within 1/8th of the value reported.
+ */
+public interface LatencyStatistics extends Serializable {
+	/**
+	 * The number of times the operation was executed.
+	 */
+	long getCount();
+
+	/**
+	 * The average time taken by the operation, in nanoseconds.
+	 */
+	long getAvgTime();
+
+	/**
+	 * The shortest time taken by the operation, in nanoseconds.
+	 */
+	long getMinTime();
+
+	/**
+	 * The longest time taken by the operation, in nanoseconds.
+	 */
+	long getMaxTime();
+
+	/**
+	 * The time within which the given percentage of the executions completed, in nanoseconds.
+	 *
+	 * @param percentile The percentage of the executions, between 0 and 100; for example 99 for the 99th percentile
+	 */
+	long getPercentile(double percentile);
+}
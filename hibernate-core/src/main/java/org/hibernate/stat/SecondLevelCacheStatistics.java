@@ -22,6 +22,38 @@ public interface SecondLevelCacheStatistics extends Serializable {
 
 	long getPutCount();
 
+	/**
+	 * The number of entities or collections loaded into the region while
+	 * {@link org.hibernate.cfg.AvailableSettings#CACHE_WARMUP warming it up} at startup, so far.
+	 */
+	long getWarmUpCount();
+
+	/**
+	 * The time taken by lookups in the region, in nanoseconds.  A lookup of several items in a single call counts
+	 * as one.
+	 */
+	LatencyStatistics getGetLatency();
+
+	/**
+	 * The time taken by puts into the region of data loaded from the database, in nanoseconds.
+	 */
+	LatencyStatistics getPutLatency();
+
+	/**
+	 * The time taken by explicit evictions of single items from the region, through {@link org.hibernate.Cache},
+	 * in nanoseconds.
+	 */
+	LatencyStatistics getEvictLatency();
+
+	/**
+	 * The number of entries the region evicted on its own, to bound its size or because they expired.
+	 *
+	 * @return The number of evictions, or {@code -1} if the region doesn't keep count of them
+	 *
+	 * @see org.hibernate.cache.spi.EvictingRegion
+	 */
+	long getEvictionCount();
+
 	long getElementCountInMemory();
 
 	long getElementCountOnDisk();
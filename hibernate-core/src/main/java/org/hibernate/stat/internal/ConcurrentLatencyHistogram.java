@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.LatencyStatistics;
+
+/**
+ * A lock-free, fixed size histogram of times.
+ * <p/>
+ * Times below {@link #SUB_BUCKET_COUNT} nanoseconds are counted exactly; above, each range between two powers of two
+ * is split into {@link #SUB_BUCKET_COUNT} buckets of equal width, so that a bucket is never wider than 1/8th of the
+ * times it counts.  Recording a time is a few atomic increments, without any allocation.
+ */
+class ConcurrentLatencyHistogram implements LatencyStatistics {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = ( Long.SIZE - SUB_BUCKET_BITS ) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray( BUCKET_COUNT );
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalTime = new AtomicLong();
+	private final AtomicLong minTime = new AtomicLong( Long.MAX_VALUE );
+	private final AtomicLong maxTime = new AtomicLong();
+
+	/**
+	 * Records the time taken by an execution of the operation.
+	 *
+	 * @param time The time, in nanoseconds
+	 */
+	void record(long time) {
+		if ( time < 0 ) {
+			// System.nanoTime() is not always monotonic across cores
+			time = 0;
+		}
+		buckets.getAndIncrement( bucketIndex( time ) );
+		count.getAndIncrement();
+		totalTime.getAndAdd( time );
+
+		long current = minTime.get();
+		while ( time < current && !minTime.compareAndSet( current, time ) ) {
+			current = minTime.get();
+		}
+		current = maxTime.get();
+		while ( time > current && !maxTime.compareAndSet( current, time ) ) {
+			current = maxTime.get();
+		}
+	}
+
+	static int bucketIndex(long time) {
+		if ( time < SUB_BUCKET_COUNT ) {
+			return (int) time;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( time );
+		final int subBucket = (int) ( time >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKET_COUNT - 1 );
+		return ( exponent - SUB_BUCKET_BITS + 1 ) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * The highest time counted by a bucket.
+	 */
+	static long bucketUpperBound(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		final int subBucket = index % SUB_BUCKET_COUNT;
+		final int shift = exponent - SUB_BUCKET_BITS;
+		final long upperBound = ( (long) ( SUB_BUCKET_COUNT + subBucket + 1 ) << shift ) - 1;
+		// the last buckets reach beyond Long.MAX_VALUE
+		return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+	}
+
+	@Override
+	public long getCount() {
+		return count.get();
+	}
+
+	@Override
+	public long getAvgTime() {
+		final long executions = count.get();
+		return executions == 0 ? 0 : totalTime.get() / executions;
+	}
+
+	@Override
+	public long getMinTime() {
+		final long min = minTime.get();
+		return min == Long.MAX_VALUE ? 0 : min;
+	}
+
+	@Override
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	@Override
+	public long getPercentile(double percentile) {
+		final long executions = count.get();
+		if ( executions == 0 ) {
+			return 0;
+		}
+		final double ratio = Math.min( Math.max( percentile, 0d ), 100d ) / 100d;
+		final long target = Math.max( (long) Math.ceil( ratio * executions ), 1L );
+		final long max = maxTime.get();
+		long counted = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counted += buckets.get( i );
+			if ( counted >= target ) {
+				return Math.min( bucketUpperBound( i ), max );
+			}
+		}
+		// executions recorded while iterating
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "LatencyStatistics" )
+				.append( "[count=" ).append( getCount() )
+				.append( ",avgTime=" ).append( getAvgTime() )
+				.append( ",minTime=" ).append( getMinTime() )
+				.append( ",maxTime=" ).append( getMaxTime() )
+				.append( ",p50=" ).append( getPercentile( 50 ) )
+				.append( ",p99=" ).append( getPercentile( 99 ) )
+				.append( ']' )
+				.toString();
+	}
+}
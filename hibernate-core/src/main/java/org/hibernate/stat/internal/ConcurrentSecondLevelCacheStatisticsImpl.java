@@ -12,7 +12,9 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.EvictingRegion;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.stat.LatencyStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 
 /**
@@ -25,6 +27,10 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	private AtomicLong hitCount = new AtomicLong();
 	private AtomicLong missCount = new AtomicLong();
 	private AtomicLong putCount = new AtomicLong();
+	private AtomicLong warmUpCount = new AtomicLong();
+	private final ConcurrentLatencyHistogram getLatency = new ConcurrentLatencyHistogram();
+	private final ConcurrentLatencyHistogram putLatency = new ConcurrentLatencyHistogram();
+	private final ConcurrentLatencyHistogram evictLatency = new ConcurrentLatencyHistogram();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
 		super( region.getName() );
@@ -43,6 +49,26 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 		return putCount.get();
 	}
 
+	public long getWarmUpCount() {
+		return warmUpCount.get();
+	}
+
+	public LatencyStatistics getGetLatency() {
+		return getLatency;
+	}
+
+	public LatencyStatistics getPutLatency() {
+		return putLatency;
+	}
+
+	public LatencyStatistics getEvictLatency() {
+		return evictLatency;
+	}
+
+	public long getEvictionCount() {
+		return region instanceof EvictingRegion ? ( (EvictingRegion) region ).getEvictionCount() : -1;
+	}
+
 	public long getElementCountInMemory() {
 		return region.getElementCountInMemory();
 	}
@@ -60,7 +86,9 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 		Iterator iter = region.toMap().entrySet().iterator();
 		while (iter.hasNext()) {
 			Map.Entry me = (Map.Entry) iter.next();
-			map.put(((CacheKey) me.getKey()).getKey(), me.getValue());
+			// regions may store the bare identifier rather than the cache key
+			final Object key = me.getKey() instanceof CacheKey ? ((CacheKey) me.getKey()).getKey() : me.getKey();
+			map.put(key, me.getValue());
 		}
 		return map;
 	}
@@ -70,12 +98,17 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 				.append("SecondLevelCacheStatistics")
 				.append("[hitCount=").append(this.hitCount)
 				.append(",missCount=").append(this.missCount)
-				.append(",putCount=").append(this.putCount);
+				.append(",putCount=").append(this.putCount)
+				.append(",warmUpCount=").append(this.warmUpCount)
+				.append(",getLatency=").append(this.getLatency)
+				.append(",putLatency=").append(this.putLatency)
+				.append(",evictLatency=").append(this.evictLatency);
 		//not sure if this would ever be null but wanted to be careful
 		if (region != null) {
 			buf.append(",elementCountInMemory=").append(this.getElementCountInMemory())
 					.append(",elementCountOnDisk=").append(this.getElementCountOnDisk())
-					.append(",sizeInMemory=").append(this.getSizeInMemory());
+					.append(",sizeInMemory=").append(this.getSizeInMemory())
+					.append(",evictionCount=").append(this.getEvictionCount());
 		}
 		buf.append(']');
 		return buf.toString();
@@ -92,4 +125,20 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	void incrementPutCount() {
 		putCount.getAndIncrement();
 	}
+
+	void incrementWarmUpCount(int count) {
+		warmUpCount.getAndAdd( count );
+	}
+
+	void recordGetTime(long time) {
+		getLatency.record( time );
+	}
+
+	void recordPutTime(long time) {
+		putLatency.record( time );
+	}
+
+	void recordEvictTime(long time) {
+		evictLatency.record( time );
+	}
 }
@@ -6,31 +6,43 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
 
+import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.jdbc.batch.spi.AdaptiveBatchSizing;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.service.Service;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
 import static org.hibernate.internal.CoreLogging.messageLogger;
 
 /**
  * Implementation of {@link org.hibernate.stat.Statistics} based on the {@link java.util.concurrent} package.
+ * <p/>
+ * When JMX is {@link org.hibernate.cfg.AvailableSettings#JMX_ENABLED enabled}, the statistics are registered as a
+ * standard MBean whose interface is {@link Statistics}.
  *
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service, Manageable {
 	private static final CoreMessageLogger LOG = messageLogger( ConcurrentStatisticsImpl.class );
 
 	private SessionFactoryImplementor sessionFactory;
@@ -353,6 +365,26 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		secondLevelCacheMissCount.getAndIncrement();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
+
+	@Override
+	public void secondLevelCacheWarmUp(String regionName, int count) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementWarmUpCount( count );
+	}
+
+	@Override
+	public void secondLevelCacheGetExecuted(String regionName, long time) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).recordGetTime( time );
+	}
+
+	@Override
+	public void secondLevelCachePutExecuted(String regionName, long time) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).recordPutTime( time );
+	}
+
+	@Override
+	public void secondLevelCacheEvictExecuted(String regionName, long time) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).recordEvictTime( time );
+	}
 	
 	@Override
 	public void naturalIdCachePut(String regionName) {
@@ -801,6 +833,20 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			return ArrayHelper.toStringArray( sessionFactory.getAllSecondLevelCacheRegions().keySet() );
 		}
 	}
+	/**
+	 * Get the JDBC batch sizes chosen by the adaptive batch sizing
+	 */
+	@Override
+	public Map<String, Integer> getJdbcBatchSizes() {
+		if ( sessionFactory != null ) {
+			final BatchBuilder batchBuilder = sessionFactory.getServiceRegistry().getService( BatchBuilder.class );
+			if ( batchBuilder instanceof AdaptiveBatchSizing ) {
+				return ( (AdaptiveBatchSizing) batchBuilder ).getAdaptiveBatchSizes();
+			}
+		}
+		return Collections.emptyMap();
+	}
+
 	@Override
 	public void endTransaction(boolean success) {
 		transactionCount.getAndIncrement();
@@ -889,4 +935,24 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public String getQueryExecutionMaxTimeQueryString() {
 		return queryExecutionMaxTimeQueryString;
 	}
+
+	@Override
+	public String getManagementDomain() {
+		return null;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		return null;
+	}
+
+	@Override
+	public Object getManagementBean() {
+		try {
+			return new StandardMBean( this, Statistics.class );
+		}
+		catch (NotCompliantMBeanException e) {
+			throw new HibernateException( "Unable to build the statistics MBean", e );
+		}
+	}
 }
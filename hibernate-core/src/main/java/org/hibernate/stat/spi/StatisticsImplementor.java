@@ -6,6 +6,8 @@
  */
 package org.hibernate.stat.spi;
 
+import java.util.Map;
+
 import org.hibernate.service.Service;
 import org.hibernate.stat.Statistics;
 
@@ -154,6 +156,39 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 * @param regionName The name of the cache region
 	 */
 	public void secondLevelCacheMiss(String regionName);
+
+	/**
+	 * Callback indicating entities or collections were loaded into a second level cache region while warming it up.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param count The number of entities or collections loaded
+	 */
+	public void secondLevelCacheWarmUp(String regionName, int count);
+
+	/**
+	 * Callback indicating a lookup of one or several items in a second level cache region completed.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param time The time taken by the lookup, in nanoseconds
+	 */
+	public void secondLevelCacheGetExecuted(String regionName, long time);
+
+	/**
+	 * Callback indicating a put of data loaded from the database into a second level cache region completed,
+	 * whether the data was actually put or not.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param time The time taken by the put, in nanoseconds
+	 */
+	public void secondLevelCachePutExecuted(String regionName, long time);
+
+	/**
+	 * Callback indicating an explicit eviction from a second level cache region completed.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param time The time taken by the eviction, in nanoseconds
+	 */
+	public void secondLevelCacheEvictExecuted(String regionName, long time);
 	
 	/**
 	 * Callback indicating a put into natural id cache.
@@ -232,4 +267,15 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 * Callback indicating a put to the timestamp cache
 	 */
 	public void updateTimestampsCachePut();
+
+	/**
+	 * Get the JDBC batch sizes chosen by the adaptive batch sizing, keyed by the batched statement (entity or
+	 * collection role name and operation); empty unless
+	 * {@link org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_SIZE_ADAPTIVE adaptive batch sizing} is enabled and
+	 * the {@link org.hibernate.engine.jdbc.batch.spi.BatchBuilder} implements
+	 * {@link org.hibernate.engine.jdbc.batch.spi.AdaptiveBatchSizing}.
+	 *
+	 * @return The batch sizes
+	 */
+	public Map<String, Integer> getJdbcBatchSizes();
 }
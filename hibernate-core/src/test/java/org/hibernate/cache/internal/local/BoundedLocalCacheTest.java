@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedLocalCacheTest {
+	@Test
+	public void testBound() {
+		final BoundedLocalCache<Integer, String> cache = new BoundedLocalCache<Integer, String>( 100, 0, 1 );
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( i, "value" + i );
+		}
+		assertEquals( 100, cache.size() );
+		assertEquals( 900, cache.getEvictionCount() );
+		assertEquals( 100, cache.toMap().size() );
+	}
+
+	@Test
+	public void testFrequentlyAccessedEntriesSurviveScan() {
+		final BoundedLocalCache<Integer, String> cache = new BoundedLocalCache<Integer, String>( 100, 0, 1 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, "hot" + i );
+		}
+		for ( int round = 0; round < 5; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertNotNull( cache.get( i ) );
+			}
+		}
+		// a scan of keys written once must not flush the ones read over and over
+		for ( int i = 1000; i < 11000; i++ ) {
+			cache.put( i, "cold" + i );
+			assertNotNull( cache.get( i % 50 ) );
+		}
+		for ( int i = 0; i < 50; i++ ) {
+			assertEquals( "hot" + i, cache.get( i ) );
+		}
+		assertEquals( 100, cache.size() );
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		final BoundedLocalCache<String, String> cache = new BoundedLocalCache<String, String>( 10, 50, 1 );
+		cache.put( "key", "value" );
+		assertTrue( cache.containsKey( "key" ) );
+		assertEquals( "value", cache.get( "key" ) );
+		Thread.sleep( 100 );
+		assertFalse( cache.containsKey( "key" ) );
+		assertNull( cache.get( "key" ) );
+		assertEquals( 0, cache.size() );
+	}
+
+	@Test
+	public void testPinnedEntriesAreNotEvicted() throws Exception {
+		final BoundedLocalCache<Integer, String> cache = new BoundedLocalCache<Integer, String>( 100, 0, 1 );
+		for ( int i = 0; i < 10; i++ ) {
+			cache.putPinned( i, "pinned" + i, 60000 );
+		}
+		for ( int i = 100; i < 1100; i++ ) {
+			cache.put( i, "value" + i );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			assertEquals( "pinned" + i, cache.get( i ) );
+		}
+
+		// pinned entries expire
+		cache.putPinned( 5000, "expiring", 50 );
+		Thread.sleep( 100 );
+		assertNull( cache.get( 5000 ) );
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		final BoundedLocalCache<Integer, String> cache = new BoundedLocalCache<Integer, String>( 1000, 0, 16 );
+		for ( int i = 0; i < 500; i++ ) {
+			cache.put( i, "value" + i );
+		}
+		cache.remove( 7 );
+		assertNull( cache.get( 7 ) );
+		assertEquals( 499, cache.size() );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertNull( cache.get( 8 ) );
+		cache.put( 8, "again" );
+		assertEquals( "again", cache.get( 8 ) );
+	}
+
+	@Test
+	public void testUnbounded() {
+		final BoundedLocalCache<Integer, String> cache = new BoundedLocalCache<Integer, String>( 0, 0, 16 );
+		for ( int i = 0; i < 100000; i++ ) {
+			cache.put( i, "value" + i );
+		}
+		assertEquals( 100000, cache.size() );
+		assertEquals( 0, cache.getEvictionCount() );
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStoreTest {
+	@Test
+	public void testPutGetRemove() {
+		final OffHeapStore store = new OffHeapStore( 1024 * 1024, 0 );
+		store.put( "long", 42L );
+		store.put( "string", "value" );
+		store.put( "bytes", new byte[] { 1, 2, 3 } );
+		store.put( "array", new Object[] { 1, "two" } );
+
+		assertEquals( 42L, store.get( "long" ) );
+		assertEquals( "value", store.get( "string" ) );
+		assertArrayEquals( new byte[] { 1, 2, 3 }, (byte[]) store.get( "bytes" ) );
+		assertArrayEquals( new Object[] { 1, "two" }, (Object[]) store.get( "array" ) );
+		assertEquals( 4, store.size() );
+		assertEquals( 4, store.toMap().size() );
+
+		store.put( "string", "updated" );
+		assertEquals( "updated", store.get( "string" ) );
+
+		store.remove( "long" );
+		assertFalse( store.containsKey( "long" ) );
+		assertNull( store.get( "long" ) );
+		assertEquals( 3, store.size() );
+
+		store.clear();
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.getSizeInBytes() );
+		assertNull( store.get( "string" ) );
+		store.put( "string", "again" );
+		assertEquals( "again", store.get( "string" ) );
+	}
+
+	@Test
+	public void testMemoryIsBounded() {
+		final OffHeapStore store = new OffHeapStore( 1024 * 1024, 0 );
+		final byte[] value = new byte[1000];
+		for ( int i = 0; i < 10000; i++ ) {
+			store.put( i, value );
+		}
+		assertEquals( 1024 * 1024, store.getSizeInBytes() );
+		assertTrue( store.size() < 1100 );
+		assertEquals( 10000 - store.size(), store.getEvictionCount() );
+		// the most recent entries are kept
+		assertArrayEquals( value, (byte[]) store.get( 9999 ) );
+		assertNull( store.get( 0 ) );
+	}
+
+	@Test
+	public void testEntriesReadSurviveReclaim() {
+		final OffHeapStore store = new OffHeapStore( 1024 * 1024, 0 );
+		final byte[] value = new byte[1000];
+		store.put( "hot", "hot value" );
+		for ( int i = 0; i < 10000; i++ ) {
+			store.put( i, value );
+			assertEquals( "hot value", store.get( "hot" ) );
+		}
+		final Map<Object, Object> entries = store.toMap();
+		assertEquals( store.size(), entries.size() );
+		assertEquals( "hot value", entries.get( "hot" ) );
+	}
+
+	@Test
+	public void testTooLargeValuesAreNotStored() {
+		final OffHeapStore store = new OffHeapStore( 1024 * 1024, 0 );
+		store.put( "key", "value" );
+		store.put( "key", new byte[2 * 1024 * 1024] );
+		assertFalse( store.containsKey( "key" ) );
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		final OffHeapStore store = new OffHeapStore( 1024 * 1024, 50 );
+		store.put( "key", "value" );
+		assertEquals( "value", store.get( "key" ) );
+		Thread.sleep( 100 );
+		assertFalse( store.containsKey( "key" ) );
+		assertNull( store.get( "key" ) );
+		assertEquals( 0, store.size() );
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal.local;
+
+import java.util.Map;
+
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.type.LongType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the keys of a region shared by entities whose identifiers are of the same basic type.
+ */
+public class SharedRegionKeyTest {
+	@Test
+	public void testRolesSharingAnIdentifierType() {
+		final EntityRegionImpl region = new EntityRegionImpl(
+				"shared",
+				RegionSettings.UNBOUNDED,
+				new CacheDataDescriptionImpl( true, false, null ),
+				null
+		);
+		final CacheKey person = new CacheKey( 1L, LongType.INSTANCE, "Person", null, null );
+		final CacheKey address = new CacheKey( 1L, LongType.INSTANCE, "Address", null, null );
+		final CacheKey tenantPerson = new CacheKey( 1L, LongType.INSTANCE, "Person", "tenant", null );
+		region.put( person, "person" );
+		region.put( address, "address" );
+		region.put( tenantPerson, "tenant person" );
+
+		assertEquals( "person", region.get( new CacheKey( 1L, LongType.INSTANCE, "Person", null, null ) ) );
+		assertEquals( "address", region.get( new CacheKey( 1L, LongType.INSTANCE, "Address", null, null ) ) );
+		assertEquals( "tenant person", region.get( new CacheKey( 1L, LongType.INSTANCE, "Person", "tenant", null ) ) );
+
+		// only the keys of the first role accessing the region, without tenant, are stored as the bare identifier
+		final Map entries = region.toMap();
+		assertEquals( 3, entries.size() );
+		assertTrue( entries.containsKey( 1L ) );
+		assertTrue( entries.containsKey( address ) );
+		assertTrue( entries.containsKey( tenantPerson ) );
+
+		region.evict( address );
+		assertEquals( "person", region.get( person ) );
+		assertEquals( 2, region.getElementCountInMemory() );
+	}
+}
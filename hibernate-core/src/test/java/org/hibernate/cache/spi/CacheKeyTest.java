@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.LongType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests relating to {@link CacheKey} instances.
+ */
+public class CacheKeyTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicIdentifiersOfSameRole() {
+		final CacheKey key = new CacheKey( 1L, LongType.INSTANCE, "Person", null, null );
+		final CacheKey other = new CacheKey( 1L, LongType.INSTANCE, "Person", null, null );
+		assertTrue( key.isBasicIdentifier() );
+		assertEquals( key, other );
+		assertEquals( key.hashCode(), other.hashCode() );
+		assertFalse( key.equals( new CacheKey( 2L, LongType.INSTANCE, "Person", null, null ) ) );
+		assertFalse( key.equals( new CacheKey( 1L, LongType.INSTANCE, "Person", "tenant", null ) ) );
+	}
+
+	@Test
+	public void testBasicIdentifiersOfRolesSharingTheType() {
+		final CacheKey person = new CacheKey( 1L, LongType.INSTANCE, "Person", null, null );
+		final CacheKey address = new CacheKey( 1L, LongType.INSTANCE, "Address", null, null );
+		assertFalse( person.equals( address ) );
+		assertFalse( address.equals( person ) );
+		// a key never equals the bare identifier a local region may store instead of it
+		assertFalse( person.equals( 1L ) );
+	}
+
+	@Test
+	public void testOtherIdentifiersKeepTheirType() {
+		final CacheKey key = new CacheKey( new BigDecimal( "1.0" ), BigDecimalType.INSTANCE, "Amount", null, null );
+		assertFalse( key.isBasicIdentifier() );
+		// BigDecimalType compares 1.0 and 1.00 equal, unlike BigDecimal#equals
+		assertEquals( key, new CacheKey( new BigDecimal( "1.00" ), BigDecimalType.INSTANCE, "Amount", null, null ) );
+	}
+
+	@Test
+	public void testSerialization() {
+		final CacheKey key = new CacheKey( 1L, LongType.INSTANCE, "Person", null, null );
+		final CacheKey copy = (CacheKey) SerializationHelper.clone( key );
+		assertEquals( key, copy );
+		assertEquals( key.hashCode(), copy.hashCode() );
+		assertTrue( copy.isBasicIdentifier() );
+	}
+}
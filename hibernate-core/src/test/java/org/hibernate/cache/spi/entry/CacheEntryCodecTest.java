@@ -0,0 +1,122 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BackrefPropertyAccessor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CacheEntryCodecTest {
+	@Test
+	public void testEntityEntryRoundTrip() {
+		final Timestamp timestamp = new Timestamp( 1234567890123L );
+		timestamp.setNanos( 123456789 );
+		final Serializable[] state = new Serializable[] {
+				null,
+				Boolean.TRUE,
+				(byte) -3,
+				(short) 300,
+				-42,
+				Long.MAX_VALUE,
+				1.5f,
+				-2.25d,
+				'x',
+				"café",
+				new BigDecimal( "-12345.6789" ),
+				new BigInteger( "123456789012345678901234567890" ),
+				new Date( 42L ),
+				new java.sql.Date( 86400000L ),
+				new java.sql.Time( 3600000L ),
+				timestamp,
+				UUID.randomUUID(),
+				Locale.CANADA_FRENCH,
+				new Serializable[] { 1L, "nested" },
+				LazyPropertyInitializer.UNFETCHED_PROPERTY,
+				BackrefPropertyAccessor.UNKNOWN
+		};
+		final CacheEntry entry = new StandardCacheEntryImpl( state, "org.hibernate.Item", true, 7 );
+
+		final CacheEntry decoded = CacheEntryCodec.decodeEntityEntry( CacheEntryCodec.encode( entry ) );
+		assertEquals( "org.hibernate.Item", decoded.getSubclass() );
+		assertTrue( decoded.areLazyPropertiesUnfetched() );
+		assertEquals( 7, decoded.getVersion() );
+
+		final Serializable[] decodedState = decoded.getDisassembledState();
+		assertEquals( state.length, decodedState.length );
+		for ( int i = 0; i < 18; i++ ) {
+			assertEquals( state[i], decodedState[i] );
+		}
+		assertEquals( timestamp.getNanos(), ( (Timestamp) decodedState[15] ).getNanos() );
+		assertArrayEquals( (Object[]) state[18], (Object[]) decodedState[18] );
+		assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, decodedState[19] );
+		assertSame( BackrefPropertyAccessor.UNKNOWN, decodedState[20] );
+	}
+
+	@Test
+	public void testArraysRoundTrip() {
+		final Serializable[] state = new Serializable[] { new byte[] { 1, 2, 3 }, new char[] { 'a', 'b' } };
+		final CacheEntry entry = new StandardCacheEntryImpl( state, "Item", false, null );
+
+		final CacheEntry decoded = CacheEntryCodec.decodeEntityEntry( CacheEntryCodec.encode( entry ) );
+		assertFalse( decoded.areLazyPropertiesUnfetched() );
+		assertNull( decoded.getVersion() );
+		assertArrayEquals( new byte[] { 1, 2, 3 }, (byte[]) decoded.getDisassembledState()[0] );
+		assertArrayEquals( new char[] { 'a', 'b' }, (char[]) decoded.getDisassembledState()[1] );
+	}
+
+	@Test
+	public void testCollectionEntryRoundTrip() {
+		final CollectionCacheEntry entry = new CollectionCacheEntry( new Serializable[] { 1L, 2L, 3L } );
+		final CollectionCacheEntry decoded = CacheEntryCodec.decodeCollectionEntry( CacheEntryCodec.encode( entry ) );
+		assertArrayEquals( entry.getState(), decoded.getState() );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testQueryResultsRoundTrip() {
+		final List results = new ArrayList();
+		results.add( 1000L );
+		results.add( 1L );
+		results.add( new Object[] { 2L, "name" } );
+		results.add( null );
+
+		final List decoded = CacheEntryCodec.decodeResults( CacheEntryCodec.encode( results ) );
+		assertEquals( 4, decoded.size() );
+		assertEquals( 1000L, decoded.get( 0 ) );
+		assertEquals( 1L, decoded.get( 1 ) );
+		assertArrayEquals( new Object[] { 2L, "name" }, (Object[]) decoded.get( 2 ) );
+		assertNull( decoded.get( 3 ) );
+	}
+
+	@Test
+	public void testEncodingIsSmallerThanJavaSerialization() {
+		final Serializable[] state = new Serializable[] { "name", 12L, Boolean.FALSE, 3 };
+		final StandardCacheEntryImpl entry = new StandardCacheEntryImpl( state, "org.hibernate.Item", false, 1 );
+		final byte[] encoded = CacheEntryCodec.encode( entry );
+		final byte[] serialized = SerializationHelper.serialize( entry );
+		assertTrue( encoded.length * 4 < serialized.length );
+	}
+}
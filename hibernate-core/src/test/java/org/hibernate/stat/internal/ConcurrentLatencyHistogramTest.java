@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentLatencyHistogramTest {
+	@Test
+	public void testEmpty() {
+		final ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getAvgTime() );
+		assertEquals( 0, histogram.getMinTime() );
+		assertEquals( 0, histogram.getMaxTime() );
+		assertEquals( 0, histogram.getPercentile( 99 ) );
+	}
+
+	@Test
+	public void testPercentiles() {
+		final ConcurrentLatencyHistogram histogram = new ConcurrentLatencyHistogram();
+		for ( long time = 1; time <= 1000; time++ ) {
+			histogram.record( time * 1000 );
+		}
+		assertEquals( 1000, histogram.getCount() );
+		assertEquals( 1000, histogram.getMinTime() );
+		assertEquals( 1000000, histogram.getMaxTime() );
+		assertEquals( 500500, histogram.getAvgTime() );
+		assertWithin( 500000, histogram.getPercentile( 50 ) );
+		assertWithin( 990000, histogram.getPercentile( 99 ) );
+		assertEquals( 1000000, histogram.getPercentile( 100 ) );
+	}
+
+	@Test
+	public void testBuckets() {
+		for ( long time = 0; time < 100000; time += 7 ) {
+			final int index = ConcurrentLatencyHistogram.bucketIndex( time );
+			assertTrue( ConcurrentLatencyHistogram.bucketUpperBound( index ) >= time );
+			assertTrue( index == 0 || ConcurrentLatencyHistogram.bucketUpperBound( index - 1 ) < time );
+		}
+		final int last = ConcurrentLatencyHistogram.bucketIndex( Long.MAX_VALUE );
+		assertEquals( Long.MAX_VALUE, ConcurrentLatencyHistogram.bucketUpperBound( last ) );
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		// buckets are at most 1/8th of the times they count wide
+		assertTrue( "expected about " + expected + " but was " + actual, Math.abs( actual - expected ) <= expected / 8 );
+	}
+}
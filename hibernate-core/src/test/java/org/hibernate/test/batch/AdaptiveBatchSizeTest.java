@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchSizer;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.jdbc.Expectations;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#STATEMENT_BATCH_SIZE_ADAPTIVE}
+ */
+public class AdaptiveBatchSizeTest extends BaseCoreFunctionalTestCase {
+	private static final BatchKey NARROW = new BasicBatchKey( "Narrow#INSERT", Expectations.BASIC );
+	private static final BatchKey WIDE = new BasicBatchKey( "Wide#INSERT", Expectations.BASIC );
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Tag() {
+		}
+
+		public Tag(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Tag.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "5" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE_ADAPTIVE, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE_MAX, "40" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testSizesFollowCostPerRow() {
+		final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 20, 2, 1000, 10 );
+		assertEquals( 20, sizer.getBatchSize( NARROW ) );
+
+		// 10 microseconds per row : grows (by at most a factor 2 per execution) up to the maximum
+		sizer.recordExecution( NARROW, "insert into Narrow (id) values (?)", 20, 200000L );
+		assertEquals( 40, sizer.getBatchSize( NARROW ) );
+		for ( int i = 0; i < 10; i++ ) {
+			sizer.recordExecution( NARROW, "insert into Narrow (id) values (?)", 40, 400000L );
+		}
+		assertEquals( 1000, sizer.getBatchSize( NARROW ) );
+
+		// 2 milliseconds per row : shrinks to 5 rows per batch
+		for ( int i = 0; i < 10; i++ ) {
+			sizer.recordExecution( WIDE, "insert into Wide (id, data) values (?, ?)", 20, 40000000L );
+		}
+		assertEquals( 5, sizer.getBatchSize( WIDE ) );
+
+		final Map<String, Integer> sizes = sizer.getBatchSizes();
+		assertEquals( Integer.valueOf( 1000 ), sizes.get( "Narrow#INSERT" ) );
+		assertEquals( Integer.valueOf( 5 ), sizes.get( "Wide#INSERT" ) );
+	}
+
+	@Test
+	public void testSizeLimitedByRowWidth() {
+		final StringBuilder sql = new StringBuilder( "insert into Wide values (?" );
+		for ( int i = 1; i < 1000; i++ ) {
+			sql.append( ", ?" );
+		}
+		sql.append( ')' );
+
+		final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 20, 2, 1000, 10 );
+		for ( int i = 0; i < 10; i++ ) {
+			sizer.recordExecution( WIDE, sql.toString(), 20, 20L );
+		}
+		// no more than 32767 parameters per batch
+		assertEquals( 32, sizer.getBatchSize( WIDE ) );
+	}
+
+	@Test
+	public void testSingleRowExecutionsIgnored() {
+		final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer( 20, 2, 1000, 10 );
+		sizer.recordExecution( WIDE, "insert into Wide (id) values (?)", 1, 1000000000L );
+		assertEquals( 20, sizer.getBatchSize( WIDE ) );
+		assertTrue( sizer.getBatchSizes().isEmpty() );
+	}
+
+	@Test
+	public void testSizesExposedByStatistics() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			s.persist( new Tag( i, "tag-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Integer size = sessionFactory().getStatisticsImplementor()
+				.getJdbcBatchSizes()
+				.get( Tag.class.getName() + "#INSERT" );
+		assertNotNull( size );
+		assertTrue( size >= 1 && size <= 40 );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 100L, s.createQuery( "select count(t) from Tag t" ).uniqueResult() );
+		s.createQuery( "delete Tag" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.internal.CompactEntityKeyMap;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the persistence context with {@link AvailableSettings#COMPACT_PERSISTENCE_CONTEXT} enabled.
+ */
+public class CompactPersistenceContextTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 500;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batch/DataPoint.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		cfg.setProperty( AvailableSettings.COMPACT_PERSISTENCE_CONTEXT, "true" );
+		cfg.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "20" );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testManyEntitiesInSession() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < COUNT; i++ ) {
+			DataPoint dp = new DataPoint();
+			dp.setX( new BigDecimal( i ) );
+			dp.setY( new BigDecimal( -i ) );
+			s.save( dp );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final SessionImplementor session = (SessionImplementor) s;
+		assertTrue( session.getPersistenceContext().getEntitiesByKey() instanceof CompactEntityKeyMap );
+
+		List<DataPoint> dataPoints = s.createQuery( "from DataPoint" ).list();
+		assertEquals( COUNT, dataPoints.size() );
+		assertEquals( COUNT, s.getStatistics().getEntityCount() );
+		for ( DataPoint dp : dataPoints ) {
+			assertSame( dp, s.get( DataPoint.class, dp.getId() ) );
+			final EntityKey key = session.generateEntityKey( dp.getId(), session.getEntityPersister( null, dp ) );
+			assertTrue( s.getStatistics().getEntityKeys().contains( key ) );
+		}
+
+		// evict every other entity
+		for ( int i = 0; i < dataPoints.size(); i += 2 ) {
+			s.evict( dataPoints.get( i ) );
+		}
+		assertEquals( COUNT / 2, s.getStatistics().getEntityCount() );
+		for ( int i = 0; i < dataPoints.size(); i++ ) {
+			assertEquals( i % 2 == 1, s.contains( dataPoints.get( i ) ) );
+		}
+
+		// dirty checking still finds the remaining entities
+		for ( int i = 1; i < dataPoints.size(); i += 2 ) {
+			dataPoints.get( i ).setDescription( "updated" );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				(long) COUNT / 2,
+				s.createQuery( "select count(*) from DataPoint where description = 'updated'" ).uniqueResult()
+		);
+		s.createQuery( "delete DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+		assertFalse( s.isOpen() );
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that multi-row inserts are split so as not to bind more parameters than
+ * {@link org.hibernate.dialect.Dialect#getMultiRowInsertParameterLimit() the Dialect allows}.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowInsertParameterLimitTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = new ArrayList<String>();
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	public static class ParameterLimitedH2Dialect extends H2Dialect {
+		@Override
+		public int getMultiRowInsertParameterLimit() {
+			// 3 rows of the 4 columns of Reading
+			return 14;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { MultiRowInsertTest.Reading.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.DIALECT, ParameterLimitedH2Dialect.class.getName() );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_MULTI_ROW_INSERT, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	public void testRowsAreSplitOverStatements() {
+		final Date taken = new Date();
+		Session s = openSession();
+		s.beginTransaction();
+		statements.clear();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new MultiRowInsertTest.Reading( i, "sensor-" + i, i * 1.5d, taken ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// 3 statements of 3 rows, and the last row inserted on its own
+		int multiRowInserts = 0;
+		for ( String sql : statements ) {
+			if ( sql.startsWith( "insert" ) && sql.contains( "), (" ) ) {
+				assertEquals( 3, sql.split( "\\), \\(" ).length );
+				multiRowInserts++;
+			}
+		}
+		assertEquals( 3, multiRowInserts );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 10L, s.createQuery( "select count(r) from Reading r" ).uniqueResult() );
+		s.createQuery( "delete Reading" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
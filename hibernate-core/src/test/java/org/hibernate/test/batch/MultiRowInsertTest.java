@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link AvailableSettings#STATEMENT_BATCH_MULTI_ROW_INSERT}
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowInsertTest extends BaseCoreFunctionalTestCase {
+	private static final List<String> statements = new ArrayList<String>();
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+
+	@Entity(name = "Reading")
+	public static class Reading {
+		@Id
+		private Integer id;
+		private String sensor;
+		private Double value;
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date taken;
+
+		public Reading() {
+		}
+
+		public Reading(Integer id, String sensor, Double value, Date taken) {
+			this.id = id;
+			this.sensor = sensor;
+			this.value = value;
+			this.taken = taken;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Reading.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_MULTI_ROW_INSERT, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_INSPECTOR, RecordingStatementInspector.class.getName() );
+	}
+
+	@Test
+	public void testMultiRowInsert() {
+		final Date taken = new Date( 1000000000000L );
+		Session s = openSession();
+		s.beginTransaction();
+		statements.clear();
+		for ( int i = 0; i < 25; i++ ) {
+			s.persist( new Reading( i, "sensor-" + i, i % 3 == 0 ? null : i * 1.5d, taken ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// 2 full batches of 10 rows and one of 5 rows, each preceded by the single-row statement prepared for the batch
+		int multiRowInserts = 0;
+		for ( String sql : statements ) {
+			if ( sql.startsWith( "insert" ) && sql.contains( "), (" ) ) {
+				multiRowInserts++;
+			}
+		}
+		assertEquals( 3, multiRowInserts );
+
+		s = openSession();
+		s.beginTransaction();
+		final List<Reading> readings = s.createQuery( "from Reading r order by r.id" ).list();
+		assertEquals( 25, readings.size() );
+		for ( int i = 0; i < 25; i++ ) {
+			final Reading reading = readings.get( i );
+			assertEquals( Integer.valueOf( i ), reading.id );
+			assertEquals( "sensor-" + i, reading.sensor );
+			if ( i % 3 == 0 ) {
+				assertNull( reading.value );
+			}
+			else {
+				assertEquals( i * 1.5d, reading.value, 0.0001d );
+			}
+			assertEquals( taken.getTime(), reading.taken.getTime() );
+		}
+		s.createQuery( "delete Reading" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSingleRow() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Reading( 1, "single", 1d, new Date() ) );
+		s.getTransaction().commit();
+		s.clear();
+
+		s.beginTransaction();
+		assertEquals( "single", ( (Reading) s.get( Reading.class, 1 ) ).sensor );
+		s.delete( s.get( Reading.class, 1 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.math.BigDecimal;
+
+import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.criterion.Order;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the scrolling of large query results, with and without eviction of the rows read.
+ */
+public class StreamTest extends BaseCoreFunctionalTestCase {
+	private static final int N = 50;
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "batch/DataPoint.hbm.xml" };
+	}
+
+	@Test
+	public void testScroll() {
+		createDataPoints();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from DataPoint dp order by dp.id" ).scroll( ScrollMode.FORWARD_ONLY, false );
+		int count = 0;
+		while ( results.next() ) {
+			assertTrue( s.contains( results.get( 0 ) ) );
+			count++;
+		}
+		results.close();
+		assertEquals( N, count );
+		assertEquals( N, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteDataPoints();
+	}
+
+	@Test
+	public void testScrollDetachingRows() {
+		createDataPoints();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from DataPoint dp order by dp.id" ).scroll( ScrollMode.FORWARD_ONLY, true );
+		int count = 0;
+		DataPoint previous = null;
+		while ( results.next() ) {
+			final DataPoint dataPoint = (DataPoint) results.get( 0 );
+			assertTrue( s.contains( dataPoint ) );
+			if ( previous != null ) {
+				assertFalse( s.contains( previous ) );
+			}
+			assertEquals( 1, s.getStatistics().getEntityCount() );
+			previous = dataPoint;
+			count++;
+		}
+		results.close();
+		assertEquals( N, count );
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteDataPoints();
+	}
+
+	@Test
+	public void testCriteriaScrollDetachingRows() {
+		createDataPoints();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Criteria criteria = s.createCriteria( DataPoint.class ).addOrder( Order.asc( "id" ) );
+		ScrollableResults results = criteria.scroll( ScrollMode.FORWARD_ONLY, true );
+		int count = 0;
+		while ( results.next() ) {
+			assertEquals( 1, s.getStatistics().getEntityCount() );
+			count++;
+		}
+		results.close();
+		assertEquals( N, count );
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+
+		// the criteria is left as it was
+		assertEquals( N, criteria.list().size() );
+		assertEquals( N, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteDataPoints();
+	}
+
+	@Test
+	public void testSQLQueryScrollDetachingRows() {
+		createDataPoints();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createSQLQuery( "select * from DataPoint" )
+				.addEntity( DataPoint.class )
+				.scroll( ScrollMode.FORWARD_ONLY, true );
+		int count = 0;
+		while ( results.next() ) {
+			assertEquals( 1, s.getStatistics().getEntityCount() );
+			count++;
+		}
+		results.close();
+		assertEquals( N, count );
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteDataPoints();
+	}
+
+	private void createDataPoints() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < N; i++ ) {
+			DataPoint dp = new DataPoint();
+			dp.setX( new BigDecimal( i ) );
+			dp.setY( new BigDecimal( i * 2 ) );
+			s.save( dp );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteDataPoints() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the entities already in the second-level cache are left out of batch fetches, now that the
+ * candidates are checked against the cache a chunk at a time.
+ */
+public class BatchFetchCachedEntitiesTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+	}
+
+	@Test
+	public void testCachedEntitiesAreNotBatchFetched() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 6; i++ ) {
+			s.save( new Item( i, "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntity( Item.class, 1 );
+		sessionFactory().getCache().evictEntity( Item.class, 2 );
+		sessionFactory().getCache().evictEntity( Item.class, 4 );
+
+		s = openSession();
+		s.beginTransaction();
+		final Item[] items = new Item[6];
+		for ( int i = 1; i <= 6; i++ ) {
+			items[i - 1] = (Item) s.load( Item.class, i );
+		}
+		Hibernate.initialize( items[0] );
+		assertTrue( Hibernate.isInitialized( items[1] ) );
+		assertFalse( Hibernate.isInitialized( items[2] ) );
+		assertTrue( Hibernate.isInitialized( items[3] ) );
+		assertFalse( Hibernate.isInitialized( items[4] ) );
+		assertFalse( Hibernate.isInitialized( items[5] ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Item")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@BatchSize(size = 3)
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
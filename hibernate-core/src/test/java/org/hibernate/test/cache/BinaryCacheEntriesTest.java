@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the second-level cache and the query cache keeping their entries
+ * {@link AvailableSettings#USE_BINARY_CACHE_ENTRIES binary encoded}.
+ */
+public class BinaryCacheEntriesTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class, User.class, Company.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_BINARY_CACHE_ENTRIES, "true" );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testEntityAndCollectionEntries() {
+		Session s = openSession();
+		s.beginTransaction();
+		CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		Company company = new Company( 1 );
+		s.save( company );
+		s.save( new User( 1, company ) );
+		s.save( new User( 2, company ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 2, ( (Company) s.get( Company.class, 1 ) ).getUsers().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "data", item.getName() );
+		company = (Company) s.get( Company.class, 1 );
+		assertEquals( 2, company.getUsers().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics itemStatistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( "item" );
+		assertEquals( 1, itemStatistics.getHitCount() );
+		final SecondLevelCacheStatistics usersStatistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( Company.class.getName() + ".users" );
+		assertEquals( 1, usersStatistics.getHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete User" ).executeUpdate();
+		s.createQuery( "delete Company" ).executeUpdate();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testQueryResults() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "first" ) );
+		s.save( new CacheableItem( "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		for ( int i = 0; i < 2; i++ ) {
+			s = openSession();
+			s.beginTransaction();
+			final List results = s.createQuery( "select i.id, i.name from CacheableItem i order by i.name" )
+					.setCacheable( true )
+					.list();
+			assertEquals( 2, results.size() );
+			assertEquals( "first", ( (Object[]) results.get( 0 ) )[1] );
+			assertEquals( "second", ( (Object[]) results.get( 1 ) )[1] );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
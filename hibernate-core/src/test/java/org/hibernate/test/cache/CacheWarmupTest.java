@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Properties;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.CacheWarmer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests warming up the second-level cache through {@link CacheWarmer}.
+ */
+public class CacheWarmupTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testWarmUpAll() {
+		createItems();
+		sessionFactory().getCache().evictEntityRegion( Item.class );
+		sessionFactory().getStatistics().clear();
+
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.CACHE_WARMUP + ".Item", CacheWarmer.ALL );
+		properties.setProperty( AvailableSettings.CACHE_WARMUP_PARALLELISM, "2" );
+		properties.setProperty( AvailableSettings.CACHE_WARMUP_BATCH_SIZE, "3" );
+		new CacheWarmer( sessionFactory(), properties ).warmUp();
+
+		for ( int i = 1; i <= 10; i++ ) {
+			assertTrue( sessionFactory().getCache().containsEntity( Item.class, i ) );
+		}
+		assertEquals(
+				10,
+				sessionFactory().getStatistics()
+						.getSecondLevelCacheStatistics( Item.class.getName() )
+						.getWarmUpCount()
+		);
+
+		deleteItems();
+	}
+
+	@Test
+	public void testWarmUpQuery() {
+		createItems();
+		sessionFactory().getCache().evictEntityRegion( Item.class );
+
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.CACHE_WARMUP + ".Item", "select i.id from Item i where i.id <= 5" );
+		new CacheWarmer( sessionFactory(), properties ).warmUp();
+
+		for ( int i = 1; i <= 10; i++ ) {
+			assertEquals( i <= 5, sessionFactory().getCache().containsEntity( Item.class, i ) );
+		}
+
+		deleteItems();
+	}
+
+	@Test
+	public void testInvalidQueryIsIgnored() {
+		createItems();
+		sessionFactory().getCache().evictEntityRegion( Item.class );
+
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.CACHE_WARMUP + ".Item", "select i.unknown from Item i" );
+		new CacheWarmer( sessionFactory(), properties ).warmUp();
+
+		assertFalse( sessionFactory().getCache().containsEntity( Item.class, 1 ) );
+
+		deleteItems();
+	}
+
+	private void createItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 10; i++ ) {
+			s.save( new Item( i, "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Item")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
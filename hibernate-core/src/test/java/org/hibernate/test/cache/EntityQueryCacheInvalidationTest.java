@@ -0,0 +1,218 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.QuerySpaceKey;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests cached query results being invalidated
+ * {@link AvailableSettings#USE_ENTITY_QUERY_CACHE_INVALIDATION per entity} rather than per table.
+ */
+public class EntityQueryCacheInvalidationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_ENTITY_QUERY_CACHE_INVALIDATION, "true" );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testUpdateOnlyInvalidatesResultsContainingTheEntity() {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem first = new CacheableItem( "first" );
+		s.save( first );
+		final CacheableItem second = new CacheableItem( "second" );
+		s.save( second );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		findById( first.getId() );
+		findById( second.getId() );
+		countItems();
+
+		s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, second.getId() ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+		assertEquals( "first", findById( first.getId() ).getName() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( "updated", findById( second.getId() ).getName() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+		// scalar results keep being invalidated by any change to the table
+		assertEquals( 2L, countItems() );
+		assertEquals( 2, statistics.getQueryCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "third" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+		findById( first.getId() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEvictedRowTimestampFallsBackToTable() {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem first = new CacheableItem( "first" );
+		s.save( first );
+		final CacheableItem second = new CacheableItem( "second" );
+		s.save( second );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		findById( first.getId() );
+
+		s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, second.getId() ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+
+		// without the timestamp of its row, the result is checked against the table, updated since
+		final Serializable space = sessionFactory().getEntityPersister( CacheableItem.class.getName() )
+				.getQuerySpaces()[0];
+		sessionFactory().getUpdateTimestampsCache().getRegion().evict( QuerySpaceKey.row( space, first.getId() ) );
+
+		statistics.clear();
+		findById( first.getId() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSelfJoinIsInvalidatedByAnyUpdate() {
+		assertInvalidatedByUpdateOfOtherRow(
+				"select i from CacheableItem i, CacheableItem other where other.name = 'second' and i.id <> other.id",
+				0
+		);
+	}
+
+	@Test
+	public void testSameTableSubqueryIsInvalidatedByAnyUpdate() {
+		assertInvalidatedByUpdateOfOtherRow(
+				"from CacheableItem i where i.id not in ( select other.id from CacheableItem other where other.name = 'second' )",
+				2
+		);
+	}
+
+	@Test
+	public void testRestrictionIsInvalidatedByAnyUpdate() {
+		assertInvalidatedByUpdateOfOtherRow( "from CacheableItem i where i.name <> 'second'", 2 );
+	}
+
+	/**
+	 * Caches the result of the given query, returning the first of two items and not the second, then renames the
+	 * second item, which changes the result of the query although the second item is not part of it.
+	 */
+	private void assertInvalidatedByUpdateOfOtherRow(String hql, int expectedSize) {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem first = new CacheableItem( "first" );
+		s.save( first );
+		final CacheableItem second = new CacheableItem( "second" );
+		s.save( second );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		assertEquals( 1, list( hql ).size() );
+
+		s = openSession();
+		s.beginTransaction();
+		( (CacheableItem) s.get( CacheableItem.class, second.getId() ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+		assertEquals( expectedSize, list( hql ).size() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List list(String hql) {
+		final Session s = openSession();
+		s.beginTransaction();
+		final List results = s.createQuery( hql ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+		return results;
+	}
+
+	private CacheableItem findById(Long id) {
+		final Session s = openSession();
+		s.beginTransaction();
+		final List results = s.createQuery( "from CacheableItem i where i.id = :id" )
+				.setParameter( "id", id )
+				.setCacheable( true )
+				.list();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, results.size() );
+		return (CacheableItem) results.get( 0 );
+	}
+
+	private long countItems() {
+		final Session s = openSession();
+		s.beginTransaction();
+		final Long count = (Long) s.createQuery( "select count(i) from CacheableItem i" )
+				.setCacheable( true )
+				.uniqueResult();
+		s.getTransaction().commit();
+		s.close();
+		return count;
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.internal.local.LocalRegionFactory;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the second-level cache kept by the {@link LocalRegionFactory}.
+ */
+public class LocalRegionFactoryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_LOCAL_MAX_ENTRIES + ".item", "5" );
+	}
+
+	@Test
+	public void testEntityCaching() {
+		assertTrue( sessionFactory().getSettings().getRegionFactory() instanceof LocalRegionFactory );
+
+		Session s = openSession();
+		s.beginTransaction();
+		CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "data", item.getName() );
+		item.setName( "new data" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "new data", item.getName() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" );
+		assertEquals( 2, statistics.getHitCount() );
+		assertEquals( 0, statistics.getMissCount() );
+		assertEquals( 2, statistics.getGetLatency().getCount() );
+		assertTrue( statistics.getGetLatency().getMaxTime() >= statistics.getGetLatency().getPercentile( 50 ) );
+	}
+
+	@Test
+	public void testKeysAreStoredAsIdentifiers() {
+		Session s = openSession();
+		s.beginTransaction();
+		CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		// the region is only used by CacheableItem, which has a basic identifier
+		final Map entries = sessionFactory().getSecondLevelCacheRegion( "item" ).toMap();
+		assertEquals( 1, entries.size() );
+		assertEquals( item.getId(), entries.keySet().iterator().next() );
+
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" );
+		assertEquals( 1, statistics.getHitCount() );
+	}
+
+	@Test
+	public void testRegionSizeIsBounded() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 20; i++ ) {
+			s.save( new CacheableItem( "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics().getSecondLevelCacheStatistics( "item" );
+		assertEquals( 5, statistics.getElementCountInMemory() );
+		assertTrue( statistics.getEvictionCount() >= 15 );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testTransactionalAccessIsRejected() {
+		final EntityRegion region = sessionFactory().getSettings().getRegionFactory().buildEntityRegion(
+				"transactional",
+				null,
+				new CacheDataDescriptionImpl( true, false, null )
+		);
+		try {
+			region.buildAccessStrategy( AccessType.TRANSACTIONAL );
+			fail( "the local cache does not take part in transactions" );
+		}
+		catch (CacheException expected) {
+		}
+		finally {
+			region.destroy();
+		}
+	}
+}
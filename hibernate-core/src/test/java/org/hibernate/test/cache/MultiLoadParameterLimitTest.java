@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.persistence.Embeddable;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the loading of multiple entities does not bind more parameters than
+ * {@link org.hibernate.dialect.Dialect#getParameterCountLimit() the Dialect allows}, composite identifiers taking
+ * one parameter per column.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiLoadParameterLimitTest extends BaseCoreFunctionalTestCase {
+	public static class ParameterLimitedH2Dialect extends H2Dialect {
+		@Override
+		public int getParameterCountLimit() {
+			// 2 identifiers of the 2 columns of Cell
+			return 5;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Cell.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.DIALECT, ParameterLimitedH2Dialect.class.getName() );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testBatchSizeIsLimitedByParameterCount() {
+		final CellId[] ids = new CellId[5];
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ids.length; i++ ) {
+			ids[i] = new CellId( i, i + 1 );
+			s.persist( new Cell( ids[i], "cell " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final List<Cell> cells = s.byMultipleIds( Cell.class )
+				.withBatchSize( 10 )
+				.multiLoad( ids );
+		assertEquals( 5, cells.size() );
+		assertEquals( "cell 4", cells.get( 4 ).getContent() );
+		s.getTransaction().commit();
+		s.close();
+
+		// 2 statements of 2 identifiers, and the last identifier loaded on its own
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Cell" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Embeddable
+	public static class CellId implements Serializable {
+		private int rowNumber;
+		private int columnNumber;
+
+		public CellId() {
+		}
+
+		public CellId(int rowNumber, int columnNumber) {
+			this.rowNumber = rowNumber;
+			this.columnNumber = columnNumber;
+		}
+
+		public int getRowNumber() {
+			return rowNumber;
+		}
+
+		public void setRowNumber(int rowNumber) {
+			this.rowNumber = rowNumber;
+		}
+
+		public int getColumnNumber() {
+			return columnNumber;
+		}
+
+		public void setColumnNumber(int columnNumber) {
+			this.columnNumber = columnNumber;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof CellId ) ) {
+				return false;
+			}
+			final CellId other = (CellId) o;
+			return rowNumber == other.rowNumber && columnNumber == other.columnNumber;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * rowNumber + columnNumber;
+		}
+	}
+
+	@Entity(name = "Cell")
+	public static class Cell {
+		@EmbeddedId
+		private CellId id;
+		private String content;
+
+		public Cell() {
+		}
+
+		public Cell(CellId id, String content) {
+			this.id = id;
+			this.content = content;
+		}
+
+		public CellId getId() {
+			return id;
+		}
+
+		public String getContent() {
+			return content;
+		}
+	}
+}
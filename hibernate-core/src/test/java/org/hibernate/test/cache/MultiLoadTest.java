@@ -0,0 +1,202 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the loading of multiple entities by their identifiers.
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testOrderedReturn() {
+		final Long[] ids = createItems( 5 );
+		sessionFactory().getCache().evictEntityRegions();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List<CacheableItem> items = s.byMultipleIds( CacheableItem.class ).multiLoad( ids[2], -1L, ids[0], ids[4] );
+		assertEquals( 4, items.size() );
+		assertEquals( "item 3", items.get( 0 ).getName() );
+		assertNull( items.get( 1 ) );
+		assertEquals( "item 1", items.get( 2 ).getName() );
+		assertEquals( "item 5", items.get( 3 ).getName() );
+
+		items = s.byMultipleIds( CacheableItem.class ).enableOrderedReturn( false ).multiLoad( -1L, ids[1] );
+		assertEquals( 1, items.size() );
+		assertEquals( "item 2", items.get( 0 ).getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteItems();
+	}
+
+	@Test
+	public void testEntitiesInSessionAreReturned() {
+		final Long[] ids = createItems( 3 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = (CacheableItem) s.get( CacheableItem.class, ids[1] );
+		item.setName( "changed" );
+		final List<CacheableItem> items = s.byMultipleIds( CacheableItem.class ).multiLoad( Arrays.asList( ids ) );
+		assertSame( item, items.get( 1 ) );
+		assertEquals( "changed", items.get( 1 ).getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteItems();
+	}
+
+	@Test
+	public void testDeletedEntitiesAreNotReturned() {
+		final Long[] ids = createItems( 3 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = (CacheableItem) s.get( CacheableItem.class, ids[1] );
+		s.delete( item );
+		List<CacheableItem> items = s.byMultipleIds( CacheableItem.class ).multiLoad( ids );
+		assertEquals( 3, items.size() );
+		assertNull( items.get( 1 ) );
+
+		items = s.byMultipleIds( CacheableItem.class ).enableReturnOfDeletedEntities( true ).multiLoad( ids );
+		assertSame( item, items.get( 1 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteItems();
+	}
+
+	@Test
+	public void testLockIsUpgradedOnEntitiesInSession() {
+		final Long[] ids = createItems( 2 );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = (CacheableItem) s.get( CacheableItem.class, ids[0] );
+		assertTrue( s.getCurrentLockMode( item ).lessThan( LockMode.PESSIMISTIC_WRITE ) );
+		final List<CacheableItem> items = s.byMultipleIds( CacheableItem.class )
+				.with( new LockOptions( LockMode.PESSIMISTIC_WRITE ) )
+				.multiLoad( ids );
+		assertSame( item, items.get( 0 ) );
+		assertEquals( LockMode.PESSIMISTIC_WRITE, s.getCurrentLockMode( items.get( 0 ) ) );
+		assertEquals( LockMode.PESSIMISTIC_WRITE, s.getCurrentLockMode( items.get( 1 ) ) );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteItems();
+	}
+
+	@Test
+	public void testCachedEntitiesAreNotReadFromDatabase() {
+		final Long[] ids = createItems( 4 );
+		sessionFactory().getCache().evictEntity( CacheableItem.class, ids[1] );
+		sessionFactory().getCache().evictEntity( CacheableItem.class, ids[3] );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final List<CacheableItem> items = s.byMultipleIds( CacheableItem.class ).multiLoad( ids );
+		assertEquals( 4, items.size() );
+		for ( int i = 0; i < 4; i++ ) {
+			assertEquals( "item " + ( i + 1 ), items.get( i ).getName() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 2, statistics.getEntityLoadCount() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+
+		// the cache is left out when the cache mode does not allow reading from it
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		s.byMultipleIds( CacheableItem.class ).with( CacheMode.IGNORE ).multiLoad( ids );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 0, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 4, statistics.getEntityLoadCount() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testBatchSize() {
+		final Long[] ids = createItems( 5 );
+		sessionFactory().getCache().evictEntityRegions();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final List<CacheableItem> items = s.byMultipleIds( CacheableItem.class )
+				.withBatchSize( 2 )
+				.multiLoad( ids );
+		assertEquals( 5, items.size() );
+		assertEquals( "item 5", items.get( 4 ).getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+
+		deleteItems();
+	}
+
+	private Long[] createItems(int count) {
+		final Long[] ids = new Long[count];
+		final Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			ids[i] = (Long) s.save( new CacheableItem( "item " + ( i + 1 ) ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+		return ids;
+	}
+
+	private void deleteItems() {
+		final Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
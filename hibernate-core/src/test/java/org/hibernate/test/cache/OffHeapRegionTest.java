@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Properties;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.internal.local.LocalRegionFactory;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the entity and natural id regions of the {@link LocalRegionFactory} kept off-heap.
+ */
+public class OffHeapRegionTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Country.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_LOCAL_OFF_HEAP + ".country", "true" );
+		cfg.setProperty( AvailableSettings.CACHE_LOCAL_OFF_HEAP + ".country##NaturalId", "true" );
+		cfg.setProperty( AvailableSettings.CACHE_LOCAL_OFF_HEAP_MAX_SIZE + ".country", "1" );
+	}
+
+	@Test
+	public void testReadOnlyEntityAndNaturalId() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			s.save( new Country( i, "C" + i, "Country " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		SecondLevelCacheStatistics countryStatistics = statistics.getSecondLevelCacheStatistics( "country" );
+		assertEquals( 100, countryStatistics.getElementCountInMemory() );
+		assertTrue( countryStatistics.getSizeInMemory() > 0 );
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			final Country country = (Country) s.get( Country.class, i );
+			assertEquals( "Country " + i, country.getName() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		countryStatistics = statistics.getSecondLevelCacheStatistics( "country" );
+		assertEquals( 100, countryStatistics.getHitCount() );
+		assertEquals( 0, countryStatistics.getMissCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		final Country country = (Country) s.bySimpleNaturalId( Country.class ).load( "C42" );
+		assertEquals( 42, country.getId() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getNaturalIdCacheHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Country" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReadWriteNaturalIdOfMutableEntityIsRejected() {
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.CACHE_LOCAL_OFF_HEAP, "true" );
+		final NaturalIdRegion region = sessionFactory().getSettings().getRegionFactory().buildNaturalIdRegion(
+				"mutable##NaturalId",
+				properties,
+				new CacheDataDescriptionImpl( true, false, null )
+		);
+		try {
+			region.buildAccessStrategy( AccessType.READ_WRITE );
+			fail( "read-write access is not supported off-heap" );
+		}
+		catch (CacheException expected) {
+		}
+		finally {
+			region.destroy();
+		}
+	}
+
+	@Entity(name = "Country")
+	@Immutable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "country")
+	@NaturalIdCache(region = "country##NaturalId")
+	public static class Country {
+		@Id
+		private int id;
+		@NaturalId
+		private String code;
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(int id, String code, String name) {
+			this.id = id;
+			this.code = code;
+			this.name = name;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link AvailableSettings#QUERY_CACHE_MAX_ROWS row budget} and
+ * {@link AvailableSettings#QUERY_CACHE_ADMISSION_THRESHOLD admission threshold} of the query cache.
+ */
+public class QueryCacheBudgetTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.QUERY_CACHE_MAX_ROWS, "3" );
+		cfg.setProperty( AvailableSettings.QUERY_CACHE_ADMISSION_THRESHOLD, "2" );
+	}
+
+	@Test
+	public void testLargeResultsAreNotCached() {
+		createItems( 5 );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		for ( int i = 0; i < 3; i++ ) {
+			assertEquals( 5, findByName( "item%" ).size() );
+		}
+		assertEquals( 0, statistics.getQueryCachePutCount() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testResultsAreCachedAfterAdmissionThreshold() {
+		createItems( 5 );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		findByName( "item 1" );
+		assertEquals( 0, statistics.getQueryCachePutCount() );
+		findByName( "item 1" );
+		assertEquals( 1, statistics.getQueryCachePutCount() );
+		assertEquals( 1, findByName( "item 1" ).size() );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		// executions are counted per query key
+		findByName( "item 2" );
+		assertEquals( 1, statistics.getQueryCachePutCount() );
+
+		deleteItems();
+	}
+
+	private List findByName(String name) {
+		final Session s = openSession();
+		s.beginTransaction();
+		final List results = s.createQuery( "from CacheableItem i where i.name like :name" )
+				.setParameter( "name", name )
+				.setCacheable( true )
+				.list();
+		s.getTransaction().commit();
+		s.close();
+		return results;
+	}
+
+	private void createItems(int count) {
+		final Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= count; i++ ) {
+			s.save( new CacheableItem( "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteItems() {
+		final Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
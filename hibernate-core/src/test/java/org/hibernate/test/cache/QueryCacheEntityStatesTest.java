@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.jdbc.Work;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests cached query results {@link AvailableSettings#USE_QUERY_CACHE_ENTITY_STATES keeping the state} of the
+ * entities they return.
+ */
+public class QueryCacheEntityStatesTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE_ENTITY_STATES, "true" );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testHitInitializesEntitiesWithoutLookups() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new CacheableItem( "first" ) );
+		s.save( new CacheableItem( "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		listItems();
+		// as when the region evicts entries to make room
+		sessionFactory().getEntityPersister( CacheableItem.class.getName() ).getCacheAccessStrategy().evictAll();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final List results = listItems( s );
+		assertEquals( 2, results.size() );
+		assertEquals( "first", ( (CacheableItem) results.get( 0 ) ).getName() );
+		assertEquals( "second", ( (CacheableItem) results.get( 1 ) ).getName() );
+		assertTrue( s.contains( results.get( 0 ) ) );
+
+		// the entities are managed as if they had been loaded
+		( (CacheableItem) results.get( 1 ) ).setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 0, statistics.getEntityLoadCount() );
+		assertEquals( 1, statistics.getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "updated", ( (CacheableItem) listItems( s ).get( 1 ) ).getName() );
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEvictionInvalidatesResults() {
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( "first" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		listItems();
+
+		// changed behind the back of Hibernate, which is then told to forget about the entities
+		s = openSession();
+		s.beginTransaction();
+		s.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final PreparedStatement statement = connection.prepareStatement(
+								"update CacheableItem set name = 'changed' where id = ?"
+						);
+						try {
+							statement.setLong( 1, item.getId() );
+							statement.executeUpdate();
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictEntityRegion( CacheableItem.class );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "changed", ( (CacheableItem) listItems( s ).get( 0 ) ).getName() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void listItems() {
+		final Session s = openSession();
+		s.beginTransaction();
+		listItems( s );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private List listItems(Session s) {
+		return s.createQuery( "from CacheableItem i order by i.name" )
+				.setCacheable( true )
+				.list();
+	}
+}
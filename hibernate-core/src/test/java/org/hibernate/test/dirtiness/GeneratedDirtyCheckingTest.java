@@ -0,0 +1,245 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.dirtiness;
+
+import java.util.Arrays;
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.internal.javassist.DirtyChecker;
+import org.hibernate.bytecode.internal.javassist.DirtyCheckerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.NonIdentifierAttribute;
+import org.hibernate.type.TypeHelper;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests for {@link AvailableSettings#GENERATED_DIRTY_CHECKING}
+ */
+public class GeneratedDirtyCheckingTest extends BaseCoreFunctionalTestCase {
+	public enum Color {
+		RED,
+		GREEN
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private int width;
+		private int height;
+	}
+
+	@Entity(name = "Gadget")
+	public static class Gadget {
+		@Id
+		private Long id;
+		private int quantity;
+		private long serial;
+		private boolean active;
+		private char grade;
+		private Short shortValue;
+		private Byte byteValue;
+		private String name;
+		@Temporal(TemporalType.TIMESTAMP)
+		private Date created;
+		private byte[] payload;
+		@Enumerated(EnumType.STRING)
+		private Color color;
+		@Embedded
+		private Dimensions dimensions = new Dimensions();
+		@ManyToOne
+		private Gadget parent;
+		@Column(updatable = false)
+		private String code;
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Gadget.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATED_DIRTY_CHECKING, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testSameResultsAsTypeHelper() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Gadget.class.getName() );
+		final NonIdentifierAttribute[] properties = persister.getEntityMetamodel().getProperties();
+		final boolean[][] includeColumns = new boolean[properties.length][];
+		for ( int i = 0; i < properties.length; i++ ) {
+			includeColumns[i] = properties[i].getType().toColumnNullness( null, sessionFactory() );
+			Arrays.fill( includeColumns[i], true );
+		}
+		final DirtyChecker checker = DirtyCheckerFactory.buildDirtyChecker(
+				persister.getEntityName(),
+				properties,
+				includeColumns
+		);
+		assertNotNull( checker );
+
+		final Gadget gadget = newGadget( 1L );
+		final Session s = openSession();
+		try {
+			final Object[] previous = persister.getPropertyValues( gadget );
+			assertFindDirty( checker, properties, includeColumns, persister.getPropertyValues( gadget ), previous, s );
+
+			gadget.quantity = 1001;
+			gadget.serial = 1L << 40;
+			gadget.name = null;
+			assertFindDirty( checker, properties, includeColumns, persister.getPropertyValues( gadget ), previous, s );
+
+			gadget.active = false;
+			gadget.grade = 'B';
+			gadget.shortValue = null;
+			gadget.byteValue = 8;
+			gadget.created = new Date( 0 );
+			gadget.payload = new byte[] { 1, 2, 4 };
+			gadget.color = Color.GREEN;
+			gadget.dimensions.width = 4;
+			gadget.code = "other";
+			assertFindDirty( checker, properties, includeColumns, persister.getPropertyValues( gadget ), previous, s );
+
+			final Object[] nulls = new Object[properties.length];
+			assertFindDirty( checker, properties, includeColumns, nulls, previous, s );
+			assertFindDirty( checker, properties, includeColumns, previous, nulls, s );
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	private static void assertFindDirty(
+			DirtyChecker checker,
+			NonIdentifierAttribute[] properties,
+			boolean[][] includeColumns,
+			Object[] current,
+			Object[] previous,
+			Session session) {
+		final SessionImplementor sessionImplementor = (SessionImplementor) session;
+		assertArrayEquals(
+				TypeHelper.findDirty( properties, current, previous, includeColumns, false, sessionImplementor ),
+				checker.findDirty( current, previous, false, sessionImplementor )
+		);
+	}
+
+	@Test
+	public void testFlushUpdatesDirtyEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( newGadget( 1L ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// equal values, in other instances than the loaded ones
+		assertUpdates( 0, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.name = new String( "gadget" );
+				gadget.created = new Date( gadget.created.getTime() );
+				gadget.payload = gadget.payload.clone();
+			}
+		} );
+		assertUpdates( 1, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.quantity++;
+			}
+		} );
+		assertUpdates( 1, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.grade = 'Z';
+			}
+		} );
+		assertUpdates( 1, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.name = "renamed";
+			}
+		} );
+		assertUpdates( 1, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.dimensions.height = 12;
+			}
+		} );
+		// not updatable
+		assertUpdates( 0, new Modification() {
+			@Override
+			void modify(Gadget gadget) {
+				gadget.code = "changed";
+			}
+		} );
+
+		s = openSession();
+		s.beginTransaction();
+		final Gadget gadget = (Gadget) s.get( Gadget.class, 1L );
+		assertEquals( 1001, gadget.quantity );
+		assertEquals( 'Z', gadget.grade );
+		assertEquals( "renamed", gadget.name );
+		assertEquals( 12, gadget.dimensions.height );
+		assertEquals( "code", gadget.code );
+		s.delete( gadget );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private abstract static class Modification {
+		abstract void modify(Gadget gadget);
+	}
+
+	private void assertUpdates(int expectedUpdates, Modification modification) {
+		sessionFactory().getStatistics().clear();
+		final Session s = openSession();
+		s.beginTransaction();
+		modification.modify( (Gadget) s.get( Gadget.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( expectedUpdates, sessionFactory().getStatistics().getEntityUpdateCount() );
+	}
+
+	private static Gadget newGadget(Long id) {
+		final Gadget gadget = new Gadget();
+		gadget.id = id;
+		gadget.quantity = 1000;
+		gadget.serial = 123456789L;
+		gadget.active = true;
+		gadget.grade = 'A';
+		gadget.shortValue = 7;
+		gadget.byteValue = 3;
+		gadget.name = "gadget";
+		gadget.created = new Date( 1000000000000L );
+		gadget.payload = new byte[] { 1, 2, 3 };
+		gadget.color = Color.RED;
+		gadget.dimensions.width = 2;
+		gadget.dimensions.height = 3;
+		gadget.code = "code";
+		return gadget;
+	}
+}
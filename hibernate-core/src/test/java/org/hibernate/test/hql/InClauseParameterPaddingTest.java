@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.hql;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#IN_CLAUSE_PARAMETER_PADDING}
+ */
+public class InClauseParameterPaddingTest extends BaseCoreFunctionalTestCase {
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Person.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testInClauseParameterPadding() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 10; i++ ) {
+			s.persist( new Person( i, "Person " + i ) );
+		}
+		s.getTransaction().commit();
+		s.clear();
+
+		sessionFactory().getStatistics().clear();
+		s.beginTransaction();
+		for ( int size = 5; size <= 8; size++ ) {
+			final List<Integer> ids = Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8 ).subList( 0, size );
+			final List results = s.createQuery( "from Person p where p.id in (:ids)" )
+					.setParameterList( "ids", ids )
+					.list();
+			assertEquals( size, results.size() );
+		}
+		// all four list sizes were padded to 8 values
+		assertEquals( 1, sessionFactory().getStatistics().getQueries().length );
+		assertTrue( sessionFactory().getStatistics().getQueries()[0].contains( "ids_7_" ) );
+
+		// repeating the last value does not change the outcome of NOT IN either
+		final Long count = (Long) s.createQuery( "select count(p) from Person p where p.id in (:ids) and p.name not in (:names)" )
+				.setParameterList( "ids", Arrays.asList( 1, 2, 3 ) )
+				.setParameterList( "names", Arrays.asList( "Person 1", "Person 2", "Person 3" ) )
+				.uniqueResult();
+		assertEquals( Long.valueOf( 0 ), count );
+
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
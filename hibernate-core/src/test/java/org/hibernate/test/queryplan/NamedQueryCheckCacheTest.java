@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQuery;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AvailableSettings#QUERY_STARTUP_CHECK_CACHE_FILE}
+ */
+public class NamedQueryCheckCacheTest extends BaseUnitTestCase {
+	@Entity(name = "Item")
+	@NamedQuery(name = "Item.all", query = "from Item")
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private Integer id;
+	}
+
+	private File cacheFile;
+
+	@Before
+	public void createCacheFile() throws Exception {
+		cacheFile = File.createTempFile( "named-query-check", ".properties" );
+		cacheFile.delete();
+	}
+
+	@After
+	public void deleteCacheFile() {
+		cacheFile.delete();
+	}
+
+	@Test
+	public void testVerifiedQueriesAreNotCheckedAgain() throws Exception {
+		buildSessionFactory( false, Item.class ).close();
+		final Properties written = load();
+		assertNotNull( written.getProperty( "mapping.hash" ) );
+		assertEquals( "from Item", written.getProperty( "query.Item.all" ) );
+
+		// pretend the broken query passed the check on the previous startup: it is not checked again
+		written.setProperty( "query.broken", "from NoSuchEntity" );
+		store( written );
+		buildSessionFactory( true, Item.class ).close();
+		assertEquals( "from NoSuchEntity", load().getProperty( "query.broken" ) );
+
+		// a changed mapping invalidates the file
+		try {
+			buildSessionFactory( true, Item.class, Tag.class ).close();
+			fail( "Expecting the broken named query to be reported" );
+		}
+		catch (HibernateException expected) {
+			assertTrue( expected.getMessage().contains( "broken" ) );
+		}
+		final Properties rewritten = load();
+		assertTrue( !written.getProperty( "mapping.hash" ).equals( rewritten.getProperty( "mapping.hash" ) ) );
+		assertEquals( "from Item", rewritten.getProperty( "query.Item.all" ) );
+		assertEquals( null, rewritten.getProperty( "query.broken" ) );
+	}
+
+	private SessionFactory buildSessionFactory(boolean includeBrokenQuery, Class... annotatedClasses) {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECK_CACHE_FILE, cacheFile.getAbsolutePath() )
+				.build();
+		try {
+			final MetadataSources sources = new MetadataSources( ssr );
+			for ( Class annotatedClass : annotatedClasses ) {
+				sources.addAnnotatedClass( annotatedClass );
+			}
+			if ( includeBrokenQuery ) {
+				sources.addResource( "org/hibernate/test/queryplan/BrokenNamedQuery.hbm.xml" );
+			}
+			return sources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+	}
+
+	private Properties load() throws Exception {
+		final Properties properties = new Properties();
+		final InputStream stream = new FileInputStream( cacheFile );
+		try {
+			properties.load( stream );
+		}
+		finally {
+			stream.close();
+		}
+		return properties;
+	}
+
+	private void store(Properties properties) throws Exception {
+		final OutputStream stream = new FileOutputStream( cacheFile );
+		try {
+			properties.store( stream, null );
+		}
+		finally {
+			stream.close();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AvailableSettings#QUERY_STARTUP_CHECK_PARALLELISM}
+ */
+public class ParallelNamedQueryCheckTest extends BaseUnitTestCase {
+	@Entity(name = "Item")
+	@NamedQueries({
+			@NamedQuery(name = "Item.all", query = "from Item"),
+			@NamedQuery(name = "Item.byName", query = "from Item i where i.name = :name"),
+			@NamedQuery(name = "Item.names", query = "select i.name from Item i order by i.id"),
+			@NamedQuery(name = "Item.count", query = "select count(i) from Item i"),
+			@NamedQuery(name = "Item.unknownProperty", query = "from Item i where i.price > 0"),
+			@NamedQuery(name = "Item.unknownEntity", query = "from Article")
+	})
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+	}
+
+	@Entity(name = "Product")
+	@NamedQueries({
+			@NamedQuery(name = "Product.all", query = "from Product"),
+			@NamedQuery(name = "Product.byName", query = "from Product p where p.name = :name"),
+			@NamedQuery(name = "Product.names", query = "select p.name from Product p order by p.id"),
+			@NamedQuery(name = "Product.count", query = "select count(p) from Product p")
+	})
+	public static class Product {
+		@Id
+		private Integer id;
+		private String name;
+	}
+
+	@Test
+	public void testErrorsAreReportedInNameOrder() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECK_PARALLELISM, "4" )
+				.build();
+		try {
+			final SessionFactory sessionFactory = new MetadataSources( ssr )
+					.addAnnotatedClass( Item.class )
+					.addResource( "org/hibernate/test/queryplan/BrokenNamedQuery.hbm.xml" )
+					.buildMetadata()
+					.buildSessionFactory();
+			sessionFactory.close();
+			fail( "Expecting the broken named queries to be reported" );
+		}
+		catch (HibernateException expected) {
+			assertEquals(
+					"Errors in named queries: Item.unknownEntity, Item.unknownProperty, broken",
+					expected.getMessage()
+			);
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	@Test
+	public void testValidQueries() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECK_PARALLELISM, "4" )
+				.build();
+		try {
+			new MetadataSources( ssr )
+					.addAnnotatedClass( Product.class )
+					.buildMetadata()
+					.buildSessionFactory()
+					.close();
+		}
+		catch (HibernateException e) {
+			fail( "Unexpected error: " + e.getMessage() );
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+}
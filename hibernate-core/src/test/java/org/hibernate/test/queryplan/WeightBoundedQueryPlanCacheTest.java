@@ -0,0 +1,21 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Runs the HQL query plan tests against the cache bounded by the estimated plan size.
+ */
+public class WeightBoundedQueryPlanCacheTest extends GetHqlQueryPlanTest {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.QUERY_PLAN_CACHE_MAX_BYTES, String.valueOf( 8 * 1024 * 1024 ) );
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OpenAddressingHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		Map<String, Integer> map = new OpenAddressingHashMap<String, Integer>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( "one", 1 ) );
+		assertNull( map.put( "two", 2 ) );
+		assertEquals( Integer.valueOf( 1 ), map.put( "one", 11 ) );
+		assertEquals( 2, map.size() );
+		assertEquals( Integer.valueOf( 11 ), map.get( "one" ) );
+		assertTrue( map.containsKey( "two" ) );
+		assertFalse( map.containsKey( "three" ) );
+		assertNull( map.get( null ) );
+
+		assertEquals( Integer.valueOf( 2 ), map.remove( "two" ) );
+		assertNull( map.remove( "two" ) );
+		assertEquals( 1, map.size() );
+
+		// null values are supported
+		map.put( "none", null );
+		assertTrue( map.containsKey( "none" ) );
+		assertNull( map.get( "none" ) );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertFalse( map.containsKey( "one" ) );
+	}
+
+	@Test
+	public void testNullKeyRejected() {
+		try {
+			new OpenAddressingHashMap<String, String>().put( null, "value" );
+			fail( "Expecting null key to be rejected" );
+		}
+		catch (IllegalArgumentException expected) {
+		}
+	}
+
+	@Test
+	public void testCollidingHashCodes() {
+		Map<CollidingKey, Integer> map = new OpenAddressingHashMap<CollidingKey, Integer>();
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( new CollidingKey( i ), i );
+		}
+		for ( int i = 0; i < 100; i += 2 ) {
+			map.remove( new CollidingKey( i ) );
+		}
+		assertEquals( 50, map.size() );
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( i % 2 == 1, map.containsKey( new CollidingKey( i ) ) );
+		}
+	}
+
+	@Test
+	public void testRandomOperationsAgainstHashMap() {
+		final Random random = new Random( 42 );
+		final Map<Long, Long> expected = new HashMap<Long, Long>();
+		final Map<Long, Long> map = new OpenAddressingHashMap<Long, Long>();
+		for ( int i = 0; i < 200000; i++ ) {
+			final Long key = (long) random.nextInt( 5000 );
+			switch ( random.nextInt( 4 ) ) {
+				case 0:
+				case 1: {
+					assertEquals( expected.put( key, (long) i ), map.put( key, (long) i ) );
+					break;
+				}
+				case 2: {
+					assertEquals( expected.remove( key ), map.remove( key ) );
+					break;
+				}
+				default: {
+					assertEquals( expected.get( key ), map.get( key ) );
+				}
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		assertEquals( map, expected );
+		assertEquals( expected.keySet(), map.keySet() );
+		assertEquals( expected.hashCode(), map.hashCode() );
+	}
+
+	@Test
+	public void testIteratorRemoval() {
+		Map<Integer, Integer> map = new OpenAddressingHashMap<Integer, Integer>();
+		for ( int i = 0; i < 1000; i++ ) {
+			map.put( i, i );
+		}
+		int visited = 0;
+		for ( Iterator<Map.Entry<Integer, Integer>> itr = map.entrySet().iterator(); itr.hasNext(); ) {
+			final Map.Entry<Integer, Integer> entry = itr.next();
+			visited++;
+			if ( entry.getKey() % 3 == 0 ) {
+				itr.remove();
+			}
+			else {
+				entry.setValue( -entry.getValue() );
+			}
+		}
+		assertEquals( 1000, visited );
+		assertEquals( 666, map.size() );
+		for ( int i = 0; i < 1000; i++ ) {
+			assertEquals( i % 3 == 0 ? null : Integer.valueOf( -i ), map.get( i ) );
+		}
+
+		map.values().clear();
+		assertTrue( map.isEmpty() );
+	}
+
+	@Test
+	public void testFailFastIteration() {
+		Map<Integer, Integer> map = new OpenAddressingHashMap<Integer, Integer>();
+		map.put( 1, 1 );
+		map.put( 2, 2 );
+		try {
+			for ( Integer key : map.keySet() ) {
+				map.put( key + 10, key );
+			}
+			fail( "Expecting ConcurrentModificationException" );
+		}
+		catch (ConcurrentModificationException expected) {
+		}
+	}
+
+	private static class CollidingKey {
+		private final int value;
+
+		private CollidingKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CollidingKey && ( (CollidingKey) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return 7;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.internal.util.collections.WeightBoundedConcurrentCache;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WeightBoundedConcurrentCacheTest extends BaseUnitTestCase {
+	private static final WeightBoundedConcurrentCache.Weigher<Integer, String> LENGTH_WEIGHER =
+			new WeightBoundedConcurrentCache.Weigher<Integer, String>() {
+				@Override
+				public long weigh(Integer key, String value) {
+					return value.length();
+				}
+			};
+
+	@Test
+	public void testBasicOperations() {
+		ConcurrentMap<Integer, String> cache = new WeightBoundedConcurrentCache<Integer, String>( 100, 1, LENGTH_WEIGHER );
+		assertTrue( cache.isEmpty() );
+		assertNull( cache.putIfAbsent( 1, "one" ) );
+		assertEquals( "one", cache.putIfAbsent( 1, "uno" ) );
+		assertEquals( "one", cache.put( 1, "eins" ) );
+		assertNull( cache.put( 2, "two" ) );
+		assertEquals( 2, cache.size() );
+		assertEquals( "eins", cache.get( 1 ) );
+		assertFalse( cache.replace( 2, "deux", "zwei" ) );
+		assertTrue( cache.replace( 2, "two", "zwei" ) );
+		assertEquals( "zwei", cache.replace( 2, "dos" ) );
+		assertNull( cache.replace( 3, "three" ) );
+		assertFalse( cache.remove( 2, "two" ) );
+		assertTrue( cache.remove( 2, "dos" ) );
+		assertEquals( "eins", cache.remove( 1 ) );
+		assertNull( cache.remove( 1 ) );
+		assertTrue( cache.isEmpty() );
+		assertEquals( 0, ( (WeightBoundedConcurrentCache) cache ).weightedSize() );
+	}
+
+	@Test
+	public void testWeightBound() {
+		WeightBoundedConcurrentCache<Integer, String> cache = new WeightBoundedConcurrentCache<Integer, String>(
+				100,
+				1,
+				LENGTH_WEIGHER
+		);
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, "0123456789" );
+			assertTrue( cache.weightedSize() <= 100 );
+		}
+		assertEquals( 10, cache.size() );
+		assertEquals( 100, cache.weightedSize() );
+		assertEquals( 40, cache.getEvictionCount() );
+
+		// heavier than the whole budget: never retained
+		assertNull( cache.putIfAbsent( 100, new String( new char[101] ) ) );
+		assertFalse( cache.containsKey( 100 ) );
+
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertEquals( 0, cache.weightedSize() );
+	}
+
+	@Test
+	public void testRecentlyReadEntriesAreSpared() {
+		WeightBoundedConcurrentCache<Integer, String> cache = new WeightBoundedConcurrentCache<Integer, String>(
+				40,
+				1,
+				LENGTH_WEIGHER
+		);
+		for ( int i = 0; i < 4; i++ ) {
+			cache.put( i, "0123456789" );
+		}
+		// the oldest entry, but in use
+		cache.get( 0 );
+		cache.put( 4, "0123456789" );
+
+		assertTrue( cache.containsKey( 0 ) );
+		assertFalse( cache.containsKey( 1 ) );
+		assertTrue( cache.containsKey( 4 ) );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final WeightBoundedConcurrentCache<Integer, String> cache = new WeightBoundedConcurrentCache<Integer, String>(
+				1000,
+				4,
+				LENGTH_WEIGHER
+		);
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final List<Thread> threads = new ArrayList<Thread>();
+		for ( int t = 0; t < 8; t++ ) {
+			final int seed = t;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int i = 0; i < 20000; i++ ) {
+						final int key = ( i * 31 + seed ) % 500;
+						if ( cache.get( key ) == null ) {
+							cache.putIfAbsent( key, "value-" + key );
+						}
+						if ( i % 97 == 0 ) {
+							cache.remove( key );
+						}
+					}
+				}
+			};
+			thread.start();
+			threads.add( thread );
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		long weight = 0;
+		for ( String value : cache.values() ) {
+			weight += value.length();
+		}
+		assertEquals( weight, cache.weightedSize() );
+		assertTrue( cache.weightedSize() <= 1000 );
+	}
+}
@@ -29,6 +29,14 @@ import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
  * @author Alex Snaps
  */
 public class EhcacheEntityRegion extends EhcacheTransactionalDataRegion implements EntityRegion {
+	/**
+	 * The property enabling, when {@code true}, the versioned read/write access strategy for the regions of versioned
+	 * entities: see {@link org.hibernate.cache.ehcache.internal.strategy.VersionedReadWriteEhcacheEntityRegionAccessStrategy}.
+	 */
+	public static final String VERSIONED_READ_WRITE_PROPERTY = "net.sf.ehcache.hibernate.versioned_read_write";
+
+	private final boolean versionedReadWrite;
+
 	/**
 	 * Constructs an EhcacheCollectionRegion around the given underlying cache.
 	 *
@@ -45,6 +53,18 @@ public class EhcacheEntityRegion extends EhcacheTransactionalDataRegion implemen
 			CacheDataDescription metadata,
 			Properties properties) {
 		super( accessStrategyFactory, underlyingCache, settings, metadata, properties );
+		this.versionedReadWrite = metadata.isVersioned()
+				&& Boolean.parseBoolean( properties.getProperty( VERSIONED_READ_WRITE_PROPERTY ) );
+	}
+
+	/**
+	 * Whether read/write access to this region uses entity versions rather than soft locks.
+	 *
+	 * @return {@code true} if the entities of this region are versioned and the versioned read/write access strategy
+	 * is enabled
+	 */
+	public boolean isVersionedReadWrite() {
+		return versionedReadWrite;
 	}
 
 	@Override
@@ -142,6 +142,73 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Map the given value to the given key, unless a value is already mapped to this key.
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @return The value already mapped to this key, or {@code null} if the given value was mapped
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final Object putIfAbsent(Object key, Object value) throws CacheException {
+		try {
+			final Element element = getCache().putIfAbsent( new Element( key, value ) );
+			return element == null ? null : element.getObjectValue();
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return null;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
+	/**
+	 * Map the given value to the given key, only if the key is currently mapped to the expected value, as
+	 * compared by the cache's element value comparator.
+	 *
+	 * @param key The cache key
+	 * @param expectedValue The data expected to be currently cached
+	 * @param value The data to cache
+	 *
+	 * @return {@code true} if the given value was mapped
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final boolean replace(Object key, Object expectedValue, Object value) throws CacheException {
+		try {
+			return getCache().replace( new Element( key, expectedValue ), new Element( key, value ) );
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return true;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
 	/**
 	 * Remove the mapping for this key (if any exists).
 	 *
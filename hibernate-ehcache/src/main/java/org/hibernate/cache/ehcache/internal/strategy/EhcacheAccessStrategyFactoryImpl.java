@@ -41,6 +41,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
 				}
 				return new ReadOnlyEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 			case READ_WRITE:
+				if ( entityRegion.isVersionedReadWrite() ) {
+					return new VersionedReadWriteEhcacheEntityRegionAccessStrategy(
+							entityRegion,
+							entityRegion.getSettings()
+					);
+				}
 				return new ReadWriteEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 
 			case NONSTRICT_READ_WRITE:
@@ -0,0 +1,270 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Ehcache specific read/write entity region access strategy for versioned entities, enabled through
+ * {@link EhcacheEntityRegion#VERSIONED_READ_WRITE_PROPERTY}.
+ * <p/>
+ * Instead of soft-locking entries for the duration of the transactions updating them, under a lock of the region,
+ * each cached entry carries the version of the entity, and entries are only ever replaced through compare-and-set
+ * operations on the underlying cache: a put of loaded data only succeeds if the cached version, if any, is older,
+ * so that data loaded before a concurrent update committed can't replace the updated data.  Writers therefore never
+ * wait for each other, and readers never wait at all.
+ * <p/>
+ * Unlike with {@link ReadWriteEhcacheEntityRegionAccessStrategy}, an entity being updated stays readable until the
+ * update is complete, so that a transaction may read the state committed last, as it would reading the database.
+ * Deleted entities are replaced by an entry which is never read, and only lets data loaded by transactions started
+ * after the deletion be cached.
+ */
+public class VersionedReadWriteEhcacheEntityRegionAccessStrategy
+		extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
+		implements EntityRegionAccessStrategy {
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextEntryId = new AtomicLong();
+	private final Comparator versionComparator;
+
+	/**
+	 * Create a versioned read/write access strategy accessing the given entity region.
+	 *
+	 * @param region The wrapped region
+	 * @param settings The Hibernate settings
+	 */
+	public VersionedReadWriteEhcacheEntityRegionAccessStrategy(EhcacheEntityRegion region, SessionFactoryOptions settings) {
+		super( region, settings );
+		this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+	}
+
+	@Override
+	public EntityRegion getRegion() {
+		return region();
+	}
+
+	/**
+	 * Returns <code>null</code> if the entity was deleted, or if the entry was created after the start of this
+	 * transaction.
+	 */
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		final Object item = region().get( key );
+		if ( item instanceof Entry && ( (Entry) item ).isReadable( txTimestamp ) ) {
+			return ( (Entry) item ).value;
+		}
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Only succeeds if nothing is cached for the entity, or an older version of it.  Puts are thus always minimal.
+	 */
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		final Entry entry = newEntry( value, version );
+		while ( true ) {
+			final Object current = region().get( key );
+			if ( current == null ) {
+				if ( region().putIfAbsent( key, entry ) == null ) {
+					return true;
+				}
+			}
+			else if ( !isWriteable( current, txTimestamp, version ) ) {
+				return false;
+			}
+			else if ( region().replace( key, current, entry ) ) {
+				return true;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isWriteable(Object current, long txTimestamp, Object version) {
+		if ( !( current instanceof Entry ) ) {
+			return true;
+		}
+		final Entry entry = (Entry) current;
+		if ( entry.isRemoved() ) {
+			return txTimestamp > entry.timestamp;
+		}
+		return version != null && entry.version != null && versionComparator.compare( entry.version, version ) < 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Returns <code>null</code>, since entries are not locked: versions tell stale data apart.
+	 */
+	@Override
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Called once the entity is deleted, or when an update failed: replaces the entry with one which is never read.
+	 */
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		while ( true ) {
+			final Object current = region().get( key );
+			if ( current == null ) {
+				if ( region().putIfAbsent( key, newEntry( null, null ) ) == null ) {
+					return;
+				}
+			}
+			else if ( region().replace( key, current, newEntry( null, null ) ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * A no-op since this is an asynchronous cache access strategy.
+	 */
+	@Override
+	public boolean insert(Object key, Object value, Object version) throws CacheException {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Inserts will only succeed if nothing is cached for this key, or a deleted entity.
+	 */
+	@Override
+	public boolean afterInsert(Object key, Object value, Object version) throws CacheException {
+		final Entry entry = newEntry( value, version );
+		while ( true ) {
+			final Object current = region().get( key );
+			if ( current == null ) {
+				if ( region().putIfAbsent( key, entry ) == null ) {
+					return true;
+				}
+			}
+			else if ( !( current instanceof Entry ) || !( (Entry) current ).isRemoved() ) {
+				return false;
+			}
+			else if ( region().replace( key, current, entry ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * A no-op since this is an asynchronous cache access strategy.
+	 */
+	@Override
+	public boolean update(Object key, Object value, Object currentVersion, Object previousVersion)
+			throws CacheException {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Updates will only succeed if the version cached, if any, is older than the new version.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock)
+			throws CacheException {
+		final Entry entry = newEntry( value, currentVersion );
+		while ( true ) {
+			final Object current = region().get( key );
+			if ( current == null ) {
+				if ( region().putIfAbsent( key, entry ) == null ) {
+					return true;
+				}
+			}
+			else if ( current instanceof Entry
+					&& !( (Entry) current ).isRemoved()
+					&& ( (Entry) current ).version != null
+					&& versionComparator.compare( ( (Entry) current ).version, currentVersion ) >= 0 ) {
+				return false;
+			}
+			else if ( region().replace( key, current, entry ) ) {
+				return true;
+			}
+		}
+	}
+
+	private Entry newEntry(Object value, Object version) {
+		return new Entry( value, version, region().nextTimestamp(), uuid, nextEntryId.getAndIncrement() );
+	}
+
+	/**
+	 * A cached entity state, or the mark of a deleted entity if its value is <code>null</code>.  Entries are
+	 * immutable, and only equal to themselves, or their copies, so that the underlying cache can compare them.
+	 */
+	static final class Entry implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final Object value;
+		private final Object version;
+		private final long timestamp;
+		private final UUID sourceUuid;
+		private final long entryId;
+
+		Entry(Object value, Object version, long timestamp, UUID sourceUuid, long entryId) {
+			this.value = value;
+			this.version = version;
+			this.timestamp = timestamp;
+			this.sourceUuid = sourceUuid;
+			this.entryId = entryId;
+		}
+
+		boolean isRemoved() {
+			return value == null;
+		}
+
+		boolean isReadable(long txTimestamp) {
+			return value != null && txTimestamp > timestamp;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Entry ) {
+				return entryId == ( (Entry) o ).entryId && sourceUuid.equals( ( (Entry) o ).sourceUuid );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return sourceUuid.hashCode() + (int) ( entryId ^ ( entryId >>> 32 ) );
+		}
+
+		@Override
+		public String toString() {
+			return "Entry Source-UUID:" + sourceUuid + " Entry-ID:" + entryId + " Version:" + version;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache.ehcache;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cfg.Environment;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the read/write access strategy based on entity versions.
+ */
+public class VersionedReadWriteEhCacheTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	public String getBaseForMappings() {
+		return "org/hibernate/test/cache/ehcache/";
+	}
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "Item.hbm.xml" };
+	}
+
+	@Override
+	public String getCacheConcurrencyStrategy() {
+		return "read-write";
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( Environment.CACHE_REGION_PREFIX, "" );
+		settings.put( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( Environment.GENERATE_STATISTICS, "true" );
+		settings.put( Environment.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		settings.put( Environment.CACHE_PROVIDER_CONFIG, "ehcache.xml" );
+		settings.put( EhcacheEntityRegion.VERSIONED_READ_WRITE_PROPERTY, "true" );
+	}
+
+	@Test
+	public void testStaleDataDoesNotReplaceUpdate() {
+		Session s = openSession();
+		s.beginTransaction();
+		VersionedItem item = new VersionedItem();
+		item.setName( "widget" );
+		item.setDescription( "A widget" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final Long initialVersion = item.getVersion();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (VersionedItem) s.get( VersionedItem.class, item.getId() );
+		item.setDescription( "An updated widget" );
+		s.getTransaction().commit();
+		s.close();
+
+		// data loaded before the update committed comes too late
+		final EntityPersister persister = sessionFactory().getEntityPersister( VersionedItem.class.getName() );
+		final EntityRegionAccessStrategy accessStrategy = persister.getCacheAccessStrategy();
+		final CacheKey cacheKey = new CacheKey(
+				item.getId(),
+				persister.getIdentifierType(),
+				persister.getRootEntityName(),
+				null,
+				sessionFactory()
+		);
+		assertFalse(
+				accessStrategy.putFromLoad(
+						cacheKey,
+						"stale",
+						accessStrategy.getRegion().nextTimestamp(),
+						initialVersion
+				)
+		);
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		item = (VersionedItem) s.get( VersionedItem.class, item.getId() );
+		assertEquals( "An updated widget", item.getDescription() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( VersionedItem.class.getName() );
+		assertEquals( 1, statistics.getHitCount() );
+	}
+
+	@Test
+	public void testDeletedEntityIsNotRead() {
+		Session s = openSession();
+		s.beginTransaction();
+		VersionedItem item = new VersionedItem();
+		item.setName( "widget" );
+		item.setDescription( "A widget" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( VersionedItem.class, item.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		assertNull( s.get( VersionedItem.class, item.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( VersionedItem.class.getName() );
+		assertEquals( 0, statistics.getHitCount() );
+	}
+}
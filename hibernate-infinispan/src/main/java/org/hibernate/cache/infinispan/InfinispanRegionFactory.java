@@ -86,6 +86,8 @@ public class InfinispanRegionFactory implements RegionFactory {
 
 	private static final String MAX_IDLE_SUFFIX = ".expiration.max_idle";
 
+	private static final String NEAR_CACHE_MAX_ENTRIES_SUFFIX = ".near_cache.max_entries";
+
 //   private static final String STATISTICS_SUFFIX = ".statistics";
 
 	/**
@@ -240,7 +242,9 @@ public class InfinispanRegionFactory implements RegionFactory {
 			log.debug( "Building collection cache region [" + regionName + "]" );
 		}
 		final AdvancedCache cache = getCache( regionName, COLLECTION_KEY, properties );
-		final CollectionRegionImpl region = new CollectionRegionImpl( cache, regionName, metadata, this );
+		final CollectionRegionImpl region = new CollectionRegionImpl(
+				cache, regionName, metadata, this, getNearCacheMaxEntries( regionName, COLLECTION_KEY )
+		);
 		startRegion( region, regionName );
 		return region;
 	}
@@ -251,8 +255,11 @@ public class InfinispanRegionFactory implements RegionFactory {
 		if ( log.isDebugEnabled() ) {
 			log.debugf( "Building entity cache region [%s] (mutable=%s, versioned=%s)", regionName, metadata.isMutable(), metadata.isVersioned());
 		}
-		final AdvancedCache cache = getCache( regionName, metadata.isMutable() ? ENTITY_KEY : IMMUTABLE_ENTITY_KEY, properties );
-		final EntityRegionImpl region = new EntityRegionImpl( cache, regionName, metadata, this );
+		final String typeKey = metadata.isMutable() ? ENTITY_KEY : IMMUTABLE_ENTITY_KEY;
+		final AdvancedCache cache = getCache( regionName, typeKey, properties );
+		final EntityRegionImpl region = new EntityRegionImpl(
+				cache, regionName, metadata, this, getNearCacheMaxEntries( regionName, typeKey )
+		);
 		startRegion( region, regionName );
 		return region;
 	}
@@ -504,6 +511,10 @@ public class InfinispanRegionFactory implements RegionFactory {
 			cfgOverride = getOrCreateConfig( prefixLoc, key, suffixLoc );
 			cfgOverride.setExpirationMaxIdle( Long.parseLong( extractProperty( key, properties ) ) );
 		}
+		else if ( (suffixLoc = key.indexOf( NEAR_CACHE_MAX_ENTRIES_SUFFIX )) != -1 ) {
+			cfgOverride = getOrCreateConfig( prefixLoc, key, suffixLoc );
+			cfgOverride.setNearCacheMaxEntries( Integer.parseInt( extractProperty( key, properties ) ) );
+		}
 	}
 
 	private String extractProperty(String key, Properties properties) {
@@ -590,6 +601,14 @@ public class InfinispanRegionFactory implements RegionFactory {
 		return createCacheWrapper( cache );
 	}
 
+	private int getNearCacheMaxEntries(String regionName, String typeKey) {
+		final TypeOverrides regionOverride = typeOverrides.get( regionName );
+		if ( regionOverride != null && regionOverride.getNearCacheMaxEntries() >= 0 ) {
+			return regionOverride.getNearCacheMaxEntries();
+		}
+		return Math.max( typeOverrides.get( typeKey ).getNearCacheMaxEntries(), 0 );
+	}
+
 	private void applyConfiguration(String cacheName, ConfigurationBuilder builder) {
 		final Configuration cfg = manager.getCacheConfiguration( cacheName );
 		if ( cfg != null ) {
@@ -42,6 +42,8 @@ public class TypeOverrides implements Serializable {
 
 	private boolean isExposeStatistics;
 
+	private int nearCacheMaxEntries = -1;
+
 	public String getCacheName() {
 		return cacheName;
 	}
@@ -148,6 +150,24 @@ public class TypeOverrides implements Serializable {
 		this.isExposeStatistics = isExposeStatistics;
 	}
 
+	public int getNearCacheMaxEntries() {
+		return nearCacheMaxEntries;
+	}
+
+   /**
+    * Maximum number of entries in the per-node near cache kept in front of
+    * entity and collection caches of this cached type. Reads served by the near
+    * cache don't go through Infinispan at all; entries are dropped when
+    * modified, removed, invalidated or evicted in Infinispan. 0 disables the
+    * near cache, which is the default.
+    *
+    * @param nearCacheMaxEntries number of maximum near cache entries
+    */
+	public void setNearCacheMaxEntries(int nearCacheMaxEntries) {
+		markAsOverriden( "nearCacheMaxEntries" );
+		this.nearCacheMaxEntries = nearCacheMaxEntries;
+	}
+
    /**
     * Apply the configuration overrides in this {@link TypeOverrides} instance
     * to the cache configuration builder passed as parameter.
@@ -195,6 +215,7 @@ public class TypeOverrides implements Serializable {
 				+ ", maxEntries=" + evictionMaxEntries
 				+ ", lifespan=" + expirationLifespan
 				+ ", maxIdle=" + expirationMaxIdle
+				+ ", nearCacheMaxEntries=" + nearCacheMaxEntries
 				+ '}';
 	}
 
@@ -6,8 +6,17 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import javax.transaction.Transaction;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
+import org.hibernate.cache.infinispan.impl.BaseTransactionalDataRegion;
+import org.hibernate.cache.infinispan.impl.NearCache;
 import org.hibernate.cache.infinispan.util.Caches;
 
 import org.infinispan.AdvancedCache;
@@ -32,6 +41,7 @@ public class TransactionalAccessDelegate {
 	private final BaseRegion region;
 	private final PutFromLoadValidator putValidator;
 	private final AdvancedCache<Object, Object> writeCache;
+	private final NearCache nearCache;
 
    /**
     * Create a new transactional access delegate instance.
@@ -45,6 +55,9 @@ public class TransactionalAccessDelegate {
 		this.cache = region.getCache();
 		this.putValidator = validator;
 		this.writeCache = Caches.ignoreReturnValuesCache( cache );
+		this.nearCache = region instanceof BaseTransactionalDataRegion
+				? ( (BaseTransactionalDataRegion) region ).getNearCache()
+				: null;
 	}
 
    /**
@@ -60,13 +73,100 @@ public class TransactionalAccessDelegate {
 		if ( !region.checkValid() ) {
 			return null;
 		}
+		if ( nearCache != null ) {
+			final Object nearVal = nearCache.get( key );
+			if ( nearVal != null ) {
+				return nearVal;
+			}
+		}
+		final long invalidationCount = nearCache == null ? 0 : nearCache.getInvalidationCount();
 		final Object val = cache.get( key );
 		if ( val == null ) {
 			putValidator.registerPendingPut( key );
 		}
+		else if ( nearCache != null ) {
+			keepInNearCache( key, val, invalidationCount );
+		}
 		return val;
 	}
 
+   /**
+    * Attempt to retrieve several objects from the cache, in a single cache operation.
+    *
+    * @param keys The keys of the items to be retrieved
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @return the cached objects, by key
+    * @throws CacheException if the cache retrieval failed
+    */
+	@SuppressWarnings({"UnusedParameters", "unchecked"})
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		if ( !region.checkValid() ) {
+			return Collections.emptyMap();
+		}
+		if ( nearCache != null ) {
+			return getAllThroughNearCache( keys );
+		}
+		final Map<Object, Object> values = cache.getAll( new HashSet<Object>( keys ) );
+		for ( Object key : keys ) {
+			if ( values.get( key ) == null ) {
+				putValidator.registerPendingPut( key );
+			}
+		}
+		return values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Object, Object> getAllThroughNearCache(Collection<?> keys) {
+		final Map<Object, Object> values = new HashMap<Object, Object>();
+		final HashSet<Object> remaining = new HashSet<Object>();
+		for ( Object key : keys ) {
+			final Object nearVal = nearCache.get( key );
+			if ( nearVal != null ) {
+				values.put( key, nearVal );
+			}
+			else {
+				remaining.add( key );
+			}
+		}
+		if ( remaining.isEmpty() ) {
+			return values;
+		}
+		final long invalidationCount = nearCache.getInvalidationCount();
+		final Map<Object, Object> cached = cache.getAll( remaining );
+		for ( Object key : remaining ) {
+			final Object val = cached.get( key );
+			if ( val == null ) {
+				putValidator.registerPendingPut( key );
+			}
+			else {
+				values.put( key, val );
+				keepInNearCache( key, val, invalidationCount );
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Keeps a value read from the cache in the near cache.  Within a transaction, the value read might be one
+	 * written by the transaction itself, so the committed value is read again with the transaction suspended.
+	 */
+	private void keepInNearCache(Object key, Object val, long invalidationCount) {
+		final Transaction tx = region.suspend();
+		if ( tx == null ) {
+			nearCache.put( key, val, invalidationCount );
+			return;
+		}
+		try {
+			final Object committed = cache.get( key );
+			if ( committed != null ) {
+				nearCache.put( key, committed, invalidationCount );
+			}
+		}
+		finally {
+			region.resume( tx );
+		}
+	}
+
    /**
     * Attempt to cache an object, after loading from the database.
     *
@@ -153,6 +253,7 @@ public class TransactionalAccessDelegate {
 			return false;
 		}
 
+		invalidateNearCache( key );
 		writeCache.put( key, value );
 		return true;
 	}
@@ -174,6 +275,7 @@ public class TransactionalAccessDelegate {
 		// We update whether or not the region is valid. Other nodes
 		// may have already restored the region so they need to
 		// be informed of the change.
+		invalidateNearCache( key );
 		writeCache.put( key, value );
 		return true;
 	}
@@ -190,6 +292,7 @@ public class TransactionalAccessDelegate {
 					"Failed to invalidate pending putFromLoad calls for key " + key + " from region " + region.getName()
 			);
 		}
+		invalidateNearCache( key );
 		// We update whether or not the region is valid. Other nodes
 		// may have already restored the region so they need to
 		// be informed of the change.
@@ -205,6 +308,9 @@ public class TransactionalAccessDelegate {
 		if ( !putValidator.invalidateRegion() ) {
 			throw new CacheException( "Failed to invalidate pending putFromLoad calls for region " + region.getName() );
 		}
+		if ( nearCache != null ) {
+			nearCache.clear();
+		}
 		Caches.removeAll( cache );
 	}
 
@@ -221,6 +327,7 @@ public class TransactionalAccessDelegate {
 					"Failed to invalidate pending putFromLoad calls for key " + key + " from region " + region.getName()
 			);
 		}
+		invalidateNearCache( key );
 		writeCache.remove( key );
 	}
 
@@ -240,4 +347,12 @@ public class TransactionalAccessDelegate {
 		Caches.broadcastEvictAll( cache );
 	}
 
+	private void invalidateNearCache(Object key) {
+		// the cache listener will drop the key again once the change is applied, this keeps the
+		// change from being hidden by the near cache until then
+		if ( nearCache != null ) {
+			nearCache.invalidate( key );
+		}
+	}
+
 }
@@ -40,6 +40,22 @@ public class CollectionRegionImpl extends BaseTransactionalDataRegion implements
 		super( cache, name, metadata, factory );
 	}
 
+   /**
+    * Construct a collection region with a near cache
+    *
+    * @param cache instance to store collection instances
+    * @param name of collection type
+    * @param metadata for the collection type
+    * @param factory for the region
+    * @param nearCacheMaxEntries maximum number of entries in the near cache; 0 or less disables it
+    */
+	public CollectionRegionImpl(
+			AdvancedCache cache, String name,
+			CacheDataDescription metadata, RegionFactory factory,
+			int nearCacheMaxEntries) {
+		super( cache, name, metadata, factory, nearCacheMaxEntries );
+	}
+
 	@Override
 	public CollectionRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
 		if ( AccessType.READ_ONLY.equals( accessType )
@@ -40,6 +40,22 @@ public class EntityRegionImpl extends BaseTransactionalDataRegion implements Ent
 		super( cache, name, metadata, factory );
 	}
 
+   /**
+    * Construct a entity region with a near cache
+    *
+    * @param cache instance to store entity instances
+    * @param name of entity type
+    * @param metadata for the entity type
+    * @param factory for the region
+    * @param nearCacheMaxEntries maximum number of entries in the near cache; 0 or less disables it
+    */
+	public EntityRegionImpl(
+			AdvancedCache cache, String name,
+			CacheDataDescription metadata, RegionFactory factory,
+			int nearCacheMaxEntries) {
+		super( cache, name, metadata, factory, nearCacheMaxEntries );
+	}
+
 	@Override
 	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
 		switch ( accessType ) {
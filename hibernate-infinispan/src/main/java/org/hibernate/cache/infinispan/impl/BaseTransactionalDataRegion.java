@@ -6,6 +6,7 @@
  */
 package org.hibernate.cache.infinispan.impl;
 
+import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TransactionalDataRegion;
@@ -24,6 +25,8 @@ public abstract class BaseTransactionalDataRegion
 
 	private final CacheDataDescription metadata;
 
+	private final NearCache nearCache;
+
    /**
     * Base transactional region constructor
     *
@@ -35,8 +38,31 @@ public abstract class BaseTransactionalDataRegion
 	public BaseTransactionalDataRegion(
 			AdvancedCache cache, String name,
 			CacheDataDescription metadata, RegionFactory factory) {
+		this( cache, name, metadata, factory, 0 );
+	}
+
+   /**
+    * Base transactional region constructor, with a near cache in front of the Infinispan cache
+    *
+    * @param cache instance to store transactional data
+    * @param name of the transactional region
+    * @param metadata for the transactional region
+    * @param factory for the transactional region
+    * @param nearCacheMaxEntries maximum number of entries in the near cache; 0 or less disables the near cache
+    */
+	public BaseTransactionalDataRegion(
+			AdvancedCache cache, String name,
+			CacheDataDescription metadata, RegionFactory factory,
+			int nearCacheMaxEntries) {
 		super( cache, name, factory );
 		this.metadata = metadata;
+		if ( nearCacheMaxEntries > 0 ) {
+			this.nearCache = new NearCache( cache, nearCacheMaxEntries );
+			this.nearCache.start();
+		}
+		else {
+			this.nearCache = null;
+		}
 	}
 
 	@Override
@@ -44,4 +70,29 @@ public abstract class BaseTransactionalDataRegion
 		return metadata;
 	}
 
+   /**
+    * Gets the near cache in front of the Infinispan cache of this region.
+    *
+    * @return the near cache, or <code>null</code> if the region has none
+    */
+	public NearCache getNearCache() {
+		return nearCache;
+	}
+
+	@Override
+	public void invalidateRegion() {
+		super.invalidateRegion();
+		if ( nearCache != null ) {
+			nearCache.clear();
+		}
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		if ( nearCache != null ) {
+			nearCache.stop();
+		}
+		super.destroy();
+	}
+
 }
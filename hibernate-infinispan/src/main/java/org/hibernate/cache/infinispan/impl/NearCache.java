@@ -0,0 +1,187 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.infinispan.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ExpirationConfiguration;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryInvalidated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+
+/**
+ * A bounded, per-node map in front of the Infinispan cache of a {@link BaseTransactionalDataRegion}, serving hot
+ * reads without going through the Infinispan invocation chain.
+ * <p/>
+ * Only values read from the Infinispan cache outside of any transaction are kept, so the near cache never holds
+ * more than the local Infinispan node does.  It listens to the Infinispan cache and drops an entry as soon as the
+ * entry is modified, removed, invalidated or evicted there, whether locally or because of a remote update.
+ * Every drop also bumps an invalidation counter: a value read from Infinispan is only kept if no invalidation
+ * happened since the read started, so that a concurrent invalidation cannot be overtaken by a stale value.
+ * <p/>
+ * Infinispan doesn't notify expirations, so entries are also dropped once older than the region's expiration
+ * lifespan or max idle time, whichever is shorter.
+ */
+@Listener
+public class NearCache {
+	private final AdvancedCache cache;
+	private final BoundedConcurrentHashMap<Object, Entry> entries;
+	private final long maxAge;
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * Near cache constructor.
+	 *
+	 * @param cache the Infinispan cache to front
+	 * @param maxEntries the maximum number of entries to keep
+	 */
+	public NearCache(AdvancedCache cache, int maxEntries) {
+		this.cache = cache;
+		this.entries = new BoundedConcurrentHashMap<Object, Entry>( maxEntries );
+		final ExpirationConfiguration expiration = cache.getCacheConfiguration().expiration();
+		this.maxAge = shortest( expiration.lifespan(), expiration.maxIdle() );
+	}
+
+	private static long shortest(long lifespan, long maxIdle) {
+		if ( lifespan <= 0 ) {
+			return maxIdle;
+		}
+		return maxIdle <= 0 ? lifespan : Math.min( lifespan, maxIdle );
+	}
+
+	/**
+	 * Starts listening to the Infinispan cache.
+	 */
+	public void start() {
+		cache.addListener( this );
+	}
+
+	/**
+	 * Stops listening to the Infinispan cache, and drops all entries.
+	 */
+	public void stop() {
+		cache.removeListener( this );
+		clear();
+	}
+
+	/**
+	 * Gets a value from the near cache.
+	 *
+	 * @param key the key of the value
+	 * @return the value, or <code>null</code> if not in the near cache
+	 */
+	public Object get(Object key) {
+		final Entry entry = entries.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		if ( maxAge > 0 && System.currentTimeMillis() - entry.timestamp > maxAge ) {
+			entries.remove( key, entry );
+			return null;
+		}
+		return entry.value;
+	}
+
+	/**
+	 * Gets the current invalidation count, to be taken before reading a value from Infinispan and passed to
+	 * {@link #put(Object, Object, long)} afterwards.
+	 *
+	 * @return the invalidation count
+	 */
+	public long getInvalidationCount() {
+		return invalidations.get();
+	}
+
+	/**
+	 * Keeps a value read from Infinispan, unless any invalidation happened since the read started.
+	 *
+	 * @param key the key of the value
+	 * @param value the value read from Infinispan
+	 * @param invalidationCount the {@link #getInvalidationCount() invalidation count} taken before the read
+	 */
+	public void put(Object key, Object value, long invalidationCount) {
+		if ( invalidations.get() != invalidationCount ) {
+			return;
+		}
+		final Entry entry = new Entry( value );
+		entries.put( key, entry );
+		// an invalidation may have slipped in between the check and the put
+		if ( invalidations.get() != invalidationCount ) {
+			entries.remove( key, entry );
+		}
+	}
+
+	/**
+	 * Drops a value from the near cache.
+	 *
+	 * @param key the key of the value
+	 */
+	public void invalidate(Object key) {
+		invalidations.incrementAndGet();
+		entries.remove( key );
+	}
+
+	/**
+	 * Drops all values from the near cache.
+	 */
+	public void clear() {
+		invalidations.incrementAndGet();
+		entries.clear();
+	}
+
+	/**
+	 * Gets the number of entries in the near cache.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Monitors cache events and drops the affected entries.  Both the events before and after the change are
+	 * handled, so that reads of the value being replaced can't be kept.
+	 *
+	 * @param event The event
+	 */
+	@CacheEntryModified
+	@CacheEntryRemoved
+	@CacheEntryInvalidated
+	@SuppressWarnings("unused")
+	public void entryChanged(CacheEntryEvent event) {
+		invalidate( event.getKey() );
+	}
+
+	/**
+	 * Monitors cache evictions and drops the evicted entries.
+	 *
+	 * @param event The event
+	 */
+	@CacheEntriesEvicted
+	@SuppressWarnings("unused")
+	public void entriesEvicted(CacheEntriesEvictedEvent event) {
+		for ( Object key : event.getEntries().keySet() ) {
+			invalidate( key );
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long timestamp = System.currentTimeMillis();
+
+		private Entry(Object value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache.infinispan;
+
+import org.hibernate.cache.infinispan.impl.NearCache;
+
+import org.junit.Test;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.test.CacheManagerCallable;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+
+import static org.infinispan.test.TestingUtil.withCacheManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of {@link NearCache}.
+ */
+public class NearCacheUnitTestCase {
+
+   private static final Object KEY = "KEY";
+
+   @Test
+   public void testChangesInCacheDropEntries() throws Exception {
+      withCacheManager(new CacheManagerCallable(
+            TestCacheManagerFactory.createCacheManager(false)) {
+         @Override
+         public void call() {
+            AdvancedCache<Object, Object> cache = cm.getCache().getAdvancedCache();
+            NearCache nearCache = new NearCache(cache, 10);
+            nearCache.start();
+            try {
+               cache.put(KEY, "v1");
+               nearCache.put(KEY, "v1", nearCache.getInvalidationCount());
+               assertEquals("v1", nearCache.get(KEY));
+
+               cache.put(KEY, "v2");
+               assertNull(nearCache.get(KEY));
+
+               nearCache.put(KEY, "v2", nearCache.getInvalidationCount());
+               cache.remove(KEY);
+               assertNull(nearCache.get(KEY));
+            }
+            finally {
+               nearCache.stop();
+            }
+         }
+      });
+   }
+
+   @Test
+   public void testValueReadBeforeInvalidationIsNotKept() throws Exception {
+      withCacheManager(new CacheManagerCallable(
+            TestCacheManagerFactory.createCacheManager(false)) {
+         @Override
+         public void call() {
+            AdvancedCache<Object, Object> cache = cm.getCache().getAdvancedCache();
+            NearCache nearCache = new NearCache(cache, 10);
+            nearCache.start();
+            try {
+               cache.put(KEY, "v1");
+               long invalidationCount = nearCache.getInvalidationCount();
+               Object read = cache.get(KEY);
+               // concurrent update, applied before the value read is kept
+               cache.put(KEY, "v2");
+               nearCache.put(KEY, read, invalidationCount);
+               assertNull(nearCache.get(KEY));
+               assertEquals(0, nearCache.size());
+            }
+            finally {
+               nearCache.stop();
+            }
+         }
+      });
+   }
+}